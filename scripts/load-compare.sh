@@ -0,0 +1,46 @@
+#!/usr/bin/env sh
+# =============================================================================
+# Compares request handling on platform threads, on virtual threads and on
+# the reactive stack. Starts the packaged application once per mode with a
+# single CPU, holds
+# SLOW slow-client connections open against it and measures the latency of
+# CLIENTS concurrent clients for DURATION seconds.
+#
+# Usage: scripts/load-compare.sh [SLOW] [CLIENTS] [DURATION]
+#   METHOD=POST makes the clients create tasks instead of reading one
+#   APP_ARGS passes extra arguments to the application
+# =============================================================================
+set -eu
+
+SLOW=${1:-2000}
+CLIENTS=${2:-50}
+DURATION=${3:-20}
+PORT=${PORT:-18080}
+METHOD=${METHOD:-GET}
+APP_ARGS=${APP_ARGS:-}
+
+mvn -B -q -DskipTests package
+mvn -B -q -Pbenchmark -DskipTests test-compile
+JAR=$(ls target/taskmanager-api-*.jar | head -n 1)
+
+for MODE in platform virtual reactive; do
+    STACK=servlet
+    VIRTUAL=false
+    [ "$MODE" = virtual ] && VIRTUAL=true
+    [ "$MODE" = reactive ] && STACK=reactive
+    java -XX:ActiveProcessorCount=1 -Xmx512m -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.main.web-application-type="$STACK" \
+        --spring.threads.virtual.enabled="$VIRTUAL" \
+        --taskmanager.persistence.directory="target/load-compare-data-$MODE" $APP_ARGS \
+        > "target/load-compare-$MODE.log" 2>&1 &
+    APP=$!
+    until curl -fs "http://localhost:$PORT/api/v1/health" > /dev/null; do
+        sleep 1
+    done
+    printf 'mode=%s ' "$MODE"
+    java -cp target/test-classes com.devops.taskmanager.benchmark.ConnectionLoadDriver \
+        "http://localhost:$PORT" "$SLOW" "$CLIENTS" "$DURATION" "$METHOD"
+    kill "$APP"
+    wait "$APP" 2> /dev/null || true
+done
@@ -0,0 +1,59 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.CompactTaskRepository;
+import com.devops.taskmanager.service.OffHeapTaskRepository;
+import com.devops.taskmanager.service.ShardedTaskRepository;
+import com.devops.taskmanager.service.TaskRepository;
+
+/**
+ * Deterministic task fixtures shared by the benchmarks.
+ */
+final class BenchmarkTasks {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Builds the i-th fixture task, cycling through statuses and priorities.
+     */
+    static Task task(int i) {
+        Task task = new Task("Benchmark task " + i, "Generated description for benchmark task number " + i);
+        task.setStatus(STATUSES[i % STATUSES.length]);
+        task.setPriority(PRIORITIES[(i / STATUSES.length) % PRIORITIES.length]);
+        return task;
+    }
+
+    /**
+     * Builds one partial update per status, prepared up front so benchmarks
+     * do not measure the ID generation in the Task constructor.
+     */
+    static Task[] statusUpdates() {
+        Task[] updates = new Task[STATUSES.length * PRIORITIES.length];
+        for (int i = 0; i < updates.length; i++) {
+            Task update = new Task();
+            update.setStatus(STATUSES[i % STATUSES.length]);
+            update.setPriority(PRIORITIES[i / STATUSES.length]);
+            updates[i] = update;
+        }
+        return updates;
+    }
+
+    /**
+     * Creates an empty store for the {@code taskmanager.store.backend} value.
+     */
+    static TaskRepository repository(String backend) {
+        return switch (backend) {
+            case "sharded" -> new ShardedTaskRepository(0);
+            case "compact" -> new CompactTaskRepository(0);
+            case "offheap" -> new OffHeapTaskRepository(0, 1 << 20);
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        };
+    }
+}
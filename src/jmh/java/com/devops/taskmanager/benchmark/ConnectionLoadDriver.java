@@ -0,0 +1,174 @@
+package com.devops.taskmanager.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load driver comparing the request execution modes: platform threads,
+ * virtual threads and the reactive stack.
+ *
+ * <p>Optionally opens many slow connections that send a PUT request body one
+ * byte per second, so each one holds a request-handling thread while it waits.
+ * Meanwhile a number of concurrent clients either read one task
+ * ({@code GET}) or create tasks ({@code POST}, which waits for the write to
+ * be durable when persistence is enabled), and their throughput and latency
+ * are reported. Uses only the JDK; run it against a started application, see
+ * {@code scripts/load-compare.sh}.</p>
+ *
+ * <p>Arguments: {@code baseUrl slowConnections clients durationSeconds [GET|POST]}.</p>
+ */
+public final class ConnectionLoadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String SLOW_BODY = "{\"description\":\"Updated by a slow client\"}";
+
+    private ConnectionLoadDriver() {
+    }
+
+    /**
+     * Runs the load and prints one summary line.
+     * @param args base URL, slow connections, clients, duration in seconds and request method
+     */
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int slowConnections = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 20);
+        boolean create = args.length > 4 && args[4].equalsIgnoreCase("POST");
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        String id = createTask(client, base);
+        List<Socket> slow = openSlowConnections(base, id, slowConnections);
+        ExecutorService trickle = Executors.newVirtualThreadPerTaskExecutor();
+        trickle.submit(() -> trickle(slow, duration));
+
+        LongAdder failures = new LongAdder();
+        List<long[]> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService fast = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] samples = new long[Math.max(1024, (1 << 22) / clients)];
+                latencies.add(samples);
+                HttpRequest request = create
+                        ? HttpRequest.newBuilder(base.resolve("/api/v1/tasks")).timeout(Duration.ofSeconds(5))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load test task\"}")).build()
+                        : HttpRequest.newBuilder(base.resolve("/api/v1/tasks/" + id)).timeout(Duration.ofSeconds(5))
+                                .GET().build();
+                fast.submit(() -> fastLoop(client, request, deadline, samples, failures));
+            }
+        }
+        trickle.shutdownNow();
+        for (Socket socket : slow) {
+            socket.close();
+        }
+        report(slowConnections, clients, duration, latencies, failures.sum());
+    }
+
+    private static String createTask(HttpClient client, URI base) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/v1/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load test task\"}"))
+                .build();
+        Matcher matcher = ID.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Could not create the load test task");
+        }
+        return matcher.group(1);
+    }
+
+    private static List<Socket> openSlowConnections(URI base, String id, int count) throws IOException {
+        byte[] headers = ("PUT /api/v1/tasks/" + id + " HTTP/1.1\r\n"
+                + "Host: " + base.getHost() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + SLOW_BODY.length() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        List<Socket> sockets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Socket socket = new Socket(base.getHost(), base.getPort());
+            socket.getOutputStream().write(headers);
+            socket.getOutputStream().flush();
+            sockets.add(socket);
+        }
+        return sockets;
+    }
+
+    private static void trickle(List<Socket> sockets, Duration duration) {
+        byte[] body = SLOW_BODY.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < body.length - 1 && i < duration.toSeconds(); i++) {
+            for (Socket socket : sockets) {
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(body[i]);
+                    out.flush();
+                } catch (IOException e) {
+                    // the server gave up on this connection; keep the others going
+                }
+            }
+            try {
+                TimeUnit.SECONDS.sleep(1);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void fastLoop(HttpClient client, HttpRequest request, long deadline, long[] samples,
+                                 LongAdder failures) {
+        int count = 0;
+        while (System.nanoTime() < deadline && count < samples.length - 1) {
+            long start = System.nanoTime();
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 300) {
+                    samples[++count] = System.nanoTime() - start;
+                } else {
+                    failures.increment();
+                }
+            } catch (IOException e) {
+                failures.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        samples[0] = count;
+    }
+
+    private static void report(int slowConnections, int clients, Duration duration, List<long[]> latencies,
+                               long failures) {
+        long total = latencies.stream().mapToLong(samples -> samples[0]).sum();
+        long[] all = new long[(int) total];
+        int position = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 1, all, position, (int) samples[0]);
+            position += (int) samples[0];
+        }
+        Arrays.sort(all);
+        System.out.printf("slow=%d clients=%d ok=%d failed=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms%n",
+                slowConnections, clients, total, failures, total / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskRepository;
+import com.devops.taskmanager.service.TaskService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/**
+ * Measures the heap retained per task by each store backend, both for the
+ * store alone and for a task service with its indexes on top of it.
+ *
+ * <p>Run one backend per JVM with a fixed heap so the readings are not
+ * skewed by earlier runs, for example
+ * {@code java -Xms2g -Xmx2g -cp ... StoreFootprint compact 500000}.</p>
+ *
+ * <p>Arguments: {@code sharded|compact|offheap [taskCount]}.</p>
+ */
+public final class StoreFootprint {
+
+    private StoreFootprint() {
+    }
+
+    /**
+     * Fills a store and prints the retained bytes per task.
+     * @param args backend and task count
+     */
+    public static void main(String[] args) {
+        String backend = args.length > 0 ? args[0] : "sharded";
+        int taskCount = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        long before = usedHeap();
+        TaskRepository repository = BenchmarkTasks.repository(backend);
+        fill(repository, taskCount);
+        long store = usedHeap() - before;
+
+        TaskService service = new TaskService(new NoOpTaskPersistence(), BenchmarkTasks.repository(backend), List.of());
+        for (int i = 0; i < taskCount; i++) {
+            service.createTask(BenchmarkTasks.task(i));
+        }
+        long total = usedHeap() - before - store;
+
+        System.out.printf("%s: store %d bytes/task (%d tasks), service %d bytes/task (%d tasks)%n",
+                backend, store / taskCount, repository.size(), total / taskCount, service.getTaskCount());
+    }
+
+    private static void fill(TaskRepository repository, int taskCount) {
+        for (int i = 0; i < taskCount; i++) {
+            Task task = BenchmarkTasks.task(i);
+            repository.compute(task.getId(), (id, existing) -> task);
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,143 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskRepository;
+import com.devops.taskmanager.service.TaskService;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares garbage collection pauses between store backends under a steady
+ * mix of reads, updates and replacements, either through a filled task
+ * service or on the store alone.
+ *
+ * <p>Run one backend per JVM with the heap of a production pod, for example
+ * {@code java -XX:+UseG1GC -Xmx384m -XX:MaxDirectMemorySize=128m -cp ... StoreGcPauses offheap 200000 60}.
+ * Pauses are taken from the collector notifications, the same source as the
+ * {@code jvm.gc.pause} metric; concurrent cycles are counted separately.</p>
+ *
+ * <p>Arguments: {@code sharded|compact|offheap [taskCount] [seconds] [service|store]}.</p>
+ */
+public final class StoreGcPauses {
+
+    private static final LongAdder PAUSES = new LongAdder();
+
+    private static final LongAdder PAUSE_MILLIS = new LongAdder();
+
+    private static final AtomicLong MAX_PAUSE_MILLIS = new AtomicLong();
+
+    private static final LongAdder CONCURRENT_CYCLES = new LongAdder();
+
+    private StoreGcPauses() {
+    }
+
+    /**
+     * Fills a store, churns it for a while and prints the collector pauses seen meanwhile.
+     * @param args backend, task count, seconds to run and whether to go through the task service
+     */
+    public static void main(String[] args) {
+        String backend = args.length > 0 ? args[0] : "sharded";
+        int taskCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+        boolean withService = args.length <= 3 || args[3].equals("service");
+
+        TaskRepository repository = BenchmarkTasks.repository(backend);
+        TaskService service = new TaskService(new NoOpTaskPersistence(), repository, List.of());
+        String[] ids = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = withService ? service.createTask(BenchmarkTasks.task(i)).getId() : put(repository, i);
+        }
+        Task[] updates = BenchmarkTasks.statusUpdates();
+        listen();
+
+        long operations = 0;
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 1000; i++) {
+                int slot = random.nextInt(taskCount);
+                int operation = random.nextInt(10);
+                if (withService) {
+                    churn(service, ids, slot, operation, updates[random.nextInt(updates.length)]);
+                } else {
+                    churn(repository, ids, slot, operation, updates[random.nextInt(updates.length)]);
+                }
+            }
+            operations += 1000;
+        }
+
+        System.out.printf("%s (%s): %d tasks, %d ops/s, %d pauses totalling %d ms (max %d ms), "
+                        + "%d concurrent cycles%n",
+                backend, withService ? "service" : "store", repository.size(), operations / seconds,
+                PAUSES.sum(), PAUSE_MILLIS.sum(), MAX_PAUSE_MILLIS.get(), CONCURRENT_CYCLES.sum());
+    }
+
+    /**
+     * Replaces a task one time in ten, updates it two times in ten and reads it otherwise.
+     */
+    private static void churn(TaskService service, String[] ids, int slot, int operation, Task update) {
+        switch (operation) {
+            case 0 -> {
+                service.deleteTask(ids[slot]);
+                ids[slot] = service.createTask(BenchmarkTasks.task(slot)).getId();
+            }
+            case 1, 2 -> service.updateTask(ids[slot], update);
+            default -> service.getTaskById(ids[slot]);
+        }
+    }
+
+    /**
+     * The same mix as the service churn, applied to the store directly.
+     */
+    private static void churn(TaskRepository repository, String[] ids, int slot, int operation, Task update) {
+        switch (operation) {
+            case 0 -> {
+                repository.computeIfPresent(ids[slot], (id, task) -> null);
+                ids[slot] = put(repository, slot);
+            }
+            case 1, 2 -> repository.computeIfPresent(ids[slot], (id, task) -> {
+                Task updated = new Task(task);
+                updated.setStatus(update.getStatus());
+                updated.setVersion(task.getVersion() + 1);
+                return updated;
+            });
+            default -> repository.get(ids[slot]);
+        }
+    }
+
+    private static String put(TaskRepository repository, int i) {
+        Task task = BenchmarkTasks.task(i);
+        repository.compute(task.getId(), (id, existing) -> task);
+        return task.getId();
+    }
+
+    private static void listen() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                String type = notification.getType();
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(type)) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                if (info.getGcName().contains("Concurrent")) {
+                    CONCURRENT_CYCLES.increment();
+                    return;
+                }
+                long millis = info.getGcInfo().getDuration();
+                PAUSES.increment();
+                PAUSE_MILLIS.add(millis);
+                MAX_PAUSE_MILLIS.accumulateAndGet(millis, Math::max);
+            }, null, null);
+        }
+    }
+}
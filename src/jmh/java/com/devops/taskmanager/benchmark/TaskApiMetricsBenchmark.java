@@ -0,0 +1,92 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.TaskManagerApplication;
+import com.devops.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cost of the task metrics on whole requests through the servlet stack.
+ * {@code off} sets the sample rate to 0 and disables every
+ * {@code taskmanager.*} meter; {@code on} runs with the defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskApiMetricsBenchmark {
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"off", "on"})
+    private String metrics;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private String[] ids;
+
+    /**
+     * Starts the application on a random port and fills the store.
+     */
+    @Setup
+    public void setUp() {
+        boolean enabled = metrics.equals("on");
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.devops.taskmanager=WARN",
+                "--taskmanager.metrics.sample-rate=" + (enabled ? 64 : 0),
+                "--management.metrics.enable.taskmanager=" + enabled);
+        TaskService taskService = context.getBean(TaskService.class);
+        ids = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = taskService.createTask(BenchmarkTasks.task(i)).getId();
+        }
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getTaskById() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks/" + ids[ThreadLocalRandom.current().nextInt(taskCount)]))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getTaskPage() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks").param("limit", "20")).andReturn();
+    }
+}
@@ -0,0 +1,80 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.service.TaskDeadlineWheelAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the deadline wheel with many timers pending. The setup spreads
+ * {@code pending} timers over 30 days of one-second ticks; each operation
+ * then arms one timer up to an hour ahead, and every 64th operation advances
+ * the wheel by one tick, firing whatever came due and moving timers down
+ * levels. A result is therefore the amortized cost of arming and later
+ * firing one timer. The package-private wheel is reached through
+ * {@link TaskDeadlineWheelAccess}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskDeadlineWheelBenchmark {
+
+    private static final int HORIZON = 30 * 24 * 3600;
+
+    private static final int CHURN_HORIZON = 3600;
+
+    @Param({"0", "1000000", "4000000"})
+    private int pending;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private final String[] ids = new String[1024];
+
+    private TaskDeadlineWheelAccess wheel;
+
+    private long tick;
+
+    private long operations;
+
+    /**
+     * Fills the wheel with timers spread evenly over the horizon.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+        wheel = new TaskDeadlineWheelAccess(0, pending);
+        tick = 0;
+        operations = 0;
+        for (int i = 0; i < pending; i++) {
+            wheel.schedule(1 + random.nextInt(HORIZON), ids[i & 1023]);
+        }
+    }
+
+    @Benchmark
+    public int scheduleAndExpire(Blackhole blackhole) {
+        wheel.schedule(tick + 1 + random.nextInt(CHURN_HORIZON), ids[(int) operations & 1023]);
+        if ((++operations & 63) != 0) {
+            return 0;
+        }
+        return wheel.advance(tick++, blackhole::consume);
+    }
+}
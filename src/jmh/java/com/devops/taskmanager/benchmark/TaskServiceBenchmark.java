@@ -0,0 +1,112 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded latency of the TaskService hot paths at several store sizes and on each store backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"sharded", "compact", "offheap"})
+    private String backend;
+
+    private TaskService taskService;
+
+    private String[] ids;
+
+    private Task[] replacements;
+
+    private Task[] updates;
+
+    /**
+     * Fills the store with tasks spread evenly over statuses and priorities.
+     */
+    @Setup
+    public void setUp() {
+        taskService = new TaskService(new NoOpTaskPersistence(), BenchmarkTasks.repository(backend), List.of());
+        ids = new String[taskCount];
+        replacements = new Task[taskCount];
+        updates = BenchmarkTasks.statusUpdates();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = BenchmarkTasks.task(i);
+            taskService.createTask(task);
+            ids[i] = task.getId();
+            replacements[i] = BenchmarkTasks.task(i);
+            replacements[i].setId(task.getId());
+        }
+    }
+
+    /**
+     * Creates a task over an existing ID so the store size stays constant.
+     */
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(replacements[ThreadLocalRandom.current().nextInt(taskCount)]);
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return taskService.getTaskById(ids[ThreadLocalRandom.current().nextInt(taskCount)]);
+    }
+
+    @Benchmark
+    public Optional<Task> updateTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return taskService.updateTask(ids[random.nextInt(taskCount)], updates[random.nextInt(updates.length)]);
+    }
+
+    @Benchmark
+    public List<Task> getTasksByStatus() {
+        return taskService.getTasksByStatus(TaskStatus.PENDING);
+    }
+
+    /**
+     * Searches for one task by a rare word alongside words every task shares.
+     */
+    @Benchmark
+    public TaskPage searchSelective() {
+        return taskService.searchTasks("benchmark task " + ThreadLocalRandom.current().nextInt(taskCount), null, 20);
+    }
+
+    /**
+     * Searches by a prefix shared by every task, ranking the first page only.
+     */
+    @Benchmark
+    public TaskPage searchCommonPrefix() {
+        return taskService.searchTasks("bench", null, 20);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+}
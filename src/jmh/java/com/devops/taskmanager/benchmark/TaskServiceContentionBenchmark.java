@@ -0,0 +1,130 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded throughput of TaskService under contention.
+ * The read/write group mixes lookups with updates; the hot-key benchmark
+ * has every thread updating the same small set of tasks, and the claim
+ * benchmark has every thread taking work from the same queues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskServiceContentionBenchmark {
+
+    private static final int HOT_KEYS = 8;
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private static final Task RELEASE = new Task(null, null, null, TaskStatus.PENDING, null, null, null);
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskService taskService;
+
+    private String[] ids;
+
+    private Task[] updates;
+
+    /**
+     * Fills the store with tasks spread evenly over statuses and priorities.
+     */
+    @Setup
+    public void setUp() {
+        taskService = new TaskService();
+        ids = new String[taskCount];
+        updates = BenchmarkTasks.statusUpdates();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = BenchmarkTasks.task(i);
+            taskService.createTask(task);
+            ids[i] = task.getId();
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(6)
+    public Optional<Task> readers() {
+        return taskService.getTaskById(ids[ThreadLocalRandom.current().nextInt(taskCount)]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public Optional<Task> writers() {
+        return taskService.updateTask(ids[ThreadLocalRandom.current().nextInt(taskCount)], statusUpdate());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Task> hotKeyUpdates() {
+        return taskService.updateTask(ids[ThreadLocalRandom.current().nextInt(HOT_KEYS)], statusUpdate());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long statusCounts() {
+        return taskService.getTaskCount(TaskStatus.PENDING);
+    }
+
+    /**
+     * Lookups on every core; compare with {@code TaskServiceBenchmark.getTaskById} for read scaling.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Task> readersAllCores() {
+        return taskService.getTaskById(ids[ThreadLocalRandom.current().nextInt(taskCount)]);
+    }
+
+    /**
+     * Status listings on every core at once, through the shard scan.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<Task> statusScansAllCores() {
+        return taskService.getTasksByStatus(TaskStatus.PENDING);
+    }
+
+    /**
+     * Workers claiming the next pending task and handing it straight back,
+     * so the queues never run dry; run with {@code -t 200} for hundreds of workers.
+     */
+    @Benchmark
+    @Threads(8)
+    public Optional<Task> claimAndRelease() {
+        Optional<Task> claimed = taskService.claimTask(LEASE);
+        claimed.ifPresent(task -> taskService.updateTask(task.getId(), RELEASE));
+        return claimed;
+    }
+
+    private Task statusUpdate() {
+        return updates[ThreadLocalRandom.current().nextInt(updates.length)];
+    }
+}
@@ -0,0 +1,83 @@
+package com.devops.taskmanager.benchmark;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.InstrumentedTaskService;
+import com.devops.taskmanager.service.ShardedTaskRepository;
+import com.devops.taskmanager.service.TaskService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the operation timers on the task service hot paths, against a
+ * Prometheus registry. A sample rate of 0 is the plain, untimed service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskServiceMetricsBenchmark {
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"0", "1", "64"})
+    private int sampleRate;
+
+    private TaskService taskService;
+
+    private String[] ids;
+
+    private Task[] updates;
+
+    /**
+     * Fills a plain or instrumented service with tasks spread evenly over statuses and priorities.
+     */
+    @Setup
+    public void setUp() {
+        taskService = sampleRate == 0
+                ? new TaskService(new NoOpTaskPersistence(), new ShardedTaskRepository(0), List.of())
+                : new InstrumentedTaskService(new NoOpTaskPersistence(), new ShardedTaskRepository(0), List.of(),
+                        new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), sampleRate);
+        ids = new String[taskCount];
+        updates = BenchmarkTasks.statusUpdates();
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = taskService.createTask(BenchmarkTasks.task(i)).getId();
+        }
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return taskService.getTaskById(ids[ThreadLocalRandom.current().nextInt(taskCount)]);
+    }
+
+    @Benchmark
+    public Optional<Task> updateTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return taskService.updateTask(ids[random.nextInt(taskCount)], updates[random.nextInt(updates.length)]);
+    }
+
+    @Benchmark
+    public TaskPage getTaskPage() {
+        return taskService.getTaskPage(null, 20, null, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.service.TaskDeadlineWheel.Type;
+
+import java.util.function.Consumer;
+
+/**
+ * Opens the package-private {@link TaskDeadlineWheel} to the benchmarks,
+ * which live in their own package. Only part of the benchmark source set.
+ */
+public final class TaskDeadlineWheelAccess {
+
+    private final TaskDeadlineWheel wheel;
+
+    /**
+     * Creates an empty wheel.
+     * @param startTick the tick the wheel starts at
+     * @param initialCapacity how many timers to allocate room for up front
+     */
+    public TaskDeadlineWheelAccess(long startTick, int initialCapacity) {
+        this.wheel = new TaskDeadlineWheel(startTick, initialCapacity);
+    }
+
+    /**
+     * Arms a due-date timer.
+     * @param deadline the tick it fires at
+     * @param taskId the task it belongs to
+     */
+    public void schedule(long deadline, String taskId) {
+        wheel.schedule(deadline, taskId, Type.DUE);
+    }
+
+    /**
+     * Advances the wheel, firing every timer due by the given tick.
+     * @param tick the tick to advance to
+     * @param expiry receives the task ID of each fired timer
+     * @return the number of timers fired
+     */
+    public int advance(long tick, Consumer<String> expiry) {
+        return wheel.advance(tick, (taskId, type) -> expiry.accept(taskId));
+    }
+}
@@ -0,0 +1,234 @@
+package com.devops.taskmanager.cache;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.service.TaskMutationListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of serialized task responses, keyed by task ID and version.
+ *
+ * <p>A cached body is only returned for the version the caller read from the
+ * store, so a response that was serialized just before a write can never be
+ * served for the new version. Entries are also dropped as soon as their task
+ * changes, which keeps stale bodies from holding memory until they expire.
+ * The cache is split into segments, each a small LRU map under its own lock;
+ * entries leave when a segment is full or when their time to live runs out.</p>
+ */
+@Component
+public class TaskResponseCache implements TaskMutationListener, MeterBinder {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final boolean enabled;
+
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder sizeEvictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates the cache.
+     * @param maxEntries maximum number of cached responses; 0 disables the cache
+     * @param ttl how long a cached response may be served
+     */
+    public TaskResponseCache(@Value("${taskmanager.cache.max-entries:10000}") int maxEntries,
+                             @Value("${taskmanager.cache.ttl:60s}") Duration ttl) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache time to live must be positive");
+        }
+        this.enabled = maxEntries > 0;
+        this.ttlNanos = ttl.toNanos();
+        int segmentCapacity = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Gets the cached response for a task version.
+     * @param id the task ID
+     * @param version the version the caller read from the store
+     * @return the serialized task, or null if it is not cached for that version
+     */
+    public byte[] get(String id, long version) {
+        if (!enabled) {
+            return null;
+        }
+        Segment segment = segment(id);
+        byte[] body = null;
+        synchronized (segment) {
+            Entry entry = segment.get(id);
+            if (entry != null && entry.version() == version) {
+                if (entry.expiresAt() - System.nanoTime() > 0) {
+                    body = entry.body();
+                } else {
+                    segment.remove(id);
+                    expirations.increment();
+                }
+            }
+        }
+        (body != null ? hits : misses).increment();
+        return body;
+    }
+
+    /**
+     * Caches the response for a task version, unless a newer version is already cached.
+     * @param id the task ID
+     * @param version the version the body was serialized from
+     * @param body the serialized task
+     */
+    public void put(String id, long version, byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        Segment segment = segment(id);
+        Entry entry = new Entry(version, body, System.nanoTime() + ttlNanos);
+        synchronized (segment) {
+            Entry existing = segment.get(id);
+            if (existing == null || existing.version() <= version) {
+                segment.put(id, entry);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached response of a task that was replaced, updated or deleted.
+     * Called by the task service inside its write, so the segment lock is the only wait.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        if (!enabled || previous == null) {
+            return;
+        }
+        Segment segment = segment(previous.getId());
+        synchronized (segment) {
+            if (segment.remove(previous.getId()) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached responses.
+     * @return the entry count across all segments
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     * @return the hit count since startup
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to serialize the task.
+     * @return the miss count since startup
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries removed because the cache was full or their time to live ran out.
+     * @return the eviction count since startup
+     */
+    public long getEvictions() {
+        return sizeEvictions.sum() + expirations.sum();
+    }
+
+    /**
+     * Gets the number of entries dropped because their task changed.
+     * @return the invalidation count since startup
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskmanager.cache.gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Task lookups answered with a cached response")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.cache.gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Task lookups that serialized the task")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.cache.evictions", sizeEvictions, LongAdder::sum)
+                .tag("cause", "size")
+                .description("Cached responses removed to make room")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.cache.evictions", expirations, LongAdder::sum)
+                .tag("cause", "expired")
+                .description("Cached responses removed after their time to live")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Cached responses dropped because their task changed")
+                .register(registry);
+        Gauge.builder("taskmanager.cache.size", this, TaskResponseCache::size)
+                .description("Number of cached task responses")
+                .register(registry);
+    }
+
+    private Segment segment(String id) {
+        int hash = id.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private record Entry(long version, byte[] body, long expiresAt) {
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used entry once full.
+     */
+    private final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            sizeEvictions.increment();
+            return true;
+        }
+    }
+}
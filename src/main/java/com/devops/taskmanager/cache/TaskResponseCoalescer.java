@@ -0,0 +1,244 @@
+package com.devops.taskmanager.cache;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.TaskMutationListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares one computation and one serialized body between identical list
+ * and stats requests that arrive together.
+ *
+ * <p>The first request for a key computes and serializes its response;
+ * identical requests that arrive while it runs wait for it and send the same
+ * bytes, and those arriving up to {@code window} after it finished reuse
+ * them. A response is only shared while no write it depends on has been
+ * published since its computation began: a write to a task that had or has
+ * the listed status, or any write for unfiltered lists and stats. Writes
+ * count once they are visible in the store, not when they are announced
+ * inside it, so a computation that began while a write was being applied,
+ * and may have missed it, is never handed to requests that arrive after the
+ * write returned.</p>
+ */
+@Component
+public class TaskResponseCoalescer implements TaskMutationListener, MeterBinder {
+
+    /**
+     * The endpoints whose responses are shared.
+     */
+    public enum Endpoint {
+        LIST, STATS
+    }
+
+    /**
+     * Identifies requests that get the same response.
+     * @param endpoint the endpoint
+     * @param status the status filter, or null
+     * @param priority the priority filter, or null
+     */
+    public record Key(Endpoint endpoint, TaskStatus status, TaskPriority priority) {
+    }
+
+    /**
+     * A serialized response.
+     * @param body the JSON body
+     * @param size the number of tasks in it, for the response size metrics
+     */
+    public record Response(byte[] body, int size) {
+    }
+
+    private enum Outcome {
+        COMPUTED, JOINED, REUSED
+    }
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final LongAdder writes = new LongAdder();
+
+    private final LongAdder[] statusWrites = new LongAdder[TaskStatus.values().length];
+
+    private final LongAdder[][] requests = new LongAdder[Endpoint.values().length][Outcome.values().length];
+
+    /**
+     * Creates the coalescer.
+     * @param enabled whether identical requests share responses at all
+     * @param window how long a finished response may still be shared; 0 shares only running computations
+     */
+    public TaskResponseCoalescer(@Value("${taskmanager.coalescing.enabled:true}") boolean enabled,
+                                 @Value("${taskmanager.coalescing.window:50ms}") Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Coalescing window must not be negative");
+        }
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        for (int i = 0; i < statusWrites.length; i++) {
+            statusWrites[i] = new LongAdder();
+        }
+        for (LongAdder[] counters : requests) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Gets the response for a key, computing it only if no shareable one is
+     * running or recently finished.
+     * @param key the request
+     * @param compute builds and serializes the response
+     * @return the response, possibly the same instance handed to other callers
+     */
+    public Response get(Key key, Supplier<Response> compute) {
+        if (!enabled) {
+            count(key, Outcome.COMPUTED);
+            return compute.get();
+        }
+        while (true) {
+            long generation = generation(key.status());
+            Flight current = flights.get(key);
+            if (current != null && current.generation >= generation) {
+                count(key, current.isDone() ? Outcome.REUSED : Outcome.JOINED);
+                return current.await();
+            }
+            Flight flight = new Flight(generation);
+            boolean installed = current == null
+                    ? flights.putIfAbsent(key, flight) == null
+                    : flights.replace(key, current, flight);
+            if (installed) {
+                count(key, Outcome.COMPUTED);
+                return flight.run(key, compute);
+            }
+        }
+    }
+
+    /**
+     * Does nothing: a response computed now may not see the change yet, so
+     * it must not count until {@link #afterTaskChanged(Task, Task)}.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+    }
+
+    /**
+     * Marks responses that depend on the changed task as no longer shareable.
+     * Called by the task service once the change is visible, so any
+     * computation that began before may have missed it.
+     */
+    @Override
+    public void afterTaskChanged(Task previous, Task current) {
+        writes.increment();
+        TaskStatus before = previous != null ? previous.getStatus() : null;
+        TaskStatus after = current != null ? current.getStatus() : null;
+        if (before != null) {
+            statusWrites[before.ordinal()].increment();
+        }
+        if (after != null && after != before) {
+            statusWrites[after.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Gets the number of requests that computed their own response.
+     * @param endpoint the endpoint
+     * @return the count since startup
+     */
+    public long getComputed(Endpoint endpoint) {
+        return requests[endpoint.ordinal()][Outcome.COMPUTED.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of requests that shared another request's response.
+     * @param endpoint the endpoint
+     * @return the count since startup, whether it was still running or already finished
+     */
+    public long getShared(Endpoint endpoint) {
+        LongAdder[] counters = requests[endpoint.ordinal()];
+        return counters[Outcome.JOINED.ordinal()].sum() + counters[Outcome.REUSED.ordinal()].sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                FunctionCounter.builder("taskmanager.coalescing.requests",
+                                requests[endpoint.ordinal()][outcome.ordinal()], LongAdder::sum)
+                        .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                        .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                        .description("List and stats requests by whether they computed their response or shared one")
+                        .register(registry);
+            }
+        }
+    }
+
+    private long generation(TaskStatus status) {
+        return status == null ? writes.sum() : statusWrites[status.ordinal()].sum();
+    }
+
+    private void count(Key key, Outcome outcome) {
+        requests[key.endpoint().ordinal()][outcome.ordinal()].increment();
+    }
+
+    /**
+     * One computation of a response, shared by the requests that find it.
+     */
+    private final class Flight extends CompletableFuture<Response> {
+
+        private final long generation;
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+
+        Response run(Key key, Supplier<Response> compute) {
+            Response response;
+            try {
+                response = compute.get();
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, this);
+                completeExceptionally(e);
+                throw e;
+            }
+            complete(response);
+            if (windowNanos == 0) {
+                flights.remove(key, this);
+            } else {
+                CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> flights.remove(key, this));
+            }
+            return response;
+        }
+
+        Response await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.service.InvalidRequestException;
+import com.devops.taskmanager.service.UnsupportedRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Error mapping shared by every controller, on both the servlet and the
+ * reactive stack.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Maps invalid request arguments, such as malformed cursors, limits or
+     * leases, to 400. Other exceptions are left to the default handling.
+     * @param e the exception
+     * @return error body with HTTP 400 status
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Maps requests this replica cannot serve correctly as configured to 501.
+     * @param e the exception
+     * @return error body with HTTP 501 status
+     */
+    @ExceptionHandler(UnsupportedRequestException.class)
+    public ResponseEntity<Map<String, String>> handleUnsupportedRequest(UnsupportedRequestException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
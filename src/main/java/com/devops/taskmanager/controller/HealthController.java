@@ -1,10 +1,17 @@
 package com.devops.taskmanager.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -16,10 +23,29 @@ import java.util.Map;
 @RequestMapping("/api/v1")
 public class HealthController {
 
+    private static final Logger LOG = LoggerFactory.getLogger(HealthController.class);
+
     private static final LocalDateTime START_TIME = LocalDateTime.now();
 
+    private volatile long readyAfterMillis;
+
+    /**
+     * Records how long after the JVM was launched the application became
+     * ready, so class data sharing and AOT builds can be compared directly.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        readyAfterMillis = Math.max(1, System.currentTimeMillis() - runtime.getStartTime());
+        boolean cds = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        LOG.info("Ready for requests {} ms after JVM start (AOT: {}, CDS archive: {})",
+                readyAfterMillis, AotDetector.useGeneratedArtifacts(), cds);
+    }
+
     /**
      * Health check endpoint for container validation.
+     * {@code readyAfterMillis} is the time from JVM launch until the
+     * application was ready, or 0 while it is still starting.
      * @return health status
      */
     @GetMapping("/health")
@@ -28,6 +54,7 @@ public class HealthController {
                 "status", "UP",
                 "timestamp", LocalDateTime.now().toString(),
                 "startedAt", START_TIME.toString(),
+                "readyAfterMillis", readyAfterMillis,
                 "application", "TaskManager API",
                 "version", "1.0.0"
         );
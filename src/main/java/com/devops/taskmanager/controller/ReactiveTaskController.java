@@ -0,0 +1,213 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.ReactiveTaskService;
+import com.devops.taskmanager.service.TaskVersionConflictException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive REST Controller for Task Management API.
+ * Serves the same endpoints as {@link TaskController} when the application
+ * runs with {@code spring.main.web-application-type=reactive}. Listings are
+ * written element by element as the connection accepts them.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveTaskService taskService;
+
+    private final boolean replicated;
+
+    /**
+     * Constructor with dependency injection.
+     * @param taskService the reactive task service
+     * @param replicated whether writes are replicated, which rules out If-Match
+     */
+    public ReactiveTaskController(ReactiveTaskService taskService,
+                                  @Value("${taskmanager.replication.enabled:false}") boolean replicated) {
+        this.taskService = taskService;
+        this.replicated = replicated;
+    }
+
+    /**
+     * Creates a new task.
+     * @param task the task to create
+     * @return the created task with HTTP 201 status
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Task>> createTask(@Valid @RequestBody Task task) {
+        return taskService.createTask(task)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(eTag(created.getVersion()))
+                        .body(created));
+    }
+
+    /**
+     * Streams all tasks, or those matching a status and/or priority, as a JSON array.
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the tasks in creation order
+     */
+    @GetMapping
+    public Flux<Task> getAllTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        return taskService.streamTasks(status, priority);
+    }
+
+    /**
+     * Retrieves one page of tasks using keyset pagination.
+     * @param limit maximum number of tasks per page (capped at 1000)
+     * @param cursor opaque cursor from the previous page
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the page of tasks and the cursor for the next page
+     */
+    @GetMapping(params = "limit")
+    public Mono<TaskPage> getTaskPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        return taskService.getTaskPage(cursor, Math.min(limit, MAX_PAGE_SIZE), status, priority);
+    }
+
+    /**
+     * Queries tasks by several fields at once, sorted and limited on the server.
+     * @param query the filters, sort, order and limit (capped at 1000)
+     * @return the first matching tasks in order
+     */
+    @GetMapping("/query")
+    public Mono<List<Task>> queryTasks(TaskQuery query) {
+        query.setLimit(Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        return taskService.queryTasks(query);
+    }
+
+    /**
+     * Searches task titles and descriptions by keyword.
+     * @param q the search text
+     * @param limit maximum number of tasks per page (capped at 1000)
+     * @param cursor opaque cursor from the previous page
+     * @return the page of matching tasks and the cursor for the next page
+     */
+    @GetMapping("/search")
+    public Mono<TaskPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        return taskService.searchTasks(q, cursor, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Streams tasks as newline-delimited JSON, one task per line.
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the tasks in creation order
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        return taskService.streamTasks(status, priority);
+    }
+
+    /**
+     * Retrieves a task by ID, with its version as the ETag.
+     * @param id the task ID
+     * @return the task if found, 404 otherwise, 304 if If-None-Match still matches
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable String id) {
+        return taskService.getTaskById(id)
+                .map(task -> ResponseEntity.ok().eTag(eTag(task.getVersion())).body(task))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Updates an existing task.
+     * @param id the task ID
+     * @param task the updated task data
+     * @param ifMatch optional ETag the task must still have
+     * @return the updated task if found, 404 otherwise, 412 if the ETag no longer matches
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Task>> updateTask(
+            @PathVariable String id,
+            @RequestBody Task task,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTask(id, task, TaskController.expectedVersions(ifMatch, replicated))
+                .map(updated -> ResponseEntity.ok().eTag(eTag(updated.getVersion())).body(updated))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes a task by ID.
+     * @param id the task ID
+     * @param ifMatch optional ETag the task must still have
+     * @return 204 No Content if deleted, 404 if not found, 412 if the ETag no longer matches
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.deleteTask(id, TaskController.expectedVersions(ifMatch, replicated))
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    /**
+     * Gets task statistics.
+     * @return map containing total count and breakdowns by status and priority
+     */
+    @GetMapping("/stats")
+    public Mono<Map<String, Object>> getStats() {
+        return taskService.getStats();
+    }
+
+    /**
+     * Maps failed If-Match preconditions to 412, with the current version as the ETag.
+     * @param e the exception
+     * @return error body with HTTP 412 status
+     */
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(TaskVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(eTag(e.getCurrentVersion()))
+                .body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,97 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.events.TaskEventBus;
+import com.devops.taskmanager.events.TaskEventSubscriber;
+import com.devops.taskmanager.model.TaskEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reactive REST Controller for the task change feed.
+ * Serves the same stream as {@link TaskEventController} when the application
+ * runs with {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskEventController {
+
+    private static final int MAX_BUFFERED_EVENTS = 1024;
+
+    private final TaskEventBus eventBus;
+
+    private final Duration timeout;
+
+    /**
+     * Constructor with dependency injection.
+     * @param eventBus the task event bus
+     * @param timeout how long one event stream stays open before the client must reconnect
+     */
+    public ReactiveTaskEventController(TaskEventBus eventBus,
+                                       @Value("${taskmanager.events.stream-timeout:30m}") Duration timeout) {
+        this.eventBus = eventBus;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Streams task events, resuming from Last-Event-ID like the servlet variant.
+     * Up to 1024 events are buffered for a client that reads slowly; past that
+     * it receives a {@code reset} event and the stream ends, as it does when
+     * the client falls out of the event ring.
+     * @param fromSequence first sequence to receive; defaults to new events only
+     * @param lastEventId sequence of the last event the client saw
+     * @return the event stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamEvents(
+            @RequestParam(required = false) Long fromSequence,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from;
+        if (fromSequence != null) {
+            from = fromSequence;
+        } else if (lastEventId != null) {
+            from = lastEventId + 1;
+        } else {
+            from = eventBus.getLatestSequence() + 1;
+        }
+        Flux<ServerSentEvent<Object>> events = Flux.create(sink -> {
+            TaskEventBus.Subscription subscription = eventBus.subscribe(from, new TaskEventSubscriber() {
+                @Override
+                public void onEvent(TaskEvent event) {
+                    sink.next(ServerSentEvent.<Object>builder(event)
+                            .id(Long.toString(event.getSequence()))
+                            .event(event.getType().name().toLowerCase(Locale.ROOT))
+                            .build());
+                }
+
+                @Override
+                public void onLagged(long latestSequence) {
+                    sink.next(reset(latestSequence));
+                    sink.complete();
+                }
+            });
+            sink.onDispose(subscription::cancel);
+        });
+        return events
+                .onBackpressureBuffer(MAX_BUFFERED_EVENTS)
+                .onErrorResume(Exceptions::isOverflow, error -> Flux.just(reset(eventBus.getLatestSequence())))
+                .take(timeout);
+    }
+
+    private static ServerSentEvent<Object> reset(long latestSequence) {
+        return ServerSentEvent.<Object>builder(Map.of("latestSequence", latestSequence)).event("reset").build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.BatchItemResult;
+import com.devops.taskmanager.model.BatchItemStatus;
+import com.devops.taskmanager.model.BatchResult;
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.service.InvalidRequestException;
+import com.devops.taskmanager.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * REST Controller for bulk task operations.
+ * Each item is validated on its own; invalid items are reported and skipped
+ * while the rest of the batch is applied with a single wait for durability.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks/batch")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskBatchController {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final TaskService taskService;
+
+    private final Validator validator;
+
+    /**
+     * Constructor with dependency injection.
+     * @param taskService the task service
+     * @param validator the bean validator applied to each item
+     */
+    public TaskBatchController(TaskService taskService, Validator validator) {
+        this.taskService = taskService;
+        this.validator = validator;
+    }
+
+    /**
+     * Creates many tasks in one request.
+     * @param tasks the tasks to create
+     * @return per-item results
+     */
+    @PostMapping
+    public ResponseEntity<BatchResult> createTasks(@RequestBody List<Task> tasks) {
+        checkSize(tasks);
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        List<Task> valid = new ArrayList<>(tasks.size());
+        List<Integer> positions = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            List<String> errors = task == null ? List.of("Task cannot be null") : messages(validator.validate(task));
+            if (errors.isEmpty()) {
+                valid.add(task);
+                positions.add(i);
+            } else {
+                results[i] = invalid(i, task, errors);
+            }
+        }
+        List<Task> created = taskService.createTasks(valid);
+        for (int i = 0; i < created.size(); i++) {
+            Task task = created.get(i);
+            results[positions.get(i)] = new BatchItemResult(positions.get(i), task.getId(),
+                    BatchItemStatus.CREATED, task, null);
+        }
+        return ResponseEntity.ok(new BatchResult(List.of(results)));
+    }
+
+    /**
+     * Applies many partial updates in one request. Each item carries the ID of the task to update.
+     * @param updates the updated task data
+     * @return per-item results
+     */
+    @PutMapping
+    public ResponseEntity<BatchResult> updateTasks(@RequestBody List<Task> updates) {
+        checkSize(updates);
+        BatchItemResult[] results = new BatchItemResult[updates.size()];
+        List<Task> valid = new ArrayList<>(updates.size());
+        List<Integer> positions = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            Task update = updates.get(i);
+            List<String> errors = validatePartial(update);
+            if (errors.isEmpty()) {
+                valid.add(update);
+                positions.add(i);
+            } else {
+                results[i] = invalid(i, update, errors);
+            }
+        }
+        List<Optional<Task>> updated = taskService.updateTasks(valid);
+        for (int i = 0; i < updated.size(); i++) {
+            int position = positions.get(i);
+            String id = valid.get(i).getId();
+            results[position] = updated.get(i)
+                    .map(task -> new BatchItemResult(position, id, BatchItemStatus.UPDATED, task, null))
+                    .orElseGet(() -> new BatchItemResult(position, id, BatchItemStatus.NOT_FOUND, null, null));
+        }
+        return ResponseEntity.ok(new BatchResult(List.of(results)));
+    }
+
+    /**
+     * Deletes many tasks in one request.
+     * @param ids the task IDs
+     * @return per-item results
+     */
+    @DeleteMapping
+    public ResponseEntity<BatchResult> deleteTasks(@RequestBody List<String> ids) {
+        checkSize(ids);
+        List<Boolean> deleted = taskService.deleteTasks(ids);
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            BatchItemStatus status = deleted.get(i) ? BatchItemStatus.DELETED : BatchItemStatus.NOT_FOUND;
+            results.add(new BatchItemResult(i, ids.get(i), status, null, null));
+        }
+        return ResponseEntity.ok(new BatchResult(results));
+    }
+
+    /**
+     * Partial updates only validate the fields they set, matching PUT /api/v1/tasks/{id}.
+     */
+    private List<String> validatePartial(Task update) {
+        if (update == null) {
+            return List.of("Task cannot be null");
+        }
+        List<String> errors = new ArrayList<>();
+        if (update.getId() == null || update.getId().isBlank()) {
+            errors.add("ID is required");
+        }
+        if (update.getTitle() != null) {
+            errors.addAll(messages(validator.validateProperty(update, "title")));
+        }
+        if (update.getDescription() != null) {
+            errors.addAll(messages(validator.validateProperty(update, "description")));
+        }
+        return errors;
+    }
+
+    private static void checkSize(Collection<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Batch cannot exceed " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private static BatchItemResult invalid(int index, Task task, List<String> errors) {
+        return new BatchItemResult(index, task == null ? null : task.getId(), BatchItemStatus.INVALID, null, errors);
+    }
+
+    private static List<String> messages(Set<ConstraintViolation<Task>> violations) {
+        List<String> messages = new ArrayList<>(violations.size());
+        for (ConstraintViolation<Task> violation : violations) {
+            messages.add(violation.getMessage());
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,76 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.service.InvalidRequestException;
+import com.devops.taskmanager.service.TaskService;
+import com.devops.taskmanager.service.UnsupportedRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * REST Controller for using the task store as a work queue.
+ * A worker claims the next pending task, works on it and then completes it
+ * with a PUT carrying the claim's ETag; a claim that is not completed within
+ * its lease returns the task to the queue.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks/claim")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskClaimController {
+
+    private final TaskService taskService;
+
+    private final Duration defaultLease;
+
+    private final Duration maxLease;
+
+    private final boolean replicated;
+
+    /**
+     * Constructor with dependency injection.
+     * @param taskService the task service
+     * @param defaultLease lease given to claims that do not ask for one
+     * @param maxLease longest lease a claim may ask for
+     * @param replicated whether writes are replicated, which rules out claims
+     */
+    public TaskClaimController(TaskService taskService,
+                               @Value("${taskmanager.queue.lease:5m}") Duration defaultLease,
+                               @Value("${taskmanager.queue.max-lease:24h}") Duration maxLease,
+                               @Value("${taskmanager.replication.enabled:false}") boolean replicated) {
+        this.taskService = taskService;
+        this.defaultLease = defaultLease;
+        this.maxLease = maxLease;
+        this.replicated = replicated;
+    }
+
+    /**
+     * Claims the oldest pending task of the highest priority and moves it to IN_PROGRESS.
+     * The ETag is the version of the claimed task; a worker that completes the
+     * task with a matching If-Match cannot overwrite a later claim.
+     * Each replica keeps its own queue, so claims are refused while writes are
+     * replicated: two replicas could otherwise hand out the same task.
+     * @param leaseSeconds how long the claim holds, up to the configured maximum
+     * @return the claimed task, or 204 No Content if no task is pending
+     */
+    @PostMapping
+    public ResponseEntity<Task> claimTask(@RequestParam(required = false) Long leaseSeconds) {
+        if (replicated) {
+            throw new UnsupportedRequestException("Claims are not supported while replication is enabled");
+        }
+        Duration lease = leaseSeconds == null ? defaultLease : Duration.ofSeconds(leaseSeconds);
+        if (lease.isNegative() || lease.isZero() || lease.compareTo(maxLease) > 0) {
+            throw new InvalidRequestException(
+                    "Lease must be between 1 second and " + maxLease.toSeconds() + " seconds");
+        }
+        return taskService.claimTask(lease)
+                .map(task -> ResponseEntity.ok().eTag("\"" + task.getVersion() + "\"").body(task))
+                .orElse(ResponseEntity.noContent().build());
+    }
+}
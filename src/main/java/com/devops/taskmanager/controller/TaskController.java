@@ -1,23 +1,52 @@
 package com.devops.taskmanager.controller;
 
+import com.devops.taskmanager.cache.TaskResponseCache;
+import com.devops.taskmanager.cache.TaskResponseCoalescer;
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Endpoint;
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Key;
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Response;
 import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
 import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.InvalidRequestException;
 import com.devops.taskmanager.service.TaskService;
+import com.devops.taskmanager.service.TaskVersionConflictException;
+import com.devops.taskmanager.service.UnsupportedRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * REST Controller for Task Management API.
@@ -25,16 +54,55 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/v1/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TaskController {
 
+    /**
+     * Media type for newline-delimited JSON streaming.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TaskService taskService;
 
+    private final ObjectMapper objectMapper;
+
+    private final TaskResponseCache responseCache;
+
+    private final TaskResponseCoalescer coalescer;
+
+    private final DistributionSummary listSizes;
+
+    private final DistributionSummary pageSizes;
+
+    private final DistributionSummary searchSizes;
+
+    private final DistributionSummary querySizes;
+
+    private final boolean replicated;
+
     /**
      * Constructor with dependency injection.
      * @param taskService the task service
+     * @param objectMapper the JSON mapper used for streamed and cached responses
+     * @param responseCache serialized responses for single-task lookups
+     * @param coalescer shared responses for concurrent identical list and stats requests
+     * @param registry the registry the response sizes are published to
+     * @param replicated whether writes are replicated, which rules out If-Match
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper, TaskResponseCache responseCache,
+                          TaskResponseCoalescer coalescer, MeterRegistry registry,
+                          @Value("${taskmanager.replication.enabled:false}") boolean replicated) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.listSizes = responseSize(registry, "list");
+        this.pageSizes = responseSize(registry, "page");
+        this.searchSizes = responseSize(registry, "search");
+        this.querySizes = responseSize(registry, "query");
+        this.replicated = replicated;
     }
 
     /**
@@ -45,61 +113,174 @@ public class TaskController {
     @PostMapping
     public ResponseEntity<Task> createTask(@Valid @RequestBody Task task) {
         Task createdTask = taskService.createTask(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(createdTask.getVersion())).body(createdTask);
     }
 
     /**
-     * Retrieves all tasks or filters by status.
+     * Retrieves all tasks or filters by status and/or priority.
+     * Concurrent identical requests share one read and one serialized body.
      * @param status optional status filter
-     * @return list of tasks
+     * @param priority optional priority filter
+     * @return list of tasks as JSON
      */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
-            @RequestParam(required = false) TaskStatus status) {
-        List<Task> tasks;
-        if (status != null) {
-            tasks = taskService.getTasksByStatus(status);
-        } else {
-            tasks = taskService.getAllTasks();
-        }
+    public ResponseEntity<byte[]> getAllTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        Response response = coalescer.get(new Key(Endpoint.LIST, status, priority), () -> {
+            List<Task> tasks;
+            if (status != null && priority != null) {
+                tasks = taskService.getTasksByStatusAndPriority(status, priority);
+            } else if (status != null) {
+                tasks = taskService.getTasksByStatus(status);
+            } else if (priority != null) {
+                tasks = taskService.getTasksByPriority(priority);
+            } else {
+                tasks = taskService.getAllTasks();
+            }
+            return new Response(serialize(tasks), tasks.size());
+        });
+        listSizes.record(response.size());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response.body());
+    }
+
+    /**
+     * Retrieves one page of tasks using keyset pagination.
+     * Tasks are ordered by creation time, then ID, so pages stay stable under writes.
+     * @param limit maximum number of tasks per page (capped at 1000)
+     * @param cursor opaque cursor from the previous page
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the page of tasks and the cursor for the next page
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<TaskPage> getTaskPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        TaskPage page = taskService.getTaskPage(cursor, Math.min(limit, MAX_PAGE_SIZE), status, priority);
+        pageSizes.record(page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Queries tasks by several fields at once, sorted and limited on the server.
+     * Status and priority take one or more values, comma-separated or repeated;
+     * the time ranges include their start and exclude their end.
+     * @param query the filters, sort ({@code createdAt}, {@code updatedAt} or
+     *              {@code priority}), order ({@code asc} or {@code desc}) and limit (capped at 1000)
+     * @return the first matching tasks in order
+     */
+    @GetMapping("/query")
+    public ResponseEntity<List<Task>> queryTasks(TaskQuery query) {
+        query.setLimit(Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        List<Task> tasks = taskService.queryTasks(query);
+        querySizes.record(tasks.size());
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Searches task titles and descriptions by keyword.
+     * Every word of the query must match, exactly or as a prefix; best matches come first.
+     * @param q the search text
+     * @param limit maximum number of tasks per page (capped at 1000)
+     * @param cursor opaque cursor from the previous page
+     * @return the page of matching tasks and the cursor for the next page
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TaskPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        TaskPage page = taskService.searchTasks(q, cursor, Math.min(limit, MAX_PAGE_SIZE));
+        searchSizes.record(page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Streams tasks as newline-delimited JSON, one task per line.
+     * Tasks are written incrementally without building a full list.
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return streaming response body
+     */
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority) {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Task> tasks = taskService.streamTasks(status, priority);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Lines are separated by the newline below, not Jackson's default " " between root values
+                generator.setRootValueSeparator(null);
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
     /**
      * Retrieves a task by ID.
+     * The response carries the task version as its ETag; a matching
+     * If-None-Match header gets 304 Not Modified without a body.
+     * The serialized task is cached per version, so repeated reads skip Jackson.
      * @param id the task ID
-     * @return the task if found, 404 otherwise
+     * @return the task as JSON if found, 404 otherwise
+     * @throws JsonProcessingException if the task cannot be serialized
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
-        return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getTaskById(@PathVariable String id) throws JsonProcessingException {
+        Optional<Task> found = taskService.getTaskById(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Task task = found.get();
+        byte[] body = responseCache.get(task.getId(), task.getVersion());
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(task);
+            responseCache.put(task.getId(), task.getVersion(), body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag(task.getVersion()))
+                .body(body);
     }
 
     /**
      * Updates an existing task.
      * @param id the task ID
      * @param task the updated task data
-     * @return the updated task if found, 404 otherwise
+     * @param ifMatch optional ETag the task must still have
+     * @return the updated task if found, 404 otherwise, 412 if the ETag no longer matches
      */
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable String id,
-            @RequestBody Task task) {
-        return taskService.updateTask(id, task)
-                .map(ResponseEntity::ok)
+            @RequestBody Task task,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTask(id, task, expectedVersions(ifMatch, replicated))
+                .map(updated -> ResponseEntity.ok().eTag(eTag(updated.getVersion())).body(updated))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Deletes a task by ID.
      * @param id the task ID
-     * @return 204 No Content if deleted, 404 if not found
+     * @param ifMatch optional ETag the task must still have
+     * @return 204 No Content if deleted, 404 if not found, 412 if the ETag no longer matches
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable String id) {
-        if (taskService.deleteTask(id)) {
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (taskService.deleteTask(id, expectedVersions(ifMatch, replicated))) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -107,16 +288,128 @@ public class TaskController {
 
     /**
      * Gets task statistics.
-     * @return map containing task count
+     * All values come from live counters, so this is constant time; concurrent
+     * requests also share one serialized body.
+     * @return JSON object containing total count and breakdowns by status and priority
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = Map.of(
-                "totalTasks", taskService.getTaskCount(),
-                "pendingTasks", taskService.getTasksByStatus(TaskStatus.PENDING).size(),
-                "completedTasks", taskService.getTasksByStatus(TaskStatus.COMPLETED).size()
-        );
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<byte[]> getStats() {
+        Response response = coalescer.get(new Key(Endpoint.STATS, null, null), () -> {
+            Map<String, Object> stats = Map.of(
+                    "totalTasks", taskService.getTaskCount(),
+                    "pendingTasks", taskService.getTaskCount(TaskStatus.PENDING),
+                    "completedTasks", taskService.getTaskCount(TaskStatus.COMPLETED),
+                    "byStatus", taskService.getStatusCounts(),
+                    "byPriority", taskService.getPriorityCounts()
+            );
+            return new Response(serialize(stats), 0);
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response.body());
+    }
+
+    /**
+     * Maps failed If-Match preconditions to 412, with the current version as the ETag.
+     * @param e the exception
+     * @return error body with HTTP 412 status
+     */
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(TaskVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(eTag(e.getCurrentVersion()))
+                .body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DistributionSummary responseSize(MeterRegistry registry, String endpoint) {
+        return DistributionSummary.builder("taskmanager.api.response.tasks")
+                .tag("endpoint", endpoint)
+                .baseUnit("tasks")
+                .description("Number of tasks in list responses")
+                .serviceLevelObjectives(1, 10, 20, 50, 100, 200, 500, 1000, 10_000, 100_000)
+                .register(registry);
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses an If-Match header, see {@link #expectedVersions(String)}.
+     * Each replica checks versions against its own copy, so with replication
+     * two replicas could both accept a write expecting the same version.
+     * @throws UnsupportedRequestException if the header is set while writes are replicated
+     */
+    static Set<Long> expectedVersions(String ifMatch, boolean replicated) {
+        Set<Long> versions = expectedVersions(ifMatch);
+        if (versions != null && replicated) {
+            throw new UnsupportedRequestException("If-Match is not supported while replication is enabled");
+        }
+        return versions;
+    }
+
+    /**
+     * Turns an If-Match header into the versions the task may have.
+     * A missing header or {@code *} means any version. Otherwise the header is a
+     * comma-separated list of entity tags and the write goes ahead if the task is
+     * at any of them. Weak tags count as well: the tags are plain versions, and a
+     * proxy that compresses responses weakens them on the way to the client.
+     * A well-formed tag that is not a version matches nothing.
+     * @throws InvalidRequestException if the header is not a list of entity tags
+     */
+    static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        int position = 0;
+        while (true) {
+            position = skipWhitespace(ifMatch, position);
+            if (ifMatch.startsWith("W/", position)) {
+                position += 2;
+            }
+            int close = position < ifMatch.length() && ifMatch.charAt(position) == '"'
+                    ? ifMatch.indexOf('"', position + 1)
+                    : -1;
+            if (close < 0) {
+                throw new InvalidRequestException("Invalid If-Match header: " + ifMatch);
+            }
+            Long version = version(ifMatch.substring(position + 1, close));
+            if (version != null) {
+                versions.add(version);
+            }
+            position = skipWhitespace(ifMatch, close + 1);
+            if (position == ifMatch.length()) {
+                return versions;
+            }
+            if (ifMatch.charAt(position) != ',') {
+                throw new InvalidRequestException("Invalid If-Match header: " + ifMatch);
+            }
+            position++;
+        }
+    }
+
+    private static Long version(String tag) {
+        if (tag.isEmpty() || !tag.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
-}
 
+    private static int skipWhitespace(String header, int position) {
+        while (position < header.length() && (header.charAt(position) == ' ' || header.charAt(position) == '\t')) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,90 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.events.TaskEventBus;
+import com.devops.taskmanager.events.TaskEventSubscriber;
+import com.devops.taskmanager.model.TaskEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * REST Controller for the task change feed.
+ * Streams create, update and delete events as server-sent events, so
+ * clients can follow changes instead of re-fetching the task list.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskEventController {
+
+    private final TaskEventBus eventBus;
+
+    private final Duration timeout;
+
+    /**
+     * Constructor with dependency injection.
+     * @param eventBus the task event bus
+     * @param timeout how long one event stream stays open before the client must reconnect
+     */
+    public TaskEventController(TaskEventBus eventBus,
+                               @Value("${taskmanager.events.stream-timeout:30m}") Duration timeout) {
+        this.eventBus = eventBus;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Streams task events. Each event's SSE id is its sequence number, so a
+     * reconnecting client resumes through the standard Last-Event-ID header.
+     * A client that falls too far behind receives a {@code reset} event and
+     * the stream ends; it should reload the tasks and subscribe again.
+     * @param fromSequence first sequence to receive; defaults to new events only
+     * @param lastEventId sequence of the last event the client saw
+     * @return the event stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) Long fromSequence,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from;
+        if (fromSequence != null) {
+            from = fromSequence;
+        } else if (lastEventId != null) {
+            from = lastEventId + 1;
+        } else {
+            from = eventBus.getLatestSequence() + 1;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        TaskEventBus.Subscription subscription = eventBus.subscribe(from, new TaskEventSubscriber() {
+            @Override
+            public void onEvent(TaskEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name(event.getType().name().toLowerCase(Locale.ROOT))
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onLagged(long latestSequence) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .name("reset")
+                        .data(Map.of("latestSequence", latestSequence), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
@@ -0,0 +1,256 @@
+package com.devops.taskmanager.events;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskEvent;
+import com.devops.taskmanager.model.TaskEventType;
+import com.devops.taskmanager.service.TaskMutationListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, in-process feed of task changes.
+ *
+ * <p>Events go into a fixed-size ring indexed by sequence number, so
+ * publishing never allocates beyond the event itself, never waits and never
+ * depends on how fast anyone reads. Subscribers are drained by a small pool
+ * of dispatcher threads. A subscriber that falls more than a full ring
+ * behind finds its next event overwritten; it is then told it lagged and
+ * dropped, rather than slowing writers down.</p>
+ */
+@Component
+public class TaskEventBus implements TaskMutationListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskEventBus.class);
+
+    private static final int DISPATCH_BATCH = 256;
+
+    private final AtomicReferenceArray<TaskEvent> ring;
+
+    private final int mask;
+
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher;
+
+    /**
+     * Creates the bus.
+     * @param capacity number of events retained; rounded up to a power of two
+     * @param dispatchThreads number of threads delivering events to subscribers
+     */
+    public TaskEventBus(@Value("${taskmanager.events.capacity:65536}") int capacity,
+                        @Value("${taskmanager.events.dispatch-threads:2}") int dispatchThreads) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Event capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = size == capacity ? size : size << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Publishes a store change. Called by the task service inside its write,
+     * so events for one task appear in the order the writes were applied.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        TaskEventType type = type(previous, current);
+        String taskId = current == null ? previous.getId() : current.getId();
+        long sequence = nextSequence.getAndIncrement();
+        ring.set(slot(sequence), new TaskEvent(sequence, type, taskId, current, LocalDateTime.now()));
+        for (Subscription subscription : subscriptions) {
+            subscription.schedule();
+        }
+    }
+
+    /**
+     * Gets the sequence of the newest published event.
+     * @return the latest sequence, or 0 if nothing was published yet
+     */
+    public long getLatestSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * Gets the oldest sequence still held in the ring.
+     * @return the oldest sequence that can still be read
+     */
+    public long getOldestSequence() {
+        return Math.max(1, nextSequence.get() - ring.length());
+    }
+
+    /**
+     * Reads published events starting at the given sequence.
+     * Stops early at an event that is not fully published yet, or at one
+     * that has already been overwritten.
+     * @param fromSequence the first sequence to read
+     * @param max maximum number of events to return
+     * @return the events, in sequence order
+     */
+    public List<TaskEvent> read(long fromSequence, int max) {
+        List<TaskEvent> events = new ArrayList<>(Math.min(max, DISPATCH_BATCH));
+        long end = nextSequence.get();
+        for (long sequence = Math.max(1, fromSequence); sequence < end && events.size() < max; sequence++) {
+            TaskEvent event = ring.get(slot(sequence));
+            if (event == null || event.getSequence() != sequence) {
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Subscribes to events from the given sequence onwards.
+     * @param fromSequence the first sequence to deliver; values below 1 start at the oldest retained event
+     * @param subscriber receiver of the events
+     * @return the subscription, to be cancelled when the client goes away
+     */
+    public Subscription subscribe(long fromSequence, TaskEventSubscriber subscriber) {
+        Subscription subscription = new Subscription(fromSequence < 1 ? getOldestSequence() : fromSequence,
+                subscriber);
+        subscriptions.add(subscription);
+        subscription.schedule();
+        return subscription;
+    }
+
+    /**
+     * Gets the number of live subscriptions.
+     * @return the subscription count
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops the dispatcher threads.
+     */
+    @PreDestroy
+    public void close() {
+        subscriptions.forEach(Subscription::cancel);
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Classifies a change. The deadline scheduler raises the overdue and
+     * reminded flags in writes of their own, so such a write is reported as
+     * that transition rather than as a plain update.
+     */
+    private static TaskEventType type(Task previous, Task current) {
+        if (previous == null) {
+            return TaskEventType.CREATED;
+        }
+        if (current == null) {
+            return TaskEventType.DELETED;
+        }
+        if (current.isOverdue() && !previous.isOverdue()) {
+            return TaskEventType.OVERDUE;
+        }
+        return current.isReminded() && !previous.isReminded() ? TaskEventType.REMINDER : TaskEventType.UPDATED;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * One subscriber's position in the feed.
+     * At most one dispatcher thread drains a subscription at a time.
+     */
+    public final class Subscription {
+
+        private final TaskEventSubscriber subscriber;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile long nextSequence;
+
+        private volatile boolean cancelled;
+
+        private Subscription(long fromSequence, TaskEventSubscriber subscriber) {
+            this.nextSequence = fromSequence;
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Gets the sequence of the next event this subscriber will receive.
+         * @return the next sequence
+         */
+        public long getNextSequence() {
+            return nextSequence;
+        }
+
+        /**
+         * Stops delivery. Safe to call more than once and from any thread.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (!cancelled && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!cancelled) {
+                    if (nextSequence < getOldestSequence()) {
+                        cancel();
+                        subscriber.onLagged(getLatestSequence());
+                        return;
+                    }
+                    List<TaskEvent> events = read(nextSequence, DISPATCH_BATCH);
+                    if (events.isEmpty()) {
+                        break;
+                    }
+                    for (TaskEvent event : events) {
+                        subscriber.onEvent(event);
+                        nextSequence = event.getSequence() + 1;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Dropping task event subscriber at sequence {}", nextSequence, e);
+                cancel();
+            } finally {
+                scheduled.set(false);
+            }
+            // An event published after the last read but before the flag was
+            // cleared would otherwise wait for the next write to be delivered.
+            if (!cancelled && nextSequence < TaskEventBus.this.nextSequence.get()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.devops.taskmanager.events;
+
+import com.devops.taskmanager.model.TaskEvent;
+
+import java.io.IOException;
+
+/**
+ * Receives events from a {@link TaskEventBus} subscription.
+ * Calls for one subscription are made by one dispatcher thread at a time,
+ * never by the thread that wrote the task.
+ */
+public interface TaskEventSubscriber {
+
+    /**
+     * Delivers the next event, in sequence order.
+     * @param event the event
+     * @throws IOException to end the subscription, e.g. when the client went away
+     */
+    void onEvent(TaskEvent event) throws IOException;
+
+    /**
+     * Called once, instead of further events, when the subscriber fell so far
+     * behind that events it has not seen were overwritten. The subscription
+     * is cancelled; the client should reload its state and resubscribe.
+     * @param latestSequence the newest published sequence at the time
+     * @throws IOException if the notice could not be delivered
+     */
+    void onLagged(long latestSequence) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.devops.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of one item in a batch request.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchItemResult {
+
+    private final int index;
+
+    private final String id;
+
+    private final BatchItemStatus status;
+
+    private final Task task;
+
+    private final List<String> errors;
+
+    /**
+     * Constructor with item outcome.
+     * @param index position of the item in the request
+     * @param id the task ID, if known
+     * @param status the outcome
+     * @param task the resulting task, if any
+     * @param errors validation errors, if any
+     */
+    public BatchItemResult(int index, String id, BatchItemStatus status, Task task, List<String> errors) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.task = task;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BatchItemStatus getStatus() {
+        return status;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
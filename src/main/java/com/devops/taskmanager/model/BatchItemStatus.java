@@ -0,0 +1,31 @@
+package com.devops.taskmanager.model;
+
+/**
+ * Enum representing the outcome of one item in a batch request.
+ */
+public enum BatchItemStatus {
+    /**
+     * Task was created.
+     */
+    CREATED,
+
+    /**
+     * Task was updated.
+     */
+    UPDATED,
+
+    /**
+     * Task was deleted.
+     */
+    DELETED,
+
+    /**
+     * No task exists with the given ID.
+     */
+    NOT_FOUND,
+
+    /**
+     * Item failed validation and was not applied.
+     */
+    INVALID
+}
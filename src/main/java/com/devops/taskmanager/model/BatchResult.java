@@ -0,0 +1,40 @@
+package com.devops.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * Per-item results of a batch request with success and failure totals.
+ */
+public class BatchResult {
+
+    private final List<BatchItemResult> results;
+
+    private final long succeeded;
+
+    private final long failed;
+
+    /**
+     * Constructor with item results.
+     * @param results the per-item results, in request order
+     */
+    public BatchResult(List<BatchItemResult> results) {
+        this.results = results;
+        this.succeeded = results.stream()
+                .filter(result -> result.getStatus() != BatchItemStatus.INVALID
+                        && result.getStatus() != BatchItemStatus.NOT_FOUND)
+                .count();
+        this.failed = results.size() - succeeded;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
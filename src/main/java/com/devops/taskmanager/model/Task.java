@@ -1,5 +1,7 @@
 package com.devops.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
@@ -27,6 +29,26 @@ public class Task {
 
     private LocalDateTime updatedAt;
 
+    private long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime dueAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime remindAt;
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean overdue;
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean reminded;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime leaseExpiresAt;
+
     /**
      * Default constructor.
      */
@@ -49,6 +71,44 @@ public class Task {
         this.description = description;
     }
 
+    /**
+     * Constructor with every field, used when rehydrating stored tasks.
+     * Unlike the default constructor it does not generate an ID or timestamps.
+     * @param id the task ID
+     * @param title the task title
+     * @param description the task description
+     * @param status the task status
+     * @param priority the task priority
+     * @param createdAt the creation time
+     * @param updatedAt the last update time
+     */
+    public Task(String id, String title, String description, TaskStatus status,
+                TaskPriority priority, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Copy constructor. The task service stores copies so that stored tasks
+     * are never changed in place once other threads can see them.
+     * @param other the task to copy
+     */
+    public Task(Task other) {
+        this(other.id, other.title, other.description, other.status, other.priority,
+                other.createdAt, other.updatedAt);
+        this.version = other.version;
+        this.dueAt = other.dueAt;
+        this.remindAt = other.remindAt;
+        this.overdue = other.overdue;
+        this.reminded = other.reminded;
+        this.leaseExpiresAt = other.leaseExpiresAt;
+    }
+
     // Getters and Setters
 
     public String getId() {
@@ -110,5 +170,80 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    /**
+     * Version of the task, assigned by the task service.
+     * Starts at 1 and increases by one with every write to the task.
+     * @return the task version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Time by which the task should be finished, if it has a deadline.
+     * @return the due time, or null
+     */
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    /**
+     * Time at which a reminder for the task is due, if one was requested.
+     * @return the reminder time, or null
+     */
+    public LocalDateTime getRemindAt() {
+        return remindAt;
+    }
+
+    public void setRemindAt(LocalDateTime remindAt) {
+        this.remindAt = remindAt;
+    }
+
+    /**
+     * Whether the due time passed before the task was completed or cancelled.
+     * Set by the server and reset when the task gets a new due time.
+     * @return true if the task is overdue
+     */
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+
+    /**
+     * Whether the reminder for the task has fired.
+     * Set by the server and reset when the task gets a new reminder time.
+     * @return true if the reminder was sent
+     */
+    public boolean isReminded() {
+        return reminded;
+    }
+
+    public void setReminded(boolean reminded) {
+        this.reminded = reminded;
+    }
+
+    /**
+     * Time at which the claim on an in-progress task runs out and the task
+     * goes back to pending. Set by the server when the task is claimed.
+     * @return the lease expiry, or null if the task is not held by a claim
+     */
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+}
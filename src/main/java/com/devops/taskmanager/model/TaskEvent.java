@@ -0,0 +1,58 @@
+package com.devops.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to the task store, as published on the change feed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+
+    private final long sequence;
+
+    private final TaskEventType type;
+
+    private final String taskId;
+
+    private final Task task;
+
+    private final LocalDateTime timestamp;
+
+    /**
+     * Constructor with event contents.
+     * @param sequence position of the event in the feed, starting at 1
+     * @param type the kind of change
+     * @param taskId the ID of the changed task
+     * @param task the task after the change, or null if it was deleted
+     * @param timestamp when the change was published
+     */
+    public TaskEvent(long sequence, TaskEventType type, String taskId, Task task, LocalDateTime timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
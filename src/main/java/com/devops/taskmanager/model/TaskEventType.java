@@ -0,0 +1,31 @@
+package com.devops.taskmanager.model;
+
+/**
+ * Enum representing the kind of change a task event describes.
+ */
+public enum TaskEventType {
+    /**
+     * Task was created, or replaced by a create with the same ID.
+     */
+    CREATED,
+
+    /**
+     * Task was updated.
+     */
+    UPDATED,
+
+    /**
+     * Task passed its due time without being completed or cancelled.
+     */
+    OVERDUE,
+
+    /**
+     * Task reached its reminder time.
+     */
+    REMINDER,
+
+    /**
+     * Task was deleted.
+     */
+    DELETED
+}
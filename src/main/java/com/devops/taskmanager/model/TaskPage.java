@@ -0,0 +1,31 @@
+package com.devops.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * One page of tasks from a cursor-paginated listing.
+ */
+public class TaskPage {
+
+    private final List<Task> items;
+
+    private final String nextCursor;
+
+    /**
+     * Constructor with page contents.
+     * @param items the tasks on this page
+     * @param nextCursor opaque cursor for the next page, or null on the last page
+     */
+    public TaskPage(List<Task> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Task> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,117 @@
+package com.devops.taskmanager.model;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filters, sort order and limit for a multi-field task query.
+ * Missing or empty status and priority sets match every value. Time ranges
+ * include their start and exclude their end, and either end may be left open.
+ */
+public class TaskQuery {
+
+    private Set<TaskStatus> status;
+
+    private Set<TaskPriority> priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    private String sort = "createdAt";
+
+    private String order = "asc";
+
+    private int limit = 20;
+
+    public Set<TaskStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Set<TaskStatus> status) {
+        this.status = status;
+    }
+
+    public Set<TaskPriority> getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Set<TaskPriority> priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public LocalDateTime getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(LocalDateTime updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public LocalDateTime getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(LocalDateTime updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+
+    /**
+     * Gets the sort field: {@code createdAt}, {@code updatedAt} or {@code priority}.
+     * Ties are broken by creation time, then ID.
+     * @return the sort field
+     */
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * Gets the sort direction, {@code asc} or {@code desc}.
+     * @return the sort direction
+     */
+    public String getOrder() {
+        return order;
+    }
+
+    public void setOrder(String order) {
+        this.order = order;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
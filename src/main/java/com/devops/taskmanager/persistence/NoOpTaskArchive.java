@@ -0,0 +1,37 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.Collection;
+
+/**
+ * Archive that holds nothing: every task stays in memory.
+ * This is the default when archiving is not enabled.
+ */
+public class NoOpTaskArchive implements TaskArchive {
+
+    @Override
+    public void open() {
+        // Nothing to load
+    }
+
+    @Override
+    public Task get(String id) {
+        return null;
+    }
+
+    @Override
+    public void append(Collection<Task> tasks) {
+        throw new UnsupportedOperationException("Task archiving is not enabled");
+    }
+
+    @Override
+    public void delete(String id) {
+        // Nothing is archived, so there is nothing to delete
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
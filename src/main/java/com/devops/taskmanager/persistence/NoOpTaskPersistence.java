@@ -0,0 +1,43 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Persistence that keeps nothing: the store is purely in memory.
+ * This is the default when durable storage is not enabled.
+ */
+public class NoOpTaskPersistence implements TaskPersistence {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    @Override
+    public Map<String, Task> recover() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public void start(Supplier<Stream<Task>> liveTasks) {
+        // Nothing to schedule
+    }
+
+    @Override
+    public CompletableFuture<Void> logUpsert(Task task) {
+        return DONE;
+    }
+
+    @Override
+    public CompletableFuture<Void> logDelete(String id) {
+        return DONE;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,116 @@
+package com.devops.taskmanager.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the task persistence backend.
+ * The write-ahead log is used when {@code taskmanager.persistence.enabled=true};
+ * otherwise the store stays purely in memory. Finished tasks are moved to a
+ * compressed archive when {@code taskmanager.archive.enabled=true}.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    private static final String ENABLED = "taskmanager.persistence.enabled";
+
+    private static final String ARCHIVE_ENABLED = "taskmanager.archive.enabled";
+
+    /**
+     * Durable write-ahead log backend.
+     * @param directory directory for log segments and snapshots
+     * @param maxBatchSize maximum records per group commit
+     * @param snapshotInterval time between compacting snapshots
+     * @return the write-ahead log
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+    public WriteAheadLog writeAheadLog(
+            @Value("${taskmanager.persistence.directory:data}") Path directory,
+            @Value("${taskmanager.persistence.max-batch-size:1024}") int maxBatchSize,
+            @Value("${taskmanager.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new WriteAheadLog(directory, maxBatchSize, snapshotInterval);
+    }
+
+    /**
+     * Publishes how long startup recovery took.
+     * @param writeAheadLog the write-ahead log
+     * @return meter binder for the recovery time gauge
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+    public MeterBinder recoveryTimeMetrics(WriteAheadLog writeAheadLog) {
+        return registry -> TimeGauge.builder("taskmanager.persistence.recovery.time", writeAheadLog,
+                        TimeUnit.MILLISECONDS, WriteAheadLog::getLastRecoveryMillis)
+                .description("Time taken to replay the snapshot and log tail at startup")
+                .register(registry);
+    }
+
+    /**
+     * In-memory only backend.
+     * @return persistence that keeps nothing
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "false", matchIfMissing = true)
+    public TaskPersistence noOpTaskPersistence() {
+        return new NoOpTaskPersistence();
+    }
+
+    /**
+     * Compressed segment archive for finished tasks.
+     * @param directory directory for archive segments
+     * @param blockSize uncompressed bytes of tasks per compressed block
+     * @param segmentSize size past which a new segment file is started
+     * @return the archive
+     */
+    @Bean
+    @ConditionalOnProperty(name = ARCHIVE_ENABLED, havingValue = "true")
+    public SegmentTaskArchive segmentTaskArchive(
+            @Value("${taskmanager.archive.directory:data/archive}") Path directory,
+            @Value("${taskmanager.archive.block-size:64KB}") DataSize blockSize,
+            @Value("${taskmanager.archive.segment-size:64MB}") DataSize segmentSize) {
+        return new SegmentTaskArchive(directory, Math.toIntExact(blockSize.toBytes()), segmentSize.toBytes());
+    }
+
+    /**
+     * Publishes how many tasks the archive holds and how much disk it takes.
+     * @param archive the segment archive
+     * @return meter binder for the archive gauges
+     */
+    @Bean
+    @ConditionalOnProperty(name = ARCHIVE_ENABLED, havingValue = "true")
+    public MeterBinder archiveMetrics(SegmentTaskArchive archive) {
+        return registry -> {
+            Gauge.builder("taskmanager.archive.tasks", archive, SegmentTaskArchive::getArchivedCount)
+                    .description("Task records written to the archive, including superseded copies")
+                    .register(registry);
+            Gauge.builder("taskmanager.archive.bytes", archive, SegmentTaskArchive::getArchivedBytes)
+                    .description("Size of the archive segments on disk")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("taskmanager.archive.runs", archive, SegmentTaskArchive::getRunCount)
+                    .description("Sorted runs searched by an archive lookup")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * No archive; finished tasks stay in memory.
+     * @return archive that holds nothing
+     */
+    @Bean
+    @ConditionalOnProperty(name = ARCHIVE_ENABLED, havingValue = "false", matchIfMissing = true)
+    public TaskArchive noOpTaskArchive() {
+        return new NoOpTaskArchive();
+    }
+}
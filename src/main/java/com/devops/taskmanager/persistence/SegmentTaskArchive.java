@@ -0,0 +1,664 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only archive of tasks in compressed segment files.
+ *
+ * <p>Every {@link #append} writes one run: the tasks sorted by ID, packed
+ * into blocks of about {@code blockSize} bytes that are deflated one by one,
+ * followed by an index block. The index is sparse: it holds the first ID of
+ * each block and a Bloom filter of every ID in the run, so memory grows by
+ * about two bytes per archived task, and a lookup inflates at most one block
+ * in each run whose filter matches. Runs are searched newest first, so a
+ * later copy of a task, or a deletion marker, hides older ones. A run only
+ * counts once its index block is on disk; a torn run at the end of the last
+ * segment is cut off when the archive is opened. A new segment is started
+ * once the current one reaches {@code segmentSize}.</p>
+ *
+ * <p>{@link #delete} does not write a run of its own, which would add a run
+ * for every lookup to search. It appends the ID to a small delete log and
+ * keeps it in memory, where lookups check it first, and the next
+ * {@link #append} writes the markers into its run and starts the delete log
+ * afresh. The delete log names the end of the archive it follows, so one
+ * left behind by a crash after its markers reached a run is dropped.</p>
+ */
+public class SegmentTaskArchive implements TaskArchive {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentTaskArchive.class);
+
+    private static final int SEGMENT_MAGIC = 0x54415243;
+
+    private static final int SEGMENT_FORMAT_VERSION = 1;
+
+    private static final int SEGMENT_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int DELETES_MAGIC = 0x54414444;
+
+    private static final int DELETES_HEADER_SIZE = Integer.BYTES + 2 * Long.BYTES;
+
+    private static final String DELETES_FILE = "deletes.log";
+
+    private static final int BLOCK_HEADER_SIZE = 1 + 3 * Integer.BYTES;
+
+    private static final int MAX_BLOCK_SIZE = 64 << 20;
+
+    private static final byte DATA = 1;
+
+    private static final byte INDEX = 2;
+
+    private static final byte TASK = 1;
+
+    private static final byte DELETED = 2;
+
+    private static final int BLOOM_BITS_PER_ID = 10;
+
+    private static final int BLOOM_HASHES = 7;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("archive-(\\d+)\\.seg");
+
+    private final Path directory;
+
+    private final int blockSize;
+
+    private final long segmentSize;
+
+    private final List<Run> runs = new CopyOnWriteArrayList<>();
+
+    /**
+     * Deleted IDs whose markers are only in the delete log so far.
+     */
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, FileChannel> readers = new ConcurrentHashMap<>();
+
+    private final AtomicLong archivedTasks = new AtomicLong();
+
+    private final AtomicLong archivedBytes = new AtomicLong();
+
+    private FileChannel writer;
+
+    private long writerIndex;
+
+    private long writerSize;
+
+    private FileChannel deletes;
+
+    private long deletesSize;
+
+    /**
+     * Whether the delete log still follows an older end of the archive,
+     * because starting it afresh failed.
+     */
+    private boolean deletesStale;
+
+    /**
+     * Constructor with archive settings.
+     * @param directory directory holding the segment files
+     * @param blockSize uncompressed bytes packed into one block before it is compressed
+     * @param segmentSize size at which a new segment file is started
+     */
+    public SegmentTaskArchive(Path directory, int blockSize, long segmentSize) {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Archive block size must be between 1 byte and 64MB");
+        }
+        this.directory = directory;
+        this.blockSize = blockSize;
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> indexes = indexes();
+            for (int i = 0; i < indexes.size(); i++) {
+                long index = indexes.get(i);
+                long validEnd = load(index);
+                archivedBytes.addAndGet(validEnd);
+                if (i == indexes.size() - 1) {
+                    writer = FileChannel.open(segmentPath(index), StandardOpenOption.WRITE);
+                    if (writer.size() > validEnd) {
+                        LOG.warn("Cutting torn archive run off {} ({} bytes)", segmentPath(index),
+                                writer.size() - validEnd);
+                        writer.truncate(validEnd);
+                        writer.force(true);
+                    }
+                    writerIndex = index;
+                    writerSize = validEnd;
+                }
+            }
+            if (writer == null) {
+                openSegment(1);
+            }
+            openDeletes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open task archive in " + directory, e);
+        }
+        LOG.info("Opened task archive in {} with {} archived tasks in {} runs",
+                directory, archivedTasks.get(), runs.size());
+    }
+
+    @Override
+    public Task get(String id) {
+        if (pendingDeletes.contains(id)) {
+            return null;
+        }
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            Run run = runs.get(i);
+            if (!run.bloom.mightContain(id)) {
+                continue;
+            }
+            Map.Entry<String, Long> block = run.blocks.floorEntry(id);
+            if (block == null) {
+                continue;
+            }
+            try {
+                ByteBuffer records = readBlock(run.segment, block.getValue(), DATA);
+                while (records.hasRemaining()) {
+                    byte kind = records.get();
+                    int length = records.getInt();
+                    ByteBuffer record = records.slice().limit(length);
+                    records.position(records.position() + length);
+                    if (id.equals(recordId(kind, record.duplicate()))) {
+                        return kind == DELETED ? null : TaskRecordCodec.decode(record);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archived task " + id, e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void append(Collection<Task> tasks) {
+        if (tasks.isEmpty() && pendingDeletes.isEmpty()) {
+            return;
+        }
+        NavigableMap<String, Record> records = new TreeMap<>();
+        for (String id : pendingDeletes) {
+            records.put(id, new Record(DELETED, id.getBytes(StandardCharsets.UTF_8)));
+        }
+        for (Task task : tasks) {
+            records.put(task.getId(), new Record(TASK, TaskRecordCodec.encode(task)));
+        }
+        writeRun(records);
+        pendingDeletes.clear();
+        try {
+            resetDeletes();
+        } catch (IOException e) {
+            deletesStale = true;
+            throw new UncheckedIOException("Failed to start a new archive delete log", e);
+        }
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        if (pendingDeletes.contains(id)) {
+            return;
+        }
+        byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+        CRC32C crc = new CRC32C();
+        crc.update(utf8);
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + utf8.length)
+                .putInt(utf8.length).put(utf8).putInt((int) crc.getValue()).flip();
+        try {
+            if (deletesStale) {
+                resetDeletes();
+            }
+            while (record.hasRemaining()) {
+                deletes.write(record, deletesSize + record.position());
+            }
+            deletes.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete archived task " + id, e);
+        }
+        deletesSize += record.limit();
+        pendingDeletes.add(id);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+            if (deletes != null) {
+                deletes.close();
+            }
+            for (FileChannel reader : readers.values()) {
+                reader.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to close task archive", e);
+        }
+    }
+
+    /**
+     * Gets the number of task copies written to the archive, including
+     * ones later replaced or deleted.
+     * @return the archived task count
+     */
+    public long getArchivedCount() {
+        return archivedTasks.get();
+    }
+
+    /**
+     * Gets the size of all segment files.
+     * @return the archive size in bytes
+     */
+    public long getArchivedBytes() {
+        return archivedBytes.get();
+    }
+
+    /**
+     * Gets the number of runs, each searched separately by a lookup.
+     * @return the run count
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    private void writeRun(NavigableMap<String, Record> records) {
+        ByteArrayOutputStream run = new ByteArrayOutputStream();
+        NavigableMap<String, Long> blocks = new TreeMap<>();
+        BloomFilter bloom = new BloomFilter(new long[Math.max(1, (records.size() * BLOOM_BITS_PER_ID + 63) / 64)]);
+        ByteArrayOutputStream block = new ByteArrayOutputStream(blockSize);
+        long tasks = 0;
+        for (Map.Entry<String, Record> entry : records.entrySet()) {
+            if (block.size() == 0) {
+                blocks.put(entry.getKey(), writerSize + run.size());
+            }
+            Record record = entry.getValue();
+            block.write(record.kind);
+            block.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(record.body.length).array());
+            block.writeBytes(record.body);
+            bloom.add(entry.getKey());
+            tasks += record.kind == TASK ? 1 : 0;
+            if (block.size() >= blockSize || entry.getKey().equals(records.lastKey())) {
+                writeBlock(run, DATA, block.toByteArray());
+                block.reset();
+            }
+        }
+        writeBlock(run, INDEX, encodeIndex(tasks, blocks, bloom));
+        long start = writerSize;
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(run.toByteArray());
+            while (bytes.hasRemaining()) {
+                writer.write(bytes, start + bytes.position());
+            }
+            writer.force(false);
+        } catch (IOException e) {
+            try {
+                writer.truncate(start);
+            } catch (IOException ignored) {
+                // The torn run is cut off when the archive is next opened
+            }
+            throw new UncheckedIOException("Failed to append to task archive", e);
+        }
+        writerSize += run.size();
+        archivedBytes.addAndGet(run.size());
+        archivedTasks.addAndGet(tasks);
+        runs.add(new Run(writerIndex, tasks, blocks, bloom));
+        if (writerSize >= segmentSize) {
+            try {
+                openSegment(writerIndex + 1);
+            } catch (IOException e) {
+                LOG.warn("Failed to start a new archive segment, appending to {}", segmentPath(writerIndex), e);
+            }
+        }
+    }
+
+    /**
+     * Opens the delete log, keeping the deletes in it if it follows the
+     * current end of the archive and dropping it otherwise.
+     */
+    private void openDeletes() throws IOException {
+        deletes = FileChannel.open(directory.resolve(DELETES_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(DELETES_HEADER_SIZE);
+        deletes.read(header, 0);
+        header.flip();
+        if (header.remaining() < DELETES_HEADER_SIZE || header.getInt() != DELETES_MAGIC
+                || header.getLong() != writerIndex || header.getLong() != writerSize) {
+            resetDeletes();
+            return;
+        }
+        long size = deletes.size();
+        long position = DELETES_HEADER_SIZE;
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (size - position >= 2 * Integer.BYTES) {
+            length.clear();
+            readFully(deletes, length, position);
+            int idLength = length.getInt();
+            if (idLength < 0 || idLength > size - position - 2 * Integer.BYTES) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(idLength + Integer.BYTES);
+            readFully(deletes, body, position + Integer.BYTES);
+            byte[] utf8 = new byte[idLength];
+            body.get(utf8);
+            CRC32C crc = new CRC32C();
+            crc.update(utf8);
+            if ((int) crc.getValue() != body.getInt()) {
+                break;
+            }
+            pendingDeletes.add(new String(utf8, StandardCharsets.UTF_8));
+            position += 2 * Integer.BYTES + idLength;
+        }
+        if (size > position) {
+            LOG.warn("Cutting torn delete off {} ({} bytes)", directory.resolve(DELETES_FILE), size - position);
+            deletes.truncate(position);
+            deletes.force(true);
+        }
+        deletesSize = position;
+    }
+
+    /**
+     * Empties the delete log and marks it as following the current end of the archive.
+     */
+    private void resetDeletes() throws IOException {
+        deletes.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(DELETES_HEADER_SIZE)
+                .putInt(DELETES_MAGIC).putLong(writerIndex).putLong(writerSize).flip();
+        while (header.hasRemaining()) {
+            deletes.write(header, header.position());
+        }
+        deletes.force(true);
+        deletesSize = DELETES_HEADER_SIZE;
+        deletesStale = false;
+    }
+
+    private static void writeBlock(ByteArrayOutputStream out, byte type, byte[] raw) {
+        Deflater deflater = new Deflater();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+        byte[] body = compressed.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        out.writeBytes(ByteBuffer.allocate(BLOCK_HEADER_SIZE)
+                .put(type).putInt(body.length).putInt(raw.length).putInt((int) crc.getValue()).array());
+        out.writeBytes(body);
+    }
+
+    private static byte[] encodeIndex(long tasks, NavigableMap<String, Long> blocks, BloomFilter bloom) {
+        int size = Long.BYTES + 2 * Integer.BYTES + bloom.words.length * Long.BYTES;
+        List<byte[]> ids = new ArrayList<>(blocks.size());
+        for (String id : blocks.keySet()) {
+            byte[] utf8 = TaskRecordCodec.utf8(id);
+            ids.add(utf8);
+            size += TaskRecordCodec.stringSize(utf8) + Long.BYTES;
+        }
+        ByteBuffer index = ByteBuffer.allocate(size).putLong(tasks).putInt(blocks.size());
+        int i = 0;
+        for (long offset : blocks.values()) {
+            TaskRecordCodec.putString(index, ids.get(i++));
+            index.putLong(offset);
+        }
+        index.putInt(bloom.words.length);
+        for (long word : bloom.words) {
+            index.putLong(word);
+        }
+        return index.array();
+    }
+
+    /**
+     * Reads every complete run of a segment into memory.
+     * @return the end of the last complete run
+     */
+    private long load(long segment) throws IOException {
+        FileChannel channel = reader(segment);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < SEGMENT_HEADER_SIZE || header.getInt() != SEGMENT_MAGIC
+                || header.getInt() != SEGMENT_FORMAT_VERSION) {
+            throw new IOException("Not a task archive segment: " + segmentPath(segment));
+        }
+        long size = channel.size();
+        long position = SEGMENT_HEADER_SIZE;
+        long validEnd = SEGMENT_HEADER_SIZE;
+        while (size - position >= BLOCK_HEADER_SIZE) {
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            channel.read(blockHeader, position);
+            blockHeader.flip();
+            byte type = blockHeader.get();
+            int bodyLength = blockHeader.getInt();
+            long end = position + BLOCK_HEADER_SIZE + bodyLength;
+            if (bodyLength < 0 || end > size || (type != DATA && type != INDEX)) {
+                break;
+            }
+            if (type == INDEX) {
+                try {
+                    Run run = decodeIndex(segment, readBlock(segment, position, INDEX));
+                    runs.add(run);
+                    archivedTasks.addAndGet(run.tasks());
+                } catch (IOException | RuntimeException e) {
+                    break;
+                }
+                validEnd = end;
+            }
+            position = end;
+        }
+        return validEnd;
+    }
+
+    private static Run decodeIndex(long segment, ByteBuffer index) {
+        long tasks = index.getLong();
+        int blockCount = index.getInt();
+        NavigableMap<String, Long> blocks = new TreeMap<>();
+        for (int i = 0; i < blockCount; i++) {
+            blocks.put(TaskRecordCodec.getString(index), index.getLong());
+        }
+        long[] words = new long[index.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = index.getLong();
+        }
+        return new Run(segment, tasks, blocks, new BloomFilter(words));
+    }
+
+    /**
+     * Reads, checks and inflates one block.
+     * @return the uncompressed block contents
+     */
+    private ByteBuffer readBlock(long segment, long position, byte expectedType) throws IOException {
+        FileChannel channel = reader(segment);
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        readFully(channel, header, position);
+        byte type = header.get();
+        int bodyLength = header.getInt();
+        int rawLength = header.getInt();
+        int checksum = header.getInt();
+        if (type != expectedType || bodyLength < 0 || rawLength < 0) {
+            throw new IOException("Corrupt archive block at " + position + " in " + segmentPath(segment));
+        }
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        readFully(channel, body, position + BLOCK_HEADER_SIZE);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Archive block checksum mismatch at " + position + " in " + segmentPath(segment));
+        }
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength) {
+                throw new IOException("Truncated archive block at " + position + " in " + segmentPath(segment));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block at " + position + " in " + segmentPath(segment), e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static String recordId(byte kind, ByteBuffer record) {
+        if (kind == DELETED) {
+            return StandardCharsets.UTF_8.decode(record).toString();
+        }
+        return TaskRecordCodec.getString(record);
+    }
+
+    private FileChannel reader(long segment) throws IOException {
+        FileChannel reader = readers.get(segment);
+        if (reader == null) {
+            reader = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+            FileChannel raced = readers.putIfAbsent(segment, reader);
+            if (raced != null) {
+                reader.close();
+                reader = raced;
+            }
+        }
+        return reader;
+    }
+
+    private void openSegment(long index) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        channel.write(ByteBuffer.allocate(SEGMENT_HEADER_SIZE)
+                .putInt(SEGMENT_MAGIC).putInt(SEGMENT_FORMAT_VERSION).flip());
+        channel.force(true);
+        if (writer != null) {
+            writer.close();
+        }
+        writer = channel;
+        writerIndex = index;
+        writerSize = SEGMENT_HEADER_SIZE;
+        archivedBytes.addAndGet(SEGMENT_HEADER_SIZE);
+    }
+
+    private List<Long> indexes() throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    indexes.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("archive-%010d.seg", index));
+    }
+
+    /**
+     * One task or deletion marker waiting to be packed into a block.
+     */
+    private record Record(byte kind, byte[] body) {
+    }
+
+    /**
+     * The in-memory index of one run: the first ID of each block with the
+     * block's offset, and a filter of every ID in the run.
+     */
+    private record Run(long segment, long tasks, NavigableMap<String, Long> blocks, BloomFilter bloom) {
+    }
+
+    /**
+     * Bloom filter over task IDs. Built on {@link String#hashCode()}, which
+     * is fixed by the language, so stored filters stay valid across JVMs.
+     */
+    private static final class BloomFilter {
+
+        private final long[] words;
+
+        private BloomFilter(long[] words) {
+            this.words = words;
+        }
+
+        private void add(String id) {
+            int h1 = mix(id.hashCode());
+            int h2 = mix(h1) | 1;
+            long bits = words.length * 64L;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                words[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        private boolean mightContain(String id) {
+            int h1 = mix(id.hashCode());
+            int h2 = mix(h1) | 1;
+            long bits = words.length * 64L;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            int h = hash;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Compacted point-in-time image of the task store, read and written
+ * through memory-mapped windows of the file.
+ *
+ * <p>Layout: a fixed 32-byte header (magic, format version, record count,
+ * payload length, CRC32C of the payload) followed by the payload, a run of
+ * length-prefixed {@link TaskRecordCodec} records. The header is written
+ * last, so a snapshot interrupted mid-write fails its checksum instead of
+ * loading partially.</p>
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x54534E50;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+
+    private static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes all tasks to the given file and forces it to disk.
+     * @return the number of tasks written
+     */
+    static long write(Path file, Stream<Task> tasks) throws IOException {
+        return write(file, tasks, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Writes all tasks, mapping the file in windows of the given size.
+     */
+    static long write(Path file, Stream<Task> tasks, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            long count = 0;
+            long position = HEADER_SIZE;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position, windowSize);
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                byte[] record = TaskRecordCodec.encode(iterator.next());
+                int size = Integer.BYTES + record.length;
+                if (window.remaining() < size) {
+                    window.force();
+                    position += window.position();
+                    window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(windowSize, size));
+                }
+                int start = window.position();
+                window.putInt(record.length).put(record);
+                crc.update(window.duplicate().position(start).limit(start + size));
+                count++;
+            }
+            window.force();
+            long payloadLength = position + window.position() - HEADER_SIZE;
+            channel.truncate(HEADER_SIZE + payloadLength);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(count).putLong(payloadLength)
+                    .putInt((int) crc.getValue());
+            header.force();
+            return count;
+        }
+    }
+
+    /**
+     * Verifies and reads every task from the given file.
+     * Nothing is handed to the sink unless the header and checksum are valid.
+     * @return the number of tasks read
+     * @throws IOException if the file is unreadable, truncated or corrupt
+     */
+    static long read(Path file, Consumer<Task> sink) throws IOException {
+        return read(file, sink, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Verifies and reads every task, mapping the file in windows of the given size.
+     */
+    static long read(Path file, Consumer<Task> sink, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Truncated task snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a task snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported task snapshot version " + version + ": " + file);
+            }
+            long count = header.getLong();
+            long payloadLength = header.getLong();
+            int checksum = header.getInt();
+            if (payloadLength < 0 || HEADER_SIZE + payloadLength != channel.size()) {
+                throw new IOException("Truncated task snapshot: " + file);
+            }
+            if (checksum(channel, payloadLength, windowSize) != checksum) {
+                throw new IOException("Checksum mismatch in task snapshot: " + file);
+            }
+            decode(channel, payloadLength, count, sink, windowSize);
+            return count;
+        }
+    }
+
+    private static int checksum(FileChannel channel, long payloadLength, long windowSize) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long offset = 0; offset < payloadLength; offset += windowSize) {
+            long size = Math.min(windowSize, payloadLength - offset);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + offset, size));
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void decode(FileChannel channel, long payloadLength, long count, Consumer<Task> sink,
+                               long windowSize) throws IOException {
+        long position = HEADER_SIZE;
+        long end = HEADER_SIZE + payloadLength;
+        ByteBuffer window = ByteBuffer.allocate(0);
+        for (long i = 0; i < count; i++) {
+            if (window.remaining() < Integer.BYTES) {
+                position += window.position();
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, end - position));
+            }
+            int length = window.getInt(window.position());
+            if (length < 0 || length > end - position - window.position() - Integer.BYTES) {
+                throw new IOException("Corrupt record length " + length + " in task snapshot");
+            }
+            if (window.remaining() < Integer.BYTES + length) {
+                position += window.position();
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Math.max(windowSize, Integer.BYTES + length), end - position));
+            }
+            window.position(window.position() + Integer.BYTES);
+            ByteBuffer record = window.slice().limit(length);
+            window.position(window.position() + length);
+            sink.accept(TaskRecordCodec.decode(record));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.Collection;
+
+/**
+ * Cold storage for tasks that have left the in-memory store.
+ * Archived tasks can still be read and deleted by ID, but not updated.
+ */
+public interface TaskArchive {
+
+    /**
+     * Loads the archive index and prepares for appends.
+     */
+    void open();
+
+    /**
+     * Looks up an archived task.
+     * @param id the task ID
+     * @return the newest archived copy of the task, or null if it is not archived or was deleted
+     */
+    Task get(String id);
+
+    /**
+     * Appends tasks to the archive; they are durable once this returns.
+     * @param tasks the tasks to archive
+     */
+    void append(Collection<Task> tasks);
+
+    /**
+     * Marks an archived task as deleted; durable once this returns.
+     * @param id the task ID
+     */
+    void delete(String id);
+
+    /**
+     * Releases files and other resources.
+     */
+    void close();
+}
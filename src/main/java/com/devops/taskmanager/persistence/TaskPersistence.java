@@ -0,0 +1,47 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Pluggable durability layer underneath the task store.
+ * Log calls are made while the store entry for the task is held, so they
+ * must only enqueue work; callers wait on the returned future afterwards.
+ */
+public interface TaskPersistence {
+
+    /**
+     * Rebuilds the last durable state of the store.
+     * @return recovered tasks keyed by ID
+     */
+    Map<String, Task> recover();
+
+    /**
+     * Starts background work such as periodic snapshots.
+     * @param liveTasks supplies a per-task consistent view of the live store
+     */
+    void start(Supplier<Stream<Task>> liveTasks);
+
+    /**
+     * Logs the full current state of a task.
+     * @param task the created or updated task
+     * @return future completed once the record is durable
+     */
+    CompletableFuture<Void> logUpsert(Task task);
+
+    /**
+     * Logs the removal of a task.
+     * @param id the deleted task ID
+     * @return future completed once the record is durable
+     */
+    CompletableFuture<Void> logDelete(String id);
+
+    /**
+     * Flushes outstanding records and releases resources.
+     */
+    void close();
+}
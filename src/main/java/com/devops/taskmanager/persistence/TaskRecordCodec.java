@@ -0,0 +1,152 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of a {@link Task}.
+ * Enums are stored as ordinals, timestamps as UTC epoch millis and strings
+ * as length-prefixed UTF-8 (length -1 for null). The task version, the due
+ * and reminder times with their flags, and the claim lease are appended in
+ * that order, so records written before those fields existed still decode,
+ * as version 1 without deadlines or a lease. Used by the write-ahead log
+ * and by snapshot files, which both hand {@link #decode} a buffer limited
+ * to one record.
+ */
+public final class TaskRecordCodec {
+
+    /**
+     * Largest record a reader should accept from an untrusted source. A valid
+     * task, with at most 600 characters of text, encodes to a few kilobytes.
+     */
+    public static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte NULL_ORDINAL = -1;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private static final int DEADLINE_BYTES = 2 * Long.BYTES + 1;
+
+    private static final byte OVERDUE = 0x01;
+
+    private static final byte REMINDED = 0x02;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private TaskRecordCodec() {
+    }
+
+    /**
+     * Encodes a task into a new byte array.
+     * @param task the task to encode
+     * @return the encoded bytes
+     */
+    public static byte[] encode(Task task) {
+        byte[] id = utf8(task.getId());
+        byte[] title = utf8(task.getTitle());
+        byte[] description = utf8(task.getDescription());
+        ByteBuffer buffer = ByteBuffer.allocate(
+                stringSize(id) + stringSize(title) + stringSize(description) + 2 + 4 * Long.BYTES + DEADLINE_BYTES);
+        putString(buffer, id);
+        putString(buffer, title);
+        putString(buffer, description);
+        buffer.put(task.getStatus() == null ? NULL_ORDINAL : (byte) task.getStatus().ordinal());
+        buffer.put(task.getPriority() == null ? NULL_ORDINAL : (byte) task.getPriority().ordinal());
+        buffer.putLong(toMillis(task.getCreatedAt()));
+        buffer.putLong(toMillis(task.getUpdatedAt()));
+        buffer.putLong(task.getVersion());
+        buffer.putLong(toMillis(task.getDueAt()));
+        buffer.putLong(toMillis(task.getRemindAt()));
+        buffer.put((byte) ((task.isOverdue() ? OVERDUE : 0) | (task.isReminded() ? REMINDED : 0)));
+        buffer.putLong(toMillis(task.getLeaseExpiresAt()));
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a task from the buffer's current position, advancing it.
+     * @param buffer the buffer to read from, limited to the end of the record
+     * @return the decoded task
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static Task decode(ByteBuffer buffer) {
+        String id = getString(buffer);
+        String title = getString(buffer);
+        String description = getString(buffer);
+        TaskStatus status = getEnum(STATUSES, buffer.get());
+        TaskPriority priority = getEnum(PRIORITIES, buffer.get());
+        LocalDateTime createdAt = fromMillis(buffer.getLong());
+        LocalDateTime updatedAt = fromMillis(buffer.getLong());
+        Task task = new Task(id, title, description, status, priority, createdAt, updatedAt);
+        task.setVersion(buffer.remaining() >= Long.BYTES ? buffer.getLong() : 1);
+        if (buffer.remaining() >= DEADLINE_BYTES) {
+            task.setDueAt(fromMillis(buffer.getLong()));
+            task.setRemindAt(fromMillis(buffer.getLong()));
+            byte flags = buffer.get();
+            task.setOverdue((flags & OVERDUE) != 0);
+            task.setReminded((flags & REMINDED) != 0);
+        }
+        if (buffer.remaining() >= Long.BYTES) {
+            task.setLeaseExpiresAt(fromMillis(buffer.getLong()));
+        }
+        return task;
+    }
+
+    static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <E> E getEnum(E[] values, byte ordinal) {
+        if (ordinal == NULL_ORDINAL) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Corrupt enum ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? NULL_TIME : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return millis == NULL_TIME ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
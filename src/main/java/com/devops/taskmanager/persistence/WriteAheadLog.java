@@ -0,0 +1,463 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead log with group commit and periodic snapshots.
+ *
+ * <p>Writers enqueue encoded records; a single writer thread drains whatever
+ * has accumulated, writes it with one {@link FileChannel#write} and one
+ * {@code force}, then completes every future in the batch. Snapshots roll
+ * the log to a new segment first, so older segments can be dropped once the
+ * snapshot is on disk. Replaying a record twice is harmless because every
+ * record carries the full state of one task.</p>
+ */
+public class WriteAheadLog implements TaskPersistence {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int SEGMENT_MAGIC = 0x54574C31;
+
+    private static final int SEGMENT_FORMAT_VERSION = 1;
+
+    private static final int SEGMENT_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final byte UPSERT = 1;
+
+    private static final byte DELETE = 2;
+
+    private static final byte ROLL = 3;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d+)\\.log");
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.snap");
+
+    private final Path directory;
+
+    private final int maxBatchSize;
+
+    private final Duration snapshotInterval;
+
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(1 << 16);
+
+    private FileChannel channel;
+
+    private volatile long segmentIndex;
+
+    private long committedSize;
+
+    private boolean torn;
+
+    private volatile boolean running;
+
+    private volatile long lastRecoveryMillis;
+
+    private Thread writer;
+
+    private ScheduledExecutorService snapshotter;
+
+    /**
+     * Constructor with log settings.
+     * @param directory directory holding log segments and snapshots
+     * @param maxBatchSize maximum records written per group commit
+     * @param snapshotInterval time between compacting snapshots
+     */
+    public WriteAheadLog(Path directory, int maxBatchSize, Duration snapshotInterval) {
+        this.directory = directory;
+        this.maxBatchSize = maxBatchSize;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public Map<String, Task> recover() {
+        long start = System.nanoTime();
+        Map<String, Task> state = new HashMap<>();
+        try {
+            Files.createDirectories(directory);
+            long snapshotIndex = latestIndex(SNAPSHOT_NAME);
+            if (snapshotIndex > 0) {
+                SnapshotFile.read(snapshotPath(snapshotIndex), task -> state.put(task.getId(), task));
+            }
+            long lastSegment = snapshotIndex;
+            for (long index : indexes(SEGMENT_NAME)) {
+                if (index >= snapshotIndex) {
+                    replaySegment(segmentPath(index), state);
+                    lastSegment = Math.max(lastSegment, index);
+                }
+            }
+            openSegment(lastSegment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover task store from " + directory, e);
+        }
+        lastRecoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.info("Recovered {} tasks from {} in {} ms", state.size(), directory, lastRecoveryMillis);
+        running = true;
+        writer = new Thread(this::writeLoop, "task-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return state;
+    }
+
+    @Override
+    public void start(Supplier<Stream<Task>> liveTasks) {
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = snapshotInterval.toMillis();
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(liveTasks);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Task snapshot failed, log segments kept", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Void> logUpsert(Task task) {
+        return enqueue(UPSERT, TaskRecordCodec.encode(task));
+    }
+
+    @Override
+    public CompletableFuture<Void> logDelete(String id) {
+        return enqueue(DELETE, id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a compacted snapshot of the live store and drops the log
+     * segments it covers. Skipped when nothing was logged since the last one.
+     * @param liveTasks supplies a per-task consistent view of the live store
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void snapshot(Supplier<Stream<Task>> liveTasks) throws IOException {
+        if (recordsSinceSnapshot.getAndSet(0) == 0) {
+            return;
+        }
+        enqueue(ROLL, null).join();
+        long covered = segmentIndex;
+        Path tmp = directory.resolve("snapshot.tmp");
+        long count;
+        try (Stream<Task> tasks = liveTasks.get()) {
+            count = SnapshotFile.write(tmp, tasks);
+        } catch (IOException | RuntimeException e) {
+            recordsSinceSnapshot.incrementAndGet();
+            throw e;
+        }
+        Files.move(tmp, snapshotPath(covered), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory();
+        for (long index : indexes(SEGMENT_NAME)) {
+            if (index < covered) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+        for (long index : indexes(SNAPSHOT_NAME)) {
+            if (index < covered) {
+                Files.deleteIfExists(snapshotPath(index));
+            }
+        }
+        LOG.debug("Wrote snapshot {} with {} tasks", covered, count);
+    }
+
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        running = false;
+        try {
+            if (writer != null) {
+                writer.join();
+            }
+            PendingRecord abandoned;
+            while ((abandoned = queue.poll()) != null) {
+                abandoned.done.completeExceptionally(new IllegalStateException("Write-ahead log closed"));
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOG.warn("Failed to close write-ahead log", e);
+        }
+    }
+
+    /**
+     * Gets how long the last recovery took.
+     * @return recovery time in milliseconds
+     */
+    public long getLastRecoveryMillis() {
+        return lastRecoveryMillis;
+    }
+
+    private CompletableFuture<Void> enqueue(byte type, byte[] body) {
+        if (!running) {
+            throw new IllegalStateException("Write-ahead log is not open");
+        }
+        PendingRecord record = new PendingRecord(type, body);
+        queue.add(record);
+        if (type != ROLL) {
+            recordsSinceSnapshot.incrementAndGet();
+        }
+        return record.done;
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingRecord> batch) {
+        int committed = 0;
+        try {
+            if (torn) {
+                cutTornTail();
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRecord record = batch.get(i);
+                if (record.type == ROLL) {
+                    commit(batch, committed, i);
+                    openSegment(segmentIndex + 1);
+                    record.done.complete(null);
+                    committed = i + 1;
+                } else {
+                    append(record);
+                }
+            }
+            commit(batch, committed, batch.size());
+        } catch (IOException | RuntimeException e) {
+            writeBuffer.clear();
+            torn = true;
+            try {
+                cutTornTail();
+            } catch (IOException | RuntimeException cutFailure) {
+                e.addSuppressed(cutFailure);
+                LOG.error("Failed to cut a partly written batch off {}; later writes will retry",
+                        segmentPath(segmentIndex), cutFailure);
+            }
+            for (int i = committed; i < batch.size(); i++) {
+                batch.get(i).done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Removes whatever a failed batch left behind the last committed record.
+     * Replay stops at the first bad record, so appending after a torn one
+     * would lose every later write on recovery. If the segment cannot be
+     * truncated, the log moves on to a fresh one instead.
+     */
+    private void cutTornTail() throws IOException {
+        if (channel != null) {
+            try {
+                channel.truncate(committedSize);
+                channel.position(committedSize);
+                channel.force(false);
+                torn = false;
+                return;
+            } catch (IOException e) {
+                LOG.warn("Failed to truncate {}, starting a new segment", segmentPath(segmentIndex), e);
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // The segment is abandoned; replay stops at its torn record
+                }
+                channel = null;
+            }
+        }
+        openSegment(latestIndex(SEGMENT_NAME) + 1);
+        torn = false;
+    }
+
+    private void append(PendingRecord record) {
+        int size = RECORD_HEADER_SIZE + 1 + record.body.length;
+        if (writeBuffer.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(writeBuffer.capacity() * 2,
+                    writeBuffer.position() + size));
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            writeBuffer = larger;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.type);
+        crc.update(record.body);
+        writeBuffer.putInt(1 + record.body.length)
+                .putInt((int) crc.getValue())
+                .put(record.type)
+                .put(record.body);
+    }
+
+    private void commit(List<PendingRecord> batch, int from, int to) throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+        if (from < to) {
+            channel.force(false);
+        }
+        committedSize = channel.position();
+        for (int i = from; i < to; i++) {
+            batch.get(i).done.complete(null);
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE)
+                .putInt(SEGMENT_MAGIC).putInt(SEGMENT_FORMAT_VERSION).flip();
+        channel.write(header);
+        channel.force(true);
+        forceDirectory();
+        segmentIndex = index;
+        committedSize = SEGMENT_HEADER_SIZE;
+    }
+
+    private void replaySegment(Path segment, Map<String, Task> state) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != SEGMENT_MAGIC
+                || buffer.getInt() != SEGMENT_FORMAT_VERSION) {
+            throw new IOException("Not a task log segment: " + segment);
+        }
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 1 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer body = buffer.slice().limit(length);
+            buffer.position(buffer.position() + length);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            applyRecord(body, state);
+        }
+        if (buffer.hasRemaining()) {
+            LOG.warn("Ignoring torn or corrupt tail of {} ({} bytes)", segment, buffer.remaining());
+        }
+    }
+
+    private static void applyRecord(ByteBuffer body, Map<String, Task> state) {
+        byte type = body.get();
+        if (type == UPSERT) {
+            Task task = TaskRecordCodec.decode(body);
+            state.put(task.getId(), task);
+        } else if (type == DELETE) {
+            byte[] id = new byte[body.remaining()];
+            body.get(id);
+            state.remove(new String(id, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the rename itself is still atomic
+            LOG.trace("Directory fsync not supported for {}", directory);
+        }
+    }
+
+    private long latestIndex(Pattern pattern) throws IOException {
+        List<Long> indexes = indexes(pattern);
+        return indexes.isEmpty() ? 0 : indexes.get(indexes.size() - 1);
+    }
+
+    private List<Long> indexes(Pattern pattern) throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    indexes.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("wal-%010d.log", index));
+    }
+
+    private Path snapshotPath(long index) {
+        return directory.resolve(String.format("snapshot-%010d.snap", index));
+    }
+
+    /**
+     * A record waiting for the next group commit.
+     */
+    private static final class PendingRecord {
+
+        private final byte type;
+
+        private final byte[] body;
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingRecord(byte type, byte[] body) {
+            this.type = type;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replicates task writes between replicas when
+ * {@code taskmanager.replication.enabled=true}; otherwise every replica
+ * keeps its own store.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.replication.enabled", havingValue = "true")
+public class ReplicationConfig {
+
+    /**
+     * The log of this replica's writes, fed by the task service.
+     * @param capacity number of writes retained for peers that reconnect
+     * @param maxTombstones number of the most recent deletes sent with full copies
+     * @return the replication log
+     */
+    @Bean
+    public ReplicationLog replicationLog(
+            @Value("${taskmanager.replication.log-capacity:65536}") int capacity,
+            @Value("${taskmanager.replication.max-tombstones:65536}") int maxTombstones) {
+        return new ReplicationLog(capacity, maxTombstones);
+    }
+
+    /**
+     * Streams this replica's writes to its peers and applies theirs.
+     * @param taskService the task service
+     * @param replicationLog the replication log
+     * @param port port to accept peer connections on
+     * @param peers peer addresses as {@code host:port}
+     * @param maxBatchSize maximum entries sent in one batch
+     * @param maxInFlight maximum unacknowledged batches per peer
+     * @param retryInterval time between peer lookups and reconnect attempts
+     * @return the replicator
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public TaskReplicator taskReplicator(
+            TaskService taskService, ReplicationLog replicationLog,
+            @Value("${taskmanager.replication.port:7070}") int port,
+            @Value("${taskmanager.replication.peers:}") String[] peers,
+            @Value("${taskmanager.replication.max-batch-size:512}") int maxBatchSize,
+            @Value("${taskmanager.replication.max-in-flight:8}") int maxInFlight,
+            @Value("${taskmanager.replication.retry-interval:2s}") Duration retryInterval) {
+        TaskReplicator replicator = new TaskReplicator(taskService, replicationLog, port,
+                maxBatchSize, maxInFlight, retryInterval);
+        for (String peer : peers) {
+            if (!peer.isBlank()) {
+                replicator.addPeer(peer.trim());
+            }
+        }
+        return replicator;
+    }
+
+    /**
+     * Publishes how far peers are behind and how much was applied here.
+     * @param replicator the replicator
+     * @param replicationLog the replication log
+     * @return meter binder for the replication metrics
+     */
+    @Bean
+    public MeterBinder replicationMetrics(TaskReplicator replicator, ReplicationLog replicationLog) {
+        return registry -> {
+            Gauge.builder("taskmanager.replication.sequence", replicationLog, ReplicationLog::getLatestSequence)
+                    .description("Sequence of the newest write logged on this replica")
+                    .register(registry);
+            Gauge.builder("taskmanager.replication.peers", replicator, TaskReplicator::getConnectedPeers)
+                    .description("Peers this replica is streaming its writes to")
+                    .register(registry);
+            Gauge.builder("taskmanager.replication.lag.entries", replicator, TaskReplicator::getLagEntries)
+                    .description("Writes the furthest-behind peer has yet to acknowledge")
+                    .register(registry);
+            TimeGauge.builder("taskmanager.replication.lag.time", replicator, TimeUnit.MILLISECONDS,
+                            TaskReplicator::getLagMillis)
+                    .description("Age of the oldest write a peer has yet to acknowledge")
+                    .register(registry);
+            FunctionCounter.builder("taskmanager.replication.applied", replicator,
+                            TaskReplicator::getAppliedEntries)
+                    .description("Writes from peers applied on this replica")
+                    .register(registry);
+            FunctionCounter.builder("taskmanager.replication.resyncs", replicator, TaskReplicator::getResyncs)
+                    .description("Full copies of the store sent to peers that were too far behind")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.model.Task;
+
+/**
+ * One local write in the replication log.
+ * @param sequence position in the log, starting at 1
+ * @param taskId the ID of the written task
+ * @param task the task after the write, or null if it was deleted
+ * @param version the version written, or the version deleted
+ * @param loggedAtNanos {@link System#nanoTime()} when the write was logged
+ */
+record ReplicationEntry(long sequence, String taskId, Task task, long version, long loggedAtNanos) {
+
+    boolean isDelete() {
+        return task == null;
+    }
+}
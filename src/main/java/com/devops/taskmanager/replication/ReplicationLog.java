@@ -0,0 +1,287 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.service.TaskMutationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ordered, bounded log of the writes made on this replica.
+ *
+ * <p>Works like the change feed: entries go into a fixed-size ring indexed
+ * by sequence number, so logging a write never waits for peers. Writes
+ * applied on behalf of another replica are left out, since every replica
+ * ships its own writes to every peer. A peer that falls more than a full
+ * ring behind is caught up with a copy of the whole store instead. So that
+ * copies carry deletes too, and a copy from a peer that missed a delete does
+ * not bring the task back, the log remembers the ID and version of the last
+ * {@code maxTombstones} tasks deleted here, locally or on behalf of a peer,
+ * at about 100 bytes per delete. A delete older than that is forgotten: a
+ * peer that was apart since before it may keep the task, or hand it back.</p>
+ *
+ * <p>Each process logs under a fresh ID, so peers never mistake the
+ * sequence numbers of a restarted replica for ones they already applied.</p>
+ */
+public class ReplicationLog implements TaskMutationListener {
+
+    private final String logId = UUID.randomUUID().toString();
+
+    private final AtomicReferenceArray<ReplicationEntry> ring;
+
+    /**
+     * Per slot, the newest sequence whose write is visible in the store.
+     */
+    private final AtomicLongArray published;
+
+    private final int mask;
+
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    private final ThreadLocal<Boolean> applyingRemote = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadLocal<long[]> unpublished = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Long> tombstones = new ConcurrentHashMap<>();
+
+    /**
+     * Deletes in the order they were seen, oldest first, for forgetting them.
+     * May hold deletes whose task was written again since.
+     */
+    private final Queue<Tombstone> deletes = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger deleteCount = new AtomicInteger();
+
+    private final int maxTombstones;
+
+    /**
+     * Creates the log, remembering as many deletes as it retains entries.
+     * @param capacity number of entries retained; rounded up to a power of two
+     */
+    public ReplicationLog(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     * Creates the log.
+     * @param capacity number of entries retained; rounded up to a power of two
+     * @param maxTombstones number of the most recent deletes remembered for copies
+     */
+    public ReplicationLog(int capacity, int maxTombstones) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Replication log capacity must be between 1 and 2^30");
+        }
+        if (maxTombstones < 0) {
+            throw new IllegalArgumentException("Tombstone limit must not be negative");
+        }
+        this.maxTombstones = maxTombstones;
+        int size = Integer.highestOneBit(capacity);
+        size = size == capacity ? size : size << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Logs a local write. Called by the task service inside its write, so
+     * entries for one task appear in the order the writes were applied.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        String taskId = current == null ? previous.getId() : current.getId();
+        long version = current == null ? previous.getVersion() : current.getVersion();
+        if (current == null) {
+            remember(taskId, version);
+        } else {
+            tombstones.remove(taskId);
+        }
+        if (applyingRemote.get()) {
+            return;
+        }
+        long sequence = nextSequence.getAndIncrement();
+        ring.set(slot(sequence), new ReplicationEntry(sequence, taskId, current, version, System.nanoTime()));
+        unpublished.get()[0] = sequence;
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Marks the write logged on this thread as visible in the store.
+     */
+    @Override
+    public void afterTaskChanged(Task previous, Task current) {
+        long[] pending = unpublished.get();
+        long sequence = pending[0];
+        if (sequence != 0) {
+            pending[0] = 0;
+            published.accumulateAndGet(slot(sequence), sequence, Math::max);
+        }
+    }
+
+    /**
+     * Gets the ID this process logs under.
+     * @return the log ID
+     */
+    public String getLogId() {
+        return logId;
+    }
+
+    /**
+     * Gets the sequence of the newest logged write.
+     * @return the latest sequence, or 0 if nothing was logged yet
+     */
+    public long getLatestSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * Gets the oldest sequence still held in the ring.
+     * @return the oldest sequence that can still be read
+     */
+    public long getOldestSequence() {
+        return Math.max(1, nextSequence.get() - ring.length());
+    }
+
+    /**
+     * Runs writes on behalf of another replica without logging them.
+     * @param apply the writes to run on the calling thread
+     */
+    void applyRemote(Runnable apply) {
+        applyingRemote.set(true);
+        try {
+            apply.run();
+        } finally {
+            applyingRemote.set(false);
+        }
+    }
+
+    /**
+     * Gets the tasks deleted here, for copies of the store sent to peers that
+     * may have missed the deletes.
+     * @return live view of task ID to deleted version
+     */
+    Map<String, Long> tombstones() {
+        return tombstones;
+    }
+
+    /**
+     * Records a delete, then forgets the oldest ones beyond the limit. A
+     * forgotten delete only drops its tombstone if no later delete of the
+     * same task replaced it.
+     */
+    private void remember(String taskId, long version) {
+        if (maxTombstones == 0) {
+            return;
+        }
+        tombstones.merge(taskId, version, Math::max);
+        deletes.add(new Tombstone(taskId, version));
+        if (deleteCount.incrementAndGet() > maxTombstones) {
+            Tombstone oldest = deletes.poll();
+            if (oldest != null) {
+                deleteCount.decrementAndGet();
+                tombstones.remove(oldest.taskId(), oldest.version());
+            }
+        }
+    }
+
+    /**
+     * Tells whether a copy of a task is older than a delete seen here.
+     * @param taskId the task ID
+     * @param version the version of the copy
+     * @return true if the task was deleted here at that version or later
+     */
+    boolean isDeleted(String taskId, long version) {
+        Long deleted = tombstones.get(taskId);
+        return deleted != null && deleted >= version;
+    }
+
+    /**
+     * Reads logged writes starting at the given sequence.
+     * Stops early at an entry that is not fully logged yet, or at one that
+     * has already been overwritten.
+     * @param fromSequence the first sequence to read
+     * @param max maximum number of entries to return
+     * @return the entries, in sequence order
+     */
+    List<ReplicationEntry> read(long fromSequence, int max) {
+        List<ReplicationEntry> entries = new ArrayList<>(Math.min(max, 1024));
+        long end = nextSequence.get();
+        for (long sequence = Math.max(1, fromSequence); sequence < end && entries.size() < max; sequence++) {
+            ReplicationEntry entry = ring.get(slot(sequence));
+            if (entry == null || entry.sequence() != sequence) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the logged entry at a sequence if the ring still holds it.
+     * @param sequence the sequence
+     * @return the entry, or null
+     */
+    ReplicationEntry get(long sequence) {
+        ReplicationEntry entry = ring.get(slot(sequence));
+        return entry != null && entry.sequence() == sequence ? entry : null;
+    }
+
+    /**
+     * Waits until a write at or after the given sequence is logged, or the timeout passes.
+     * @param sequence the sequence to wait for
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     */
+    void awaitSequence(long sequence, long timeout, TimeUnit unit) {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            if (nextSequence.get() <= sequence) {
+                LockSupport.parkNanos(this, unit.toNanos(timeout));
+            }
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    /**
+     * Waits until every write logged up to the given sequence is visible in
+     * the store, so a scan of the store started afterwards holds them all.
+     * Sequences logged first may still be in flight after they were handed
+     * out, and creates in flight are not seen by a scan.
+     * @param sequence the last sequence to wait for
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitPublished(long sequence) throws InterruptedException {
+        for (long next = getOldestSequence(); next <= sequence; next++) {
+            while (published.get(slot(next)) < next) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private record Tombstone(String taskId, long version) {
+    }
+}
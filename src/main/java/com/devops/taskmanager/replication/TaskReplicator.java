@@ -0,0 +1,597 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.TaskRecordCodec;
+import com.devops.taskmanager.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Ships the writes of this replica to its peers and applies theirs.
+ *
+ * <p>Every replica connects to every peer over plain TCP and streams its own
+ * {@link ReplicationLog} from the first sequence the peer has not applied.
+ * Entries are sent in batches of whatever has accumulated, and up to
+ * {@code maxInFlight} batches are sent before the first is acknowledged, so
+ * a slow round trip does not limit throughput. The receiving side applies
+ * each batch through {@link TaskService}, waits until it is durable, then
+ * acknowledges the last sequence it applied. Applying is idempotent: the
+ * receiver skips sequences it already applied, and the task service keeps
+ * the newer of two copies of a task, so concurrent writes to one task on two
+ * replicas end with the same winner everywhere. Reads never leave the
+ * replica.</p>
+ *
+ * <p>A peer that has never seen this log, or fell behind the oldest
+ * retained entry, is first sent a copy of every stored task, followed by a
+ * delete for each of the most recent tasks deleted on this replica, so the
+ * peer also drops tasks whose delete it missed. For the same reason a
+ * replicated copy of a task is ignored if the task was deleted here at that
+ * version or later, so a peer that missed a delete cannot bring the task
+ * back.</p>
+ *
+ * <p>Peer host names are resolved again every {@code retryInterval}, and
+ * every address they resolve to is a peer, so one headless Kubernetes
+ * service name covers all pods. A replica recognises its own address, and
+ * a second address of a peer it already streams to, from the log ID the
+ * other side sends back.</p>
+ */
+public class TaskReplicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskReplicator.class);
+
+    private static final int MAGIC = 0x54525031;
+
+    private static final int PROTOCOL_VERSION = 1;
+
+    private static final byte BATCH = 1;
+
+    private static final byte CAUGHT_UP = 2;
+
+    private static final byte UPSERT = 1;
+
+    private static final byte DELETE = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final TaskService taskService;
+
+    private final ReplicationLog log;
+
+    private final int port;
+
+    private final int maxBatchSize;
+
+    private final int maxInFlight;
+
+    private final Duration retryInterval;
+
+    private final List<String> peerAddresses = new CopyOnWriteArrayList<>();
+
+    private final Map<InetSocketAddress, PeerLink> links = new ConcurrentHashMap<>();
+
+    private final Set<String> streamingTo = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Long> appliedSequences = new ConcurrentHashMap<>();
+
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong appliedEntries = new AtomicLong();
+
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private volatile boolean running;
+
+    private ServerSocket server;
+
+    private ScheduledExecutorService discovery;
+
+    /**
+     * Constructor with replication settings.
+     * @param taskService the service replicated writes are applied to
+     * @param log the log of this replica's own writes
+     * @param port port to accept peer connections on; 0 picks a free one
+     * @param maxBatchSize maximum entries sent in one batch
+     * @param maxInFlight maximum batches sent to a peer before one is acknowledged
+     * @param retryInterval time between peer lookups and between reconnect attempts
+     */
+    public TaskReplicator(TaskService taskService, ReplicationLog log, int port,
+                          int maxBatchSize, int maxInFlight, Duration retryInterval) {
+        if (maxBatchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and in-flight batches must be positive");
+        }
+        this.taskService = taskService;
+        this.log = log;
+        this.port = port;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Starts accepting peer connections and connecting to the known peers.
+     */
+    public void start() {
+        try {
+            server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to listen for replication peers on port " + port, e);
+        }
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "task-replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        discovery = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-replication-discovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        discovery.scheduleWithFixedDelay(this::discoverPeers, 0, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+        LOG.info("Replicating as {} on port {}", log.getLogId(), getPort());
+    }
+
+    /**
+     * Adds a peer to replicate with.
+     * @param address the peer as {@code host:port}; every address the host resolves to is a peer
+     */
+    public void addPeer(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon < 1 || colon == address.length() - 1) {
+            throw new IllegalArgumentException("Peer address must be host:port: " + address);
+        }
+        Integer.parseInt(address.substring(colon + 1));
+        peerAddresses.add(address);
+        if (running) {
+            discovery.execute(this::discoverPeers);
+        }
+    }
+
+    /**
+     * Stops replicating and closes every connection.
+     */
+    public void close() {
+        running = false;
+        if (discovery != null) {
+            discovery.shutdownNow();
+        }
+        links.values().forEach(PeerLink::cancel);
+        inbound.forEach(TaskReplicator::closeQuietly);
+        closeQuietly(server);
+    }
+
+    /**
+     * Gets the port peer connections are accepted on.
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Gets the number of peers this replica is currently streaming to.
+     * @return the connected peer count
+     */
+    public int getConnectedPeers() {
+        return streamingTo.size();
+    }
+
+    /**
+     * Gets how many local writes the furthest-behind peer has yet to acknowledge.
+     * @return the largest lag in entries, or 0 without peers
+     */
+    public long getLagEntries() {
+        long latest = log.getLatestSequence();
+        long lag = 0;
+        for (PeerLink link : links.values()) {
+            if (link.acknowledged >= 0) {
+                lag = Math.max(lag, latest - link.acknowledged);
+            }
+        }
+        return lag;
+    }
+
+    /**
+     * Gets the age of the oldest local write a peer has yet to acknowledge.
+     * @return the largest lag in milliseconds, or 0 without peers
+     */
+    public double getLagMillis() {
+        long oldest = Long.MAX_VALUE;
+        for (PeerLink link : links.values()) {
+            if (link.acknowledged >= 0 && link.acknowledged < log.getLatestSequence()) {
+                ReplicationEntry entry = log.get(Math.max(link.acknowledged + 1, log.getOldestSequence()));
+                if (entry != null) {
+                    oldest = Math.min(oldest, entry.loggedAtNanos());
+                }
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : (System.nanoTime() - oldest) / 1e6;
+    }
+
+    /**
+     * Gets the number of entries from peers applied here, including full copies.
+     * @return the applied entry count
+     */
+    public long getAppliedEntries() {
+        return appliedEntries.get();
+    }
+
+    /**
+     * Gets the number of full copies sent to peers that were too far behind.
+     * @return the resync count
+     */
+    public long getResyncs() {
+        return resyncs.get();
+    }
+
+    private void discoverPeers() {
+        Set<InetSocketAddress> resolved = new HashSet<>();
+        for (String address : peerAddresses) {
+            int colon = address.lastIndexOf(':');
+            int peerPort = Integer.parseInt(address.substring(colon + 1));
+            try {
+                for (InetAddress host : InetAddress.getAllByName(address.substring(0, colon))) {
+                    resolved.add(new InetSocketAddress(host, peerPort));
+                }
+            } catch (UnknownHostException e) {
+                LOG.debug("Replication peer {} does not resolve yet", address);
+            }
+        }
+        for (InetSocketAddress address : resolved) {
+            links.computeIfAbsent(address, PeerLink::new);
+        }
+        links.values().removeIf(link -> {
+            if (!resolved.contains(link.address)) {
+                link.cancel();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                inbound.add(socket);
+                Thread receiver = new Thread(() -> receive(socket), "task-replication-in-" + socket.getPort());
+                receiver.setDaemon(true);
+                receiver.start();
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("Failed to accept a replication peer", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the batches a peer streams to this replica, acknowledging each
+     * once it is durable.
+     */
+    private void receive(Socket socket) {
+        String origin = null;
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (in.readInt() != MAGIC || in.readInt() != PROTOCOL_VERSION) {
+                throw new IOException("Not a replication peer: " + socket.getRemoteSocketAddress());
+            }
+            origin = in.readUTF();
+            long applied = appliedSequences.getOrDefault(origin, 0L);
+            out.writeUTF(log.getLogId());
+            out.writeLong(applied);
+            out.flush();
+            while (running) {
+                byte kind = in.readByte();
+                if (kind == CAUGHT_UP) {
+                    applied = Math.max(applied, in.readLong());
+                } else if (kind == BATCH) {
+                    applied = apply(readBatch(in), applied);
+                } else {
+                    throw new IOException("Unknown replication frame " + kind);
+                }
+                appliedSequences.put(origin, applied);
+                out.writeLong(applied);
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (running) {
+                Object from = origin == null ? socket.getRemoteSocketAddress() : origin;
+                LOG.debug("Replication stream from {} ended", from, e);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to apply replicated writes from {}", origin, e);
+        } finally {
+            inbound.remove(socket);
+        }
+    }
+
+    /**
+     * Applies the entries of one batch that were not applied yet.
+     * @return the last applied sequence after the batch
+     */
+    private long apply(List<ReplicationEntry> entries, long applied) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(entries.size());
+        log.applyRemote(() -> {
+            for (ReplicationEntry entry : entries) {
+                if (entry.sequence() != 0 && entry.sequence() <= applied
+                        || !entry.isDelete() && log.isDeleted(entry.taskId(), entry.version())) {
+                    continue;
+                }
+                durable.add(entry.isDelete()
+                        ? taskService.applyReplicatedDelete(entry.taskId(), entry.version())
+                        : taskService.applyReplicatedUpsert(entry.task()));
+            }
+        });
+        durable.forEach(CompletableFuture::join);
+        appliedEntries.addAndGet(durable.size());
+        long last = applied;
+        for (ReplicationEntry entry : entries) {
+            last = Math.max(last, entry.sequence());
+        }
+        return last;
+    }
+
+    private static void writeBatch(DataOutputStream out, List<ReplicationEntry> entries) throws IOException {
+        out.writeByte(BATCH);
+        out.writeInt(entries.size());
+        for (ReplicationEntry entry : entries) {
+            out.writeByte(entry.isDelete() ? DELETE : UPSERT);
+            out.writeLong(entry.sequence());
+            if (entry.isDelete()) {
+                out.writeLong(entry.version());
+                out.writeUTF(entry.taskId());
+            } else {
+                byte[] body = TaskRecordCodec.encode(entry.task());
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        }
+        out.flush();
+    }
+
+    private static List<ReplicationEntry> readBatch(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt replication batch size: " + count);
+        }
+        List<ReplicationEntry> entries = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            byte type = in.readByte();
+            long sequence = in.readLong();
+            if (type == DELETE) {
+                long version = in.readLong();
+                entries.add(new ReplicationEntry(sequence, in.readUTF(), null, version, 0));
+            } else if (type == UPSERT) {
+                int length = in.readInt();
+                if (length < 0 || length > TaskRecordCodec.MAX_RECORD_SIZE) {
+                    throw new IOException("Corrupt replicated record length: " + length);
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                Task task = TaskRecordCodec.decode(ByteBuffer.wrap(body));
+                entries.add(new ReplicationEntry(sequence, task.getId(), task, task.getVersion(), 0));
+            } else {
+                throw new IOException("Unknown replication entry type " + type);
+            }
+        }
+        return entries;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            LOG.trace("Ignoring close failure", e);
+        }
+    }
+
+    /**
+     * The outgoing stream to one peer address, reconnecting until cancelled.
+     */
+    private final class PeerLink {
+
+        private final InetSocketAddress address;
+
+        private final Thread sender;
+
+        private volatile boolean cancelled;
+
+        private volatile Socket socket;
+
+        /**
+         * Last sequence the peer acknowledged, or -1 before it first answered.
+         */
+        private volatile long acknowledged = -1;
+
+        private PeerLink(InetSocketAddress address) {
+            this.address = address;
+            this.sender = new Thread(this::run, "task-replication-out-" + address);
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            closeQuietly(socket);
+            sender.interrupt();
+        }
+
+        private void run() {
+            while (running && !cancelled) {
+                try (Socket connection = new Socket()) {
+                    socket = connection;
+                    connection.connect(address, (int) retryInterval.toMillis());
+                    connection.setTcpNoDelay(true);
+                    if (!stream(connection)) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    if (running && !cancelled) {
+                        LOG.debug("Replication stream to {} failed, retrying", address, e);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    Thread.sleep(retryInterval.toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Streams the log to the peer until the connection fails.
+         * @return false if the address turned out to be this replica, which is never retried
+         */
+        private boolean stream(Socket connection) throws IOException, InterruptedException {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream(),
+                    BUFFER_SIZE));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+            out.writeInt(MAGIC);
+            out.writeInt(PROTOCOL_VERSION);
+            out.writeUTF(log.getLogId());
+            out.flush();
+            String peerLogId = in.readUTF();
+            long applied = in.readLong();
+            if (peerLogId.equals(log.getLogId())) {
+                LOG.debug("Replication peer {} is this replica", address);
+                return false;
+            }
+            if (!streamingTo.add(peerLogId)) {
+                return true;
+            }
+            try {
+                acknowledged = applied;
+                Semaphore window = new Semaphore(maxInFlight);
+                Thread acks = new Thread(() -> readAcks(in, window), "task-replication-acks-" + address);
+                acks.setDaemon(true);
+                acks.start();
+                long next = applied + 1;
+                if (applied == 0 || next < log.getOldestSequence()) {
+                    next = sendCopy(out, window, acks) + 1;
+                }
+                while (running && !cancelled) {
+                    List<ReplicationEntry> entries = log.read(next, maxBatchSize);
+                    if (entries.isEmpty()) {
+                        if (next < log.getOldestSequence()) {
+                            throw new IOException("Peer " + address + " fell behind the replication log");
+                        }
+                        log.awaitSequence(next, POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        continue;
+                    }
+                    acquire(window, acks);
+                    writeBatch(out, entries);
+                    next = entries.get(entries.size() - 1).sequence() + 1;
+                }
+                return true;
+            } finally {
+                streamingTo.remove(peerLogId);
+            }
+        }
+
+        /**
+         * Sends every stored task and the tasks recently deleted here, then
+         * the sequence the copy covers. The store is only read once every
+         * write up to that sequence is visible in it, creates included, and
+         * each task is read after any write in flight on it, so the copy
+         * holds every write up to that sequence; writes logged while it is
+         * read may be sent twice. Deletes go last, so a task deleted while
+         * the copy is read is deleted on the peer as well.
+         * @return the last sequence covered by the copy
+         */
+        private long sendCopy(DataOutputStream out, Semaphore window, Thread acks)
+                throws IOException, InterruptedException {
+            long through = log.getLatestSequence();
+            resyncs.incrementAndGet();
+            log.awaitPublished(through);
+            List<ReplicationEntry> batch = new ArrayList<>(maxBatchSize);
+            try (Stream<Task> tasks = taskService.snapshotView()) {
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+                    batch.add(new ReplicationEntry(0, task.getId(), task, task.getVersion(), 0));
+                    if (batch.size() == maxBatchSize) {
+                        sendCopyBatch(out, window, acks, batch);
+                    }
+                }
+            }
+            for (Map.Entry<String, Long> tombstone : log.tombstones().entrySet()) {
+                batch.add(new ReplicationEntry(0, tombstone.getKey(), null, tombstone.getValue(), 0));
+                if (batch.size() == maxBatchSize) {
+                    sendCopyBatch(out, window, acks, batch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sendCopyBatch(out, window, acks, batch);
+            }
+            acquire(window, acks);
+            out.writeByte(CAUGHT_UP);
+            out.writeLong(through);
+            out.flush();
+            return through;
+        }
+
+        private void sendCopyBatch(DataOutputStream out, Semaphore window, Thread acks, List<ReplicationEntry> batch)
+                throws IOException, InterruptedException {
+            acquire(window, acks);
+            writeBatch(out, batch);
+            batch.clear();
+        }
+
+        private void acquire(Semaphore window, Thread acks) throws IOException, InterruptedException {
+            while (!window.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!acks.isAlive() || cancelled || !running) {
+                    throw new IOException("Peer " + address + " stopped acknowledging");
+                }
+            }
+        }
+
+        private void readAcks(DataInputStream in, Semaphore window) {
+            try {
+                while (true) {
+                    acknowledged = in.readLong();
+                    window.release();
+                }
+            } catch (IOException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+}
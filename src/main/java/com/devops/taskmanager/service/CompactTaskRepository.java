@@ -0,0 +1,19 @@
+package com.devops.taskmanager.service;
+
+/**
+ * Task store that keeps tasks as packed primitives on the heap.
+ *
+ * <p>A stored task costs a few array slots rather than a task, two
+ * date-times, an ID string and a map entry. Tasks whose ID is not a
+ * canonical lowercase UUID are still accepted and kept as objects.</p>
+ */
+public class CompactTaskRepository extends PackedTaskRepository {
+
+    /**
+     * Creates the repository.
+     * @param shards number of shards, rounded up to a power of two; 0 or less picks twice the processor count
+     */
+    public CompactTaskRepository(int shards) {
+        super(shards, CompactTaskTable::new);
+    }
+}
@@ -0,0 +1,428 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * One shard of {@link CompactTaskRepository}: an open-addressing hash table
+ * stored in primitive arrays, one slot per task.
+ *
+ * <p>A slot keeps the ID as two longs, both timestamps as nanoseconds since
+ * the epoch (UTC), the version in one long with the status and priority
+ * packed into its low byte, and the title and description together in one
+ * Latin-1 byte array when every character fits. Tasks that cannot be packed
+ * without loss, such as those with a non-UUID ID, a missing field or a
+ * far-off date, are kept as objects in a side map. Writers take the write
+ * lock; readers read optimistically and only take the read lock if a write
+ * overlapped.</p>
+ */
+final class CompactTaskTable implements TaskTable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int SCAN_BLOCK = 256;
+
+    private static final int FREE = 0;
+
+    private static final int DELETED = 1;
+
+    /** Set in the meta word of live slots, below the version, status and priority from {@link TaskPacking}. */
+    private static final int LIVE = 0x80;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final Map<String, Task> unpacked = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+
+    private final LongAdder writes = new LongAdder();
+
+    private volatile Slots slots = new Slots(MIN_CAPACITY);
+
+    /** Live slots; written under the write lock. */
+    private volatile int size;
+
+    /** Live and deleted slots; guarded by the write lock. */
+    private int used;
+
+    /**
+     * Looks up a task. The slot is copied under an optimistic read and only
+     * decoded once the read is known not to have overlapped a write.
+     * @param id the task ID
+     * @param key the packed ID, or null if the ID is not a UUID
+     * @return a new task view, or null if there is none
+     */
+    @Override
+    public Task get(String id, long[] key) {
+        reads.increment();
+        if (key == null) {
+            return unpacked.get(id);
+        }
+        long stamp = lock.tryOptimisticRead();
+        Slots current = slots;
+        int slot = current.indexOf(key[0], key[1]);
+        if (slot < 0) {
+            Task task = unpacked.get(id);
+            if (lock.validate(stamp)) {
+                return task;
+            }
+        } else {
+            int base = slot * Slots.RECORD;
+            long createdAt = current.records[base + Slots.CREATED_AT];
+            long updatedAt = current.records[base + Slots.UPDATED_AT];
+            long meta = current.records[base + Slots.META];
+            Object text = current.texts[slot];
+            if (lock.validate(stamp)) {
+                return task(id, text, meta, createdAt, updatedAt);
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            current = slots;
+            slot = current.indexOf(key[0], key[1]);
+            return slot >= 0 ? current.task(slot, id) : unpacked.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Task compute(String id, long[] key, BiFunction<String, Task, Task> remapping, boolean onlyIfPresent) {
+        writes.increment();
+        long stamp = lock.writeLock();
+        try {
+            Slots current = slots;
+            int slot = key == null ? -1 : current.indexOf(key[0], key[1]);
+            Task existing = slot >= 0 ? current.task(slot, id) : unpacked.get(id);
+            if (existing == null && onlyIfPresent) {
+                return null;
+            }
+            Task result = remapping.apply(id, existing);
+            if (result == existing) {
+                return existing;
+            }
+            if (result != null && key != null && TaskPacking.packable(result)) {
+                unpacked.remove(id);
+                put(key, result);
+            } else {
+                if (result == null) {
+                    unpacked.remove(id);
+                } else {
+                    unpacked.put(id, result);
+                }
+                if (slot >= 0) {
+                    remove(slot);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds the tasks passing the filter, or every task for a null filter.
+     * Slots are read in blocks under the read lock, so writers only ever
+     * wait for one block. A table replaced by a resize is no longer written,
+     * so the scan finishes on the table it started with.
+     */
+    @Override
+    public void collect(Predicate<Task> filter, List<Task> into) {
+        Slots scanned = slots;
+        for (int start = 0; start < scanned.capacity(); start += SCAN_BLOCK) {
+            long stamp = lock.readLock();
+            try {
+                int end = Math.min(start + SCAN_BLOCK, scanned.capacity());
+                for (int slot = start; slot < end; slot++) {
+                    if (scanned.live(slot)) {
+                        Task task = scanned.task(slot, null);
+                        if (filter == null || filter.test(task)) {
+                            into.add(task);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        for (Task task : unpacked.values()) {
+            if (filter == null || filter.test(task)) {
+                into.add(task);
+            }
+        }
+    }
+
+    /**
+     * Lists the IDs of all tasks, reading the slots in blocks like {@link #collect}.
+     * @return the task IDs
+     */
+    @Override
+    public List<String> ids() {
+        Slots scanned = slots;
+        List<String> ids = new ArrayList<>(size + unpacked.size());
+        for (int start = 0; start < scanned.capacity(); start += SCAN_BLOCK) {
+            long stamp = lock.readLock();
+            try {
+                int end = Math.min(start + SCAN_BLOCK, scanned.capacity());
+                for (int slot = start; slot < end; slot++) {
+                    if (scanned.live(slot)) {
+                        ids.add(scanned.id(slot));
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        ids.addAll(unpacked.keySet());
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        return size + unpacked.size();
+    }
+
+    @Override
+    public long reads() {
+        return reads.sum();
+    }
+
+    @Override
+    public long writes() {
+        return writes.sum();
+    }
+
+    private void put(long[] key, Task task) {
+        Slots current = slots;
+        int slot = current.indexOf(key[0], key[1]);
+        if (slot < 0) {
+            if (used + 1 > current.capacity() - (current.capacity() >> 2)) {
+                current = resize(size + 1);
+            }
+            slot = current.insertionPoint(key[0], key[1]);
+            if (current.flags(slot) == FREE) {
+                used++;
+            }
+            size++;
+        }
+        current.write(slot, key, task);
+    }
+
+    private void remove(int slot) {
+        Slots current = slots;
+        current.delete(slot);
+        size--;
+        if (current.capacity() > MIN_CAPACITY && size < current.capacity() >> 3) {
+            resize(size);
+        }
+    }
+
+    /**
+     * Rehashes the live slots into a table at most half full, dropping deleted slots.
+     */
+    private Slots resize(int liveSlots) {
+        Slots old = slots;
+        int capacity = MIN_CAPACITY;
+        while (capacity < liveSlots * 2) {
+            capacity <<= 1;
+        }
+        Slots resized = new Slots(capacity);
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            if (old.live(slot)) {
+                int base = slot * Slots.RECORD;
+                resized.copy(resized.insertionPoint(old.records[base + Slots.ID_HI], old.records[base + Slots.ID_LO]),
+                        old, slot);
+            }
+        }
+        used = size;
+        slots = resized;
+        return resized;
+    }
+
+    private static Task task(String id, Object text, long meta, long createdAt, long updatedAt) {
+        String title;
+        String description;
+        if (text instanceof byte[] bytes) {
+            int titleLength = readLength(bytes, 0);
+            int descriptionLength = readLength(bytes, 4);
+            title = titleLength < 0 ? null : new String(bytes, 8, titleLength, StandardCharsets.ISO_8859_1);
+            description = descriptionLength < 0 ? null
+                    : new String(bytes, 8 + Math.max(titleLength, 0), descriptionLength, StandardCharsets.ISO_8859_1);
+        } else {
+            String[] strings = (String[]) text;
+            title = strings[0];
+            description = strings[1];
+        }
+        Task task = new Task(id, title, description, TaskPacking.status(meta), TaskPacking.priority(meta),
+                TaskPacking.fromNanos(createdAt), TaskPacking.fromNanos(updatedAt));
+        task.setVersion(TaskPacking.version(meta));
+        return task;
+    }
+
+    /**
+     * Packs the title and description into one array: both lengths (-1 for
+     * null), then the Latin-1 bytes of each. Text with characters outside
+     * Latin-1 is kept as a pair of strings instead.
+     */
+    private static Object packText(String title, String description) {
+        if (!latin1(title) || !latin1(description)) {
+            return new String[] {title, description};
+        }
+        int titleLength = title == null ? -1 : title.length();
+        int descriptionLength = description == null ? -1 : description.length();
+        byte[] bytes = new byte[8 + Math.max(titleLength, 0) + Math.max(descriptionLength, 0)];
+        writeLength(bytes, 0, titleLength);
+        writeLength(bytes, 4, descriptionLength);
+        if (title != null) {
+            System.arraycopy(title.getBytes(StandardCharsets.ISO_8859_1), 0, bytes, 8, titleLength);
+        }
+        if (description != null) {
+            System.arraycopy(description.getBytes(StandardCharsets.ISO_8859_1), 0,
+                    bytes, 8 + Math.max(titleLength, 0), descriptionLength);
+        }
+        return bytes;
+    }
+
+    private static boolean latin1(String text) {
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void writeLength(byte[] bytes, int offset, int length) {
+        bytes[offset] = (byte) (length >>> 24);
+        bytes[offset + 1] = (byte) (length >>> 16);
+        bytes[offset + 2] = (byte) (length >>> 8);
+        bytes[offset + 3] = (byte) length;
+    }
+
+    private static int readLength(byte[] bytes, int offset) {
+        return bytes[offset] << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+    }
+
+    /**
+     * The slot arrays of one table size. Each slot is a record of
+     * {@value #RECORD} consecutive longs plus one text entry, so a lookup
+     * touches a couple of cache lines rather than one per field.
+     */
+    private static final class Slots {
+
+        private static final int RECORD = 5;
+
+        private static final int ID_HI = 0;
+
+        private static final int ID_LO = 1;
+
+        private static final int CREATED_AT = 2;
+
+        private static final int UPDATED_AT = 3;
+
+        /** The version shifted left by eight bits, over the slot flags. */
+        private static final int META = 4;
+
+        private final long[] records;
+
+        private final Object[] texts;
+
+        private final int mask;
+
+        private Slots(int capacity) {
+            records = new long[capacity * RECORD];
+            texts = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        private int flags(int slot) {
+            return (int) records[slot * RECORD + META] & 0xFF;
+        }
+
+        private boolean live(int slot) {
+            return (flags(slot) & LIVE) != 0;
+        }
+
+        /**
+         * Finds the live slot holding a key. Bounded by the capacity, so an
+         * optimistic reader racing a writer still terminates.
+         * @return the slot, or -1 if the key is absent
+         */
+        private int indexOf(long hi, long lo) {
+            int slot = TaskPacking.hash(hi, lo) & mask;
+            for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+                int base = slot * RECORD;
+                int flag = (int) records[base + META] & 0xFF;
+                if (flag == FREE) {
+                    return -1;
+                }
+                if ((flag & LIVE) != 0 && records[base + ID_HI] == hi && records[base + ID_LO] == lo) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the first free or deleted slot for a key known to be absent.
+         */
+        private int insertionPoint(long hi, long lo) {
+            int slot = TaskPacking.hash(hi, lo) & mask;
+            while (live(slot)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void write(int slot, long[] key, Task task) {
+            int base = slot * RECORD;
+            records[base + ID_HI] = key[0];
+            records[base + ID_LO] = key[1];
+            records[base + CREATED_AT] = TaskPacking.toNanos(task.getCreatedAt());
+            records[base + UPDATED_AT] = TaskPacking.toNanos(task.getUpdatedAt());
+            records[base + META] = TaskPacking.meta(task, LIVE);
+            texts[slot] = packText(task.getTitle(), task.getDescription());
+        }
+
+        private void delete(int slot) {
+            records[slot * RECORD + META] = DELETED;
+            texts[slot] = null;
+        }
+
+        private void copy(int slot, Slots from, int fromSlot) {
+            System.arraycopy(from.records, fromSlot * RECORD, records, slot * RECORD, RECORD);
+            texts[slot] = from.texts[fromSlot];
+        }
+
+        private String id(int slot) {
+            return new UUID(records[slot * RECORD + ID_HI], records[slot * RECORD + ID_LO]).toString();
+        }
+
+        /**
+         * Materializes the task in a slot.
+         * @param id the ID string if the caller has it, or null to rebuild it
+         */
+        private Task task(int slot, String id) {
+            int base = slot * RECORD;
+            return CompactTaskTable.task(id != null ? id : id(slot), texts[slot],
+                    records[base + META], records[base + CREATED_AT], records[base + UPDATED_AT]);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskArchive;
+import com.devops.taskmanager.persistence.TaskArchive;
+import com.devops.taskmanager.persistence.TaskPersistence;
+import com.devops.taskmanager.service.TaskOperationTimers.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Task service that publishes a latency timer per operation.
+ *
+ * <p>Only the entry points are timed; the single-task overloads delegate to
+ * the timed ones, and the batch operations are timed as one call each. See
+ * {@link TaskOperationTimers} for which calls are sampled.</p>
+ */
+public class InstrumentedTaskService extends TaskService {
+
+    private final TaskOperationTimers timers;
+
+    /**
+     * Creates the service.
+     * @param persistence the durability layer for task writes
+     * @param taskStore the primary task storage
+     * @param listeners callbacks told about every change to the store
+     * @param registry the registry the timers are published to
+     * @param sampleRate time one in this many single-task calls, pages, searches and queries
+     */
+    public InstrumentedTaskService(TaskPersistence persistence, TaskRepository taskStore,
+                                   List<TaskMutationListener> listeners, MeterRegistry registry, int sampleRate) {
+        this(persistence, taskStore, listeners, new NoOpTaskArchive(), registry, sampleRate);
+    }
+
+    /**
+     * Creates the service with an archive for finished tasks.
+     * @param persistence the durability layer for task writes
+     * @param taskStore the primary task storage
+     * @param listeners callbacks told about every change to the store
+     * @param archive cold storage for finished tasks
+     * @param registry the registry the timers are published to
+     * @param sampleRate time one in this many single-task calls, pages, searches and queries
+     */
+    public InstrumentedTaskService(TaskPersistence persistence, TaskRepository taskStore,
+                                   List<TaskMutationListener> listeners, TaskArchive archive,
+                                   MeterRegistry registry, int sampleRate) {
+        super(persistence, taskStore, listeners, archive);
+        this.timers = new TaskOperationTimers(registry, sampleRate);
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        long start = timers.start(Operation.CREATE);
+        try {
+            return super.createTask(task);
+        } finally {
+            timers.stop(Operation.CREATE, start);
+        }
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        long start = timers.start(Operation.LIST);
+        try {
+            return super.getAllTasks();
+        } finally {
+            timers.stop(Operation.LIST, start);
+        }
+    }
+
+    @Override
+    public TaskPage getTaskPage(String cursor, int limit, TaskStatus status, TaskPriority priority) {
+        long start = timers.start(Operation.PAGE);
+        try {
+            return super.getTaskPage(cursor, limit, status, priority);
+        } finally {
+            timers.stop(Operation.PAGE, start);
+        }
+    }
+
+    @Override
+    public List<Task> queryTasks(TaskQuery query) {
+        long start = timers.start(Operation.QUERY);
+        try {
+            return super.queryTasks(query);
+        } finally {
+            timers.stop(Operation.QUERY, start);
+        }
+    }
+
+    @Override
+    public TaskPage searchTasks(String query, String cursor, int limit) {
+        long start = timers.start(Operation.SEARCH);
+        try {
+            return super.searchTasks(query, cursor, limit);
+        } finally {
+            timers.stop(Operation.SEARCH, start);
+        }
+    }
+
+    @Override
+    public Optional<Task> getTaskById(String id) {
+        long start = timers.start(Operation.GET);
+        try {
+            return super.getTaskById(id);
+        } finally {
+            timers.stop(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public Optional<Task> updateTask(String id, Task updatedTask, Set<Long> expectedVersions) {
+        long start = timers.start(Operation.UPDATE);
+        try {
+            return super.updateTask(id, updatedTask, expectedVersions);
+        } finally {
+            timers.stop(Operation.UPDATE, start);
+        }
+    }
+
+    @Override
+    public boolean deleteTask(String id, Set<Long> expectedVersions) {
+        long start = timers.start(Operation.DELETE);
+        try {
+            return super.deleteTask(id, expectedVersions);
+        } finally {
+            timers.stop(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public Optional<Task> claimTask(Duration lease) {
+        long start = timers.start(Operation.CLAIM);
+        try {
+            return super.claimTask(lease);
+        } finally {
+            timers.stop(Operation.CLAIM, start);
+        }
+    }
+
+    @Override
+    public List<Task> createTasks(List<Task> tasks) {
+        long start = timers.start(Operation.CREATE_BATCH);
+        try {
+            return super.createTasks(tasks);
+        } finally {
+            timers.stop(Operation.CREATE_BATCH, start);
+        }
+    }
+
+    @Override
+    public List<Optional<Task>> updateTasks(List<Task> updates) {
+        long start = timers.start(Operation.UPDATE_BATCH);
+        try {
+            return super.updateTasks(updates);
+        } finally {
+            timers.stop(Operation.UPDATE_BATCH, start);
+        }
+    }
+
+    @Override
+    public List<Boolean> deleteTasks(List<String> ids) {
+        long start = timers.start(Operation.DELETE_BATCH);
+        try {
+            return super.deleteTasks(ids);
+        } finally {
+            timers.stop(Operation.DELETE_BATCH, start);
+        }
+    }
+
+    @Override
+    public int archiveTasks(LocalDateTime cutoff) {
+        long start = timers.start(Operation.ARCHIVE);
+        try {
+            return super.archiveTasks(cutoff);
+        } finally {
+            timers.stop(Operation.ARCHIVE, start);
+        }
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        long start = timers.start(Operation.FILTER);
+        try {
+            return super.getTasksByStatus(status);
+        } finally {
+            timers.stop(Operation.FILTER, start);
+        }
+    }
+
+    @Override
+    public List<Task> getTasksByPriority(TaskPriority priority) {
+        long start = timers.start(Operation.FILTER);
+        try {
+            return super.getTasksByPriority(priority);
+        } finally {
+            timers.stop(Operation.FILTER, start);
+        }
+    }
+
+    @Override
+    public List<Task> getTasksByStatusAndPriority(TaskStatus status, TaskPriority priority) {
+        long start = timers.start(Operation.FILTER);
+        try {
+            return super.getTasksByStatusAndPriority(status, priority);
+        } finally {
+            timers.stop(Operation.FILTER, start);
+        }
+    }
+}
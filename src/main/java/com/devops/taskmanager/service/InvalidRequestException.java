@@ -0,0 +1,26 @@
+package com.devops.taskmanager.service;
+
+/**
+ * Thrown when a caller passes a malformed cursor, limit, sort order or similar
+ * request argument. Unlike other {@link IllegalArgumentException}s, which are
+ * programming errors, the API answers it with 400 Bad Request.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    /**
+     * Creates the exception.
+     * @param message what is wrong with the request
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates the exception.
+     * @param message what is wrong with the request
+     * @param cause the parse error behind it
+     */
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
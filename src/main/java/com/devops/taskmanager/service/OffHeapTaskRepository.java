@@ -0,0 +1,68 @@
+package com.devops.taskmanager.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Task store that keeps serialized tasks outside the Java heap.
+ *
+ * <p>Records live in direct buffer slabs, and only a primitive index from
+ * ID to record stays on the heap, so the collector neither copies nor marks
+ * the stored tasks. Direct memory is bounded by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * Tasks whose ID is not a canonical lowercase UUID are still accepted and
+ * kept as objects on the heap.</p>
+ */
+public class OffHeapTaskRepository extends PackedTaskRepository {
+
+    /**
+     * Creates the repository.
+     * @param shards number of shards, rounded up to a power of two; 0 or less picks twice the processor count
+     * @param slabSize bytes per direct buffer, at most 16 MiB
+     */
+    public OffHeapTaskRepository(int shards, int slabSize) {
+        super(shards, tables(slabSize));
+    }
+
+    /**
+     * Gets the direct memory held by all slabs.
+     * @return the slab bytes
+     */
+    public long getCapacityBytes() {
+        long bytes = 0;
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            bytes += ((OffHeapTaskTable) table(shard)).capacityBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the slab bytes taken by live records.
+     * @return the live bytes
+     */
+    public long getLiveBytes() {
+        long bytes = 0;
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            bytes += ((OffHeapTaskTable) table(shard)).liveBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the number of slab compactions across all shards.
+     * @return the compaction count since startup
+     */
+    public long getCompactions() {
+        long compactions = 0;
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            compactions += ((OffHeapTaskTable) table(shard)).compactions();
+        }
+        return compactions;
+    }
+
+    private static Supplier<TaskTable> tables(int slabSize) {
+        if (slabSize < 1024 || slabSize > OffHeapTaskTable.MAX_SLAB_SIZE) {
+            throw new IllegalArgumentException("Slab size must be between 1 KiB and 16 MiB");
+        }
+        return () -> new OffHeapTaskTable(slabSize);
+    }
+}
@@ -0,0 +1,585 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * One shard of {@link OffHeapTaskRepository}: serialized tasks in direct
+ * buffer slabs, found through an on-heap open-addressing index.
+ *
+ * <p>An index slot holds the ID as two longs and a reference to the record:
+ * the slab number, the offset and the length, packed into one long. A record
+ * holds both timestamps, the version word from {@link TaskPacking}, and the
+ * title and description in UTF-8. Records are allocated in 16-byte units;
+ * freed space up to {@value #MAX_POOLED} bytes is pooled by size and reused,
+ * and once less than half of the allocated space is live the shard copies
+ * its records into fresh slabs. Dropped slabs are released by the garbage
+ * collector, never explicitly, since an optimistic reader may still be
+ * copying from one.</p>
+ *
+ * <p>Tasks that cannot be packed, such as those with a non-UUID ID or a
+ * missing field, are kept as objects in a side map. Writers take the write
+ * lock; readers copy the record optimistically and only take the read lock
+ * if a write overlapped.</p>
+ */
+final class OffHeapTaskTable implements TaskTable {
+
+    /** Largest slab size that the 24-bit offset and length of a record reference can address. */
+    static final int MAX_SLAB_SIZE = 1 << 24;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int SCAN_BLOCK = 256;
+
+    private static final int MAX_SCAN_RESTARTS = 2;
+
+    private static final int ALIGNMENT = 16;
+
+    private static final int MAX_POOLED = 4096;
+
+    private static final int HEADER = 32;
+
+    /** Slabs kept before compaction is considered, so small shards are left alone. */
+    private static final int MIN_COMPACTION_SLABS = 4;
+
+    private static final long FREE = 0;
+
+    private static final long DELETED = -1;
+
+    private static final int CREATED_AT = 0;
+
+    private static final int UPDATED_AT = 8;
+
+    private static final int META = 16;
+
+    private static final int TITLE_LENGTH = 24;
+
+    private static final int DESCRIPTION_LENGTH = 28;
+
+    private final int slabSize;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final Map<String, Task> unpacked = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+
+    private final LongAdder writes = new LongAdder();
+
+    private final long[][] pool = new long[MAX_POOLED / ALIGNMENT + 1][];
+
+    private final int[] pooled = new int[MAX_POOLED / ALIGNMENT + 1];
+
+    private volatile Index index = new Index(MIN_CAPACITY);
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+
+    /** Bytes used in the last slab; guarded by the write lock. */
+    private int top;
+
+    /** Live slots; written under the write lock. */
+    private volatile int size;
+
+    /** Live and deleted slots; guarded by the write lock. */
+    private int used;
+
+    /** Allocated bytes of live records; written under the write lock. */
+    private volatile long liveBytes;
+
+    private volatile long compactions;
+
+    /**
+     * Creates an empty shard.
+     * @param slabSize bytes per direct buffer
+     */
+    OffHeapTaskTable(int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Looks up a task. The record is copied under an optimistic read and only
+     * decoded once the read is known not to have overlapped a write.
+     */
+    @Override
+    public Task get(String id, long[] key) {
+        reads.increment();
+        if (key == null) {
+            return unpacked.get(id);
+        }
+        long stamp = lock.tryOptimisticRead();
+        Index current = index;
+        int slot = current.indexOf(key[0], key[1]);
+        if (slot < 0) {
+            Task task = unpacked.get(id);
+            if (lock.validate(stamp)) {
+                return task;
+            }
+        } else {
+            byte[] record = copy(slabs, current.ref(slot));
+            if (record != null && lock.validate(stamp)) {
+                return decode(id, record);
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            current = index;
+            slot = current.indexOf(key[0], key[1]);
+            return slot >= 0 ? decode(id, copy(slabs, current.ref(slot))) : unpacked.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Task compute(String id, long[] key, BiFunction<String, Task, Task> remapping, boolean onlyIfPresent) {
+        writes.increment();
+        long stamp = lock.writeLock();
+        try {
+            Index current = index;
+            int slot = key == null ? -1 : current.indexOf(key[0], key[1]);
+            Task existing = slot >= 0 ? decode(id, copy(slabs, current.ref(slot))) : unpacked.get(id);
+            if (existing == null && onlyIfPresent) {
+                return null;
+            }
+            Task result = remapping.apply(id, existing);
+            if (result == existing) {
+                return existing;
+            }
+            byte[] record = result != null && key != null && TaskPacking.packable(result) ? encode(result) : null;
+            if (record != null && record.length <= slabSize && record.length < MAX_SLAB_SIZE) {
+                unpacked.remove(id);
+                put(key, slot, record);
+            } else {
+                if (result == null) {
+                    unpacked.remove(id);
+                } else {
+                    unpacked.put(id, result);
+                }
+                if (slot >= 0) {
+                    remove(slot);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds the tasks passing the filter, or every task for a null filter.
+     */
+    @Override
+    public void collect(Predicate<Task> filter, List<Task> into) {
+        scan(into, (current, buffers, slot) -> {
+            Task task = decode(current.id(slot), copy(buffers, current.ref(slot)));
+            return filter == null || filter.test(task) ? task : null;
+        });
+        for (Task task : unpacked.values()) {
+            if (filter == null || filter.test(task)) {
+                into.add(task);
+            }
+        }
+    }
+
+    /**
+     * Lists the IDs of all tasks from the index alone.
+     */
+    @Override
+    public List<String> ids() {
+        List<String> ids = new ArrayList<>(size + unpacked.size());
+        scan(ids, (current, buffers, slot) -> current.id(slot));
+        ids.addAll(unpacked.keySet());
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        return size + unpacked.size();
+    }
+
+    @Override
+    public long reads() {
+        return reads.sum();
+    }
+
+    @Override
+    public long writes() {
+        return writes.sum();
+    }
+
+    /**
+     * Gets the direct memory held by the slabs.
+     * @return the slab bytes
+     */
+    long capacityBytes() {
+        return (long) slabs.length * slabSize;
+    }
+
+    /**
+     * Gets the slab bytes taken by live records, rounded to the allocation unit.
+     * @return the live bytes
+     */
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Gets the number of times the slabs were compacted.
+     * @return the compaction count since startup
+     */
+    long compactions() {
+        return compactions;
+    }
+
+    /**
+     * Reads every live slot into a list. Slots are read in blocks under the
+     * read lock, so writers only ever wait for one block. Record references
+     * stay valid only for the index that holds them, so if a resize replaces
+     * the index mid-scan, what this scan added is dropped and the scan starts
+     * over; after {@value #MAX_SCAN_RESTARTS} restarts it holds the read lock
+     * for the whole shard instead.
+     */
+    private <T> void scan(List<T> into, SlotReader<T> reader) {
+        int mark = into.size();
+        for (int attempt = 0; ; attempt++) {
+            boolean exclusive = attempt == MAX_SCAN_RESTARTS;
+            long held = exclusive ? lock.readLock() : 0;
+            try {
+                if (scanBlocks(index, into, reader, !exclusive)) {
+                    return;
+                }
+            } finally {
+                if (exclusive) {
+                    lock.unlockRead(held);
+                }
+            }
+            into.subList(mark, into.size()).clear();
+        }
+    }
+
+    /**
+     * @return false if the index was replaced before the scan finished
+     */
+    private <T> boolean scanBlocks(Index scanned, List<T> into, SlotReader<T> reader, boolean lockEachBlock) {
+        for (int start = 0; start < scanned.capacity(); start += SCAN_BLOCK) {
+            long stamp = lockEachBlock ? lock.readLock() : 0;
+            try {
+                if (index != scanned) {
+                    return false;
+                }
+                int end = Math.min(start + SCAN_BLOCK, scanned.capacity());
+                for (int slot = start; slot < end; slot++) {
+                    if (scanned.ref(slot) > 0) {
+                        T item = reader.read(scanned, slabs, slot);
+                        if (item != null) {
+                            into.add(item);
+                        }
+                    }
+                }
+            } finally {
+                if (lockEachBlock) {
+                    lock.unlockRead(stamp);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void put(long[] key, int slot, byte[] record) {
+        Index current = index;
+        long ref;
+        if (slot >= 0) {
+            long previous = current.ref(slot);
+            if (align(length(previous)) == align(record.length)) {
+                ref = previous & ~0xFFFFFFL | record.length;
+            } else {
+                release(previous);
+                ref = allocate(record.length);
+            }
+        } else {
+            if (used + 1 > current.capacity() - (current.capacity() >> 2)) {
+                current = resize(size + 1);
+            }
+            slot = current.insertionPoint(key[0], key[1]);
+            if (current.ref(slot) == FREE) {
+                used++;
+            }
+            size++;
+            ref = allocate(record.length);
+        }
+        slabs[slab(ref)].put(offset(ref), record);
+        current.set(slot, key[0], key[1], ref);
+        compactIfSparse();
+    }
+
+    private void remove(int slot) {
+        Index current = index;
+        release(current.ref(slot));
+        current.set(slot, 0, 0, DELETED);
+        size--;
+        if (current.capacity() > MIN_CAPACITY && size < current.capacity() >> 3) {
+            resize(size);
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Takes space for a record from the pool of its size, or from the end of
+     * the last slab, starting a new slab when it does not fit.
+     * @return the reference to the record
+     */
+    private long allocate(int length) {
+        int bytes = align(length);
+        int sizeClass = bytes / ALIGNMENT;
+        liveBytes += bytes;
+        if (sizeClass < pool.length && pooled[sizeClass] > 0) {
+            return pool[sizeClass][--pooled[sizeClass]] | length;
+        }
+        if (slabs.length == 0 || top + bytes > slabSize) {
+            ByteBuffer[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+            grown[slabs.length] = ByteBuffer.allocateDirect(slabSize);
+            slabs = grown;
+            top = 0;
+        }
+        long ref = reference(slabs.length - 1, top, length);
+        top += bytes;
+        return ref;
+    }
+
+    /**
+     * Returns the space of a record to the pool of its size. Larger records
+     * are left for compaction.
+     */
+    private void release(long ref) {
+        int bytes = align(length(ref));
+        int sizeClass = bytes / ALIGNMENT;
+        liveBytes -= bytes;
+        if (sizeClass < pool.length) {
+            long[] free = pool[sizeClass];
+            if (free == null || pooled[sizeClass] == free.length) {
+                free = Arrays.copyOf(free == null ? new long[0] : free, Math.max(16, pooled[sizeClass] * 2));
+                pool[sizeClass] = free;
+            }
+            free[pooled[sizeClass]++] = ref & ~0xFFFFFFL;
+        }
+    }
+
+    /**
+     * Copies every live record into fresh slabs, in index order, once less
+     * than half of the space handed out from the slabs is live.
+     */
+    private void compactIfSparse() {
+        ByteBuffer[] old = slabs;
+        long handedOut = (long) (old.length - 1) * slabSize + top;
+        if (old.length < MIN_COMPACTION_SLABS || liveBytes * 2 >= handedOut) {
+            return;
+        }
+        slabs = new ByteBuffer[0];
+        top = 0;
+        liveBytes = 0;
+        Arrays.fill(pool, null);
+        Arrays.fill(pooled, 0);
+        Index current = index;
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            long ref = current.ref(slot);
+            if (ref > 0) {
+                long moved = allocate(length(ref));
+                slabs[slab(moved)].put(offset(moved), old[slab(ref)], offset(ref), length(ref));
+                current.set(slot, current.hi(slot), current.lo(slot), moved);
+            }
+        }
+        compactions++;
+    }
+
+    /**
+     * Rehashes the live slots into an index at most half full, dropping deleted slots.
+     */
+    private Index resize(int liveSlots) {
+        Index old = index;
+        int capacity = MIN_CAPACITY;
+        while (capacity < liveSlots * 2) {
+            capacity <<= 1;
+        }
+        Index resized = new Index(capacity);
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            long ref = old.ref(slot);
+            if (ref > 0) {
+                resized.set(resized.insertionPoint(old.hi(slot), old.lo(slot)), old.hi(slot), old.lo(slot), ref);
+            }
+        }
+        used = size;
+        index = resized;
+        return resized;
+    }
+
+    /**
+     * Copies a record out of the slabs. The reference may come from a read
+     * racing a write, so it is checked against the slabs before use.
+     * @return the record bytes, or null if the reference does not fit the slabs
+     */
+    private static byte[] copy(ByteBuffer[] slabs, long ref) {
+        int slab = slab(ref);
+        if (ref <= 0 || slab >= slabs.length || offset(ref) + length(ref) > slabs[slab].capacity()) {
+            return null;
+        }
+        byte[] record = new byte[length(ref)];
+        slabs[slab].get(offset(ref), record);
+        return record;
+    }
+
+    private static byte[] encode(Task task) {
+        byte[] title = task.getTitle() == null ? null : task.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] description = task.getDescription() == null ? null
+                : task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int titleLength = title == null ? -1 : title.length;
+        int descriptionLength = description == null ? -1 : description.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER + Math.max(titleLength, 0) + Math.max(descriptionLength, 0));
+        record.putLong(CREATED_AT, TaskPacking.toNanos(task.getCreatedAt()))
+                .putLong(UPDATED_AT, TaskPacking.toNanos(task.getUpdatedAt()))
+                .putLong(META, TaskPacking.meta(task, 0))
+                .putInt(TITLE_LENGTH, titleLength)
+                .putInt(DESCRIPTION_LENGTH, descriptionLength);
+        if (title != null) {
+            record.put(HEADER, title);
+        }
+        if (description != null) {
+            record.put(HEADER + Math.max(titleLength, 0), description);
+        }
+        return record.array();
+    }
+
+    private static Task decode(String id, byte[] bytes) {
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        int titleLength = record.getInt(TITLE_LENGTH);
+        int descriptionLength = record.getInt(DESCRIPTION_LENGTH);
+        long meta = record.getLong(META);
+        Task task = new Task(id,
+                titleLength < 0 ? null : new String(bytes, HEADER, titleLength, StandardCharsets.UTF_8),
+                descriptionLength < 0 ? null : new String(bytes, HEADER + Math.max(titleLength, 0),
+                        descriptionLength, StandardCharsets.UTF_8),
+                TaskPacking.status(meta), TaskPacking.priority(meta),
+                TaskPacking.fromNanos(record.getLong(CREATED_AT)), TaskPacking.fromNanos(record.getLong(UPDATED_AT)));
+        task.setVersion(TaskPacking.version(meta));
+        return task;
+    }
+
+    /**
+     * Reads one live slot during a scan.
+     */
+    @FunctionalInterface
+    private interface SlotReader<T> {
+
+        /**
+         * @return the item to add, or null to skip the slot
+         */
+        T read(Index index, ByteBuffer[] slabs, int slot);
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static long reference(int slab, int offset, int length) {
+        return (long) slab << 48 | (long) offset << 24 | length;
+    }
+
+    private static int slab(long ref) {
+        return (int) (ref >>> 48);
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 24) & 0xFFFFFF;
+    }
+
+    private static int length(long ref) {
+        return (int) ref & 0xFFFFFF;
+    }
+
+    /**
+     * Open-addressing index from ID to record reference. Each slot is three
+     * consecutive longs: both halves of the ID, then the reference, which is
+     * 0 for a free slot and -1 for a deleted one.
+     */
+    private static final class Index {
+
+        private static final int ENTRY = 3;
+
+        private final long[] entries;
+
+        private final int mask;
+
+        private Index(int capacity) {
+            entries = new long[capacity * ENTRY];
+            mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        private long hi(int slot) {
+            return entries[slot * ENTRY];
+        }
+
+        private long lo(int slot) {
+            return entries[slot * ENTRY + 1];
+        }
+
+        private long ref(int slot) {
+            return entries[slot * ENTRY + 2];
+        }
+
+        private String id(int slot) {
+            return new UUID(hi(slot), lo(slot)).toString();
+        }
+
+        private void set(int slot, long hi, long lo, long ref) {
+            entries[slot * ENTRY] = hi;
+            entries[slot * ENTRY + 1] = lo;
+            entries[slot * ENTRY + 2] = ref;
+        }
+
+        /**
+         * Finds the live slot holding a key. Bounded by the capacity, so an
+         * optimistic reader racing a writer still terminates.
+         * @return the slot, or -1 if the key is absent
+         */
+        private int indexOf(long hi, long lo) {
+            int slot = TaskPacking.hash(hi, lo) & mask;
+            for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+                int base = slot * ENTRY;
+                long ref = entries[base + 2];
+                if (ref == FREE) {
+                    return -1;
+                }
+                if (ref > 0 && entries[base] == hi && entries[base + 1] == lo) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the first free or deleted slot for a key known to be absent.
+         */
+        private int insertionPoint(long hi, long lo) {
+            int slot = TaskPacking.hash(hi, lo) & mask;
+            while (ref(slot) > 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Base for the task stores that keep tasks as packed primitives instead of objects.
+ *
+ * <p>Task IDs are UUIDs, which these stores keep as two longs, so each ID is
+ * parsed once here and handed to its shard with the string. Each read builds
+ * a fresh {@link Task}, which is the only place task objects exist. Shards,
+ * counters and the scan policy are the same as in
+ * {@link ShardedTaskRepository}.</p>
+ */
+public abstract class PackedTaskRepository implements TaskRepository, ShardedStore {
+
+    private static final int PARALLEL_SCAN_THRESHOLD = 8192;
+
+    private static final int SCAN_COST_RATIO = 2;
+
+    private static final int MAX_SHARDS = 1 << 16;
+
+    private final TaskTable[] shards;
+
+    private final int shift;
+
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates the repository.
+     * @param shards number of shards, rounded up to a power of two; 0 or less picks twice the processor count
+     * @param tables creates an empty shard
+     */
+    PackedTaskRepository(int shards, Supplier<TaskTable> tables) {
+        int count = shards > 0 ? shards : 2 * Runtime.getRuntime().availableProcessors();
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count cannot exceed " + MAX_SHARDS);
+        }
+        int size = Integer.highestOneBit(count);
+        size = size == count ? size : size << 1;
+        this.shards = new TaskTable[size];
+        for (int i = 0; i < size; i++) {
+            this.shards[i] = tables.get();
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    @Override
+    public Task get(String id) {
+        long[] key = TaskPacking.parseUuid(id);
+        return shard(id, key).get(id, key);
+    }
+
+    @Override
+    public Task compute(String id, BiFunction<String, Task, Task> remapping) {
+        long[] key = TaskPacking.parseUuid(id);
+        return shard(id, key).compute(id, key, remapping, false);
+    }
+
+    @Override
+    public Task computeIfPresent(String id, BiFunction<String, Task, Task> remapping) {
+        long[] key = TaskPacking.parseUuid(id);
+        return shard(id, key).compute(id, key, remapping, true);
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (TaskTable shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Stream<String> ids() {
+        return Arrays.stream(shards).flatMap(shard -> shard.ids().stream());
+    }
+
+    @Override
+    public List<Task> getAll(Collection<String> ids, Predicate<Task> filter) {
+        if (ids.size() >= PARALLEL_SCAN_THRESHOLD && parallelism > 1
+                && (long) ids.size() * SCAN_COST_RATIO * parallelism >= size()) {
+            return findAll(filter);
+        }
+        List<Task> tasks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = get(id);
+            if (task != null && filter.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return findAll(null);
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        long size = size();
+        if (shards.length == 1 || parallelism == 1 || size < PARALLEL_SCAN_THRESHOLD) {
+            List<Task> tasks = new ArrayList<>((int) size);
+            for (TaskTable shard : shards) {
+                shard.collect(filter, tasks);
+            }
+            return tasks;
+        }
+        List<List<Task>> parts = Arrays.stream(shards).parallel()
+                .map(shard -> {
+                    List<Task> part = new ArrayList<>(shard.size());
+                    shard.collect(filter, part);
+                    return part;
+                })
+                .toList();
+        List<Task> tasks = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(tasks::addAll);
+        return tasks;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public long getShardSize(int shard) {
+        return shards[shard].size();
+    }
+
+    @Override
+    public long getShardReads(int shard) {
+        return shards[shard].reads();
+    }
+
+    @Override
+    public long getShardWrites(int shard) {
+        return shards[shard].writes();
+    }
+
+    private TaskTable shard(String id, long[] key) {
+        if (shift == 32) {
+            return shards[0];
+        }
+        int hash = key != null ? (int) (key[0] ^ key[0] >>> 32 ^ key[1] ^ key[1] >>> 32) : id.hashCode();
+        return shards[(hash * 0x9E3779B9) >>> shift];
+    }
+
+    /**
+     * Gets one shard.
+     * @param shard the shard number
+     * @return the shard
+     */
+    TaskTable table(int shard) {
+        return shards[shard];
+    }
+}
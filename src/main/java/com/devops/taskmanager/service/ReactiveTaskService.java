@@ -0,0 +1,144 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
+import com.devops.taskmanager.model.TaskStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking facade over {@link TaskService} for the reactive API.
+ *
+ * <p>Reads are answered from memory and run on the subscribing thread.
+ * Listings are pulled lazily from the creation-order index as the subscriber
+ * requests them, so a slow client holds back the scan rather than a full
+ * copy of the store. Writes may wait for the write-ahead log, so they run
+ * on a bounded elastic scheduler and never block an event-loop thread.</p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskService {
+
+    private final TaskService taskService;
+
+    private final Scheduler writeScheduler;
+
+    /**
+     * Constructor with dependency injection.
+     * @param taskService the task service
+     */
+    public ReactiveTaskService(TaskService taskService) {
+        this.taskService = taskService;
+        this.writeScheduler = Schedulers.boundedElastic();
+    }
+
+    /**
+     * Creates a new task.
+     * @param task the task to create
+     * @return the stored task, once it is durable
+     */
+    public Mono<Task> createTask(Task task) {
+        return write(() -> taskService.createTask(task));
+    }
+
+    /**
+     * Streams tasks in creation order, one element per requested task.
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the matching tasks
+     */
+    public Flux<Task> streamTasks(TaskStatus status, TaskPriority priority) {
+        return Flux.fromStream(() -> taskService.streamTasks(status, priority));
+    }
+
+    /**
+     * Retrieves one page of tasks, see {@link TaskService#getTaskPage}.
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit maximum number of tasks to return
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the page, or an {@link InvalidRequestException} error for a malformed cursor
+     */
+    public Mono<TaskPage> getTaskPage(String cursor, int limit, TaskStatus status, TaskPriority priority) {
+        return Mono.fromCallable(() -> taskService.getTaskPage(cursor, limit, status, priority));
+    }
+
+    /**
+     * Queries tasks by several fields at once, see {@link TaskService#queryTasks}.
+     * @param query the status and priority sets, time ranges, sort and limit
+     * @return the matching tasks, or an {@link InvalidRequestException} error for an invalid sort, order or limit
+     */
+    public Mono<List<Task>> queryTasks(TaskQuery query) {
+        return Mono.fromCallable(() -> taskService.queryTasks(query));
+    }
+
+    /**
+     * Searches task titles and descriptions, see {@link TaskService#searchTasks}.
+     * @param query the search text
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit maximum number of tasks to return
+     * @return the page, or an {@link InvalidRequestException} error for a malformed cursor
+     */
+    public Mono<TaskPage> searchTasks(String query, String cursor, int limit) {
+        return Mono.fromCallable(() -> taskService.searchTasks(query, cursor, limit));
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     * @param id the task ID
+     * @return the task, or empty if not found
+     */
+    public Mono<Task> getTaskById(String id) {
+        return Mono.fromCallable(() -> taskService.getTaskById(id).orElse(null));
+    }
+
+    /**
+     * Updates an existing task, see {@link TaskService#updateTask(String, Task, Set)}.
+     * @param id the task ID
+     * @param task the updated task data
+     * @param expectedVersions the versions the caller accepts, or null to update unconditionally
+     * @return the updated task, empty if not found, or a {@link TaskVersionConflictException} error
+     */
+    public Mono<Task> updateTask(String id, Task task, Set<Long> expectedVersions) {
+        return write(() -> taskService.updateTask(id, task, expectedVersions).orElse(null));
+    }
+
+    /**
+     * Deletes a task, see {@link TaskService#deleteTask(String, Set)}.
+     * @param id the task ID
+     * @param expectedVersions the versions the caller accepts, or null to delete unconditionally
+     * @return whether the task was deleted, or a {@link TaskVersionConflictException} error
+     */
+    public Mono<Boolean> deleteTask(String id, Set<Long> expectedVersions) {
+        return write(() -> taskService.deleteTask(id, expectedVersions));
+    }
+
+    /**
+     * Gets task statistics from the live counters.
+     * @return map containing total count and breakdowns by status and priority
+     */
+    public Mono<Map<String, Object>> getStats() {
+        return Mono.fromSupplier(() -> Map.of(
+                "totalTasks", taskService.getTaskCount(),
+                "pendingTasks", taskService.getTaskCount(TaskStatus.PENDING),
+                "completedTasks", taskService.getTaskCount(TaskStatus.COMPLETED),
+                "byStatus", taskService.getStatusCounts(),
+                "byPriority", taskService.getPriorityCounts()
+        ));
+    }
+
+    private <T> Mono<T> write(Callable<T> write) {
+        return Mono.fromCallable(write).subscribeOn(writeScheduler);
+    }
+}
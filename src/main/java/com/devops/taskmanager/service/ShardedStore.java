@@ -0,0 +1,34 @@
+package com.devops.taskmanager.service;
+
+/**
+ * A task store split into shards that reports statistics per shard.
+ */
+interface ShardedStore {
+
+    /**
+     * Gets the number of shards.
+     * @return the shard count
+     */
+    int getShardCount();
+
+    /**
+     * Gets the number of tasks in one shard.
+     * @param shard the shard number
+     * @return the task count
+     */
+    long getShardSize(int shard);
+
+    /**
+     * Gets the number of lookups served by one shard.
+     * @param shard the shard number
+     * @return the read count since startup
+     */
+    long getShardReads(int shard);
+
+    /**
+     * Gets the number of writes applied to one shard.
+     * @param shard the shard number
+     * @return the write count since startup
+     */
+    long getShardWrites(int shard);
+}
@@ -0,0 +1,189 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Task store split into hash partitions.
+ *
+ * <p>Each shard is its own {@link ConcurrentHashMap} with its own read and
+ * write counters, so a resize or a hot shard only affects the tasks in it.
+ * Full scans fan out over the shards on the common fork-join pool. The
+ * shard is chosen from the high bits of the ID hash, while each map picks
+ * its bins from the low bits, so keys still spread over the whole table
+ * inside a shard.</p>
+ */
+public class ShardedTaskRepository implements TaskRepository, ShardedStore {
+
+    /**
+     * Stores smaller than this, or on a single core, are scanned on the
+     * calling thread, where forking would cost more than it saves.
+     */
+    private static final int PARALLEL_SCAN_THRESHOLD = 8192;
+
+    /**
+     * Visiting an entry during a scan costs about half as much as a hash
+     * lookup, so with this many cores per requested ID a parallel scan wins.
+     */
+    private static final int SCAN_COST_RATIO = 2;
+
+    private static final int MAX_SHARDS = 1 << 16;
+
+    private final Shard[] shards;
+
+    private final int shift;
+
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates the repository.
+     * @param shards number of shards, rounded up to a power of two; 0 or less picks twice the processor count
+     */
+    public ShardedTaskRepository(int shards) {
+        int count = shards > 0 ? shards : 2 * Runtime.getRuntime().availableProcessors();
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count cannot exceed " + MAX_SHARDS);
+        }
+        int size = Integer.highestOneBit(count);
+        size = size == count ? size : size << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    @Override
+    public Task get(String id) {
+        Shard shard = shard(id);
+        shard.reads.increment();
+        return shard.tasks.get(id);
+    }
+
+    @Override
+    public Task compute(String id, BiFunction<String, Task, Task> remapping) {
+        Shard shard = shard(id);
+        shard.writes.increment();
+        return shard.tasks.compute(id, remapping);
+    }
+
+    @Override
+    public Task computeIfPresent(String id, BiFunction<String, Task, Task> remapping) {
+        Shard shard = shard(id);
+        shard.writes.increment();
+        return shard.tasks.computeIfPresent(id, remapping);
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.tasks.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Stream<String> ids() {
+        return Arrays.stream(shards).flatMap(shard -> shard.tasks.keySet().stream());
+    }
+
+    @Override
+    public List<Task> getAll(Collection<String> ids, Predicate<Task> filter) {
+        if (ids.size() >= PARALLEL_SCAN_THRESHOLD && parallelism > 1
+                && (long) ids.size() * SCAN_COST_RATIO * parallelism >= size()) {
+            return findAll(filter);
+        }
+        List<Task> tasks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = get(id);
+            if (task != null && filter.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return findAll(null);
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        long size = size();
+        if (shards.length == 1 || parallelism == 1 || size < PARALLEL_SCAN_THRESHOLD) {
+            List<Task> tasks = new ArrayList<>((int) size);
+            for (Shard shard : shards) {
+                shard.collect(filter, tasks);
+            }
+            return tasks;
+        }
+        List<List<Task>> parts = Arrays.stream(shards).parallel()
+                .map(shard -> shard.collect(filter, new ArrayList<>(shard.tasks.size())))
+                .toList();
+        List<Task> tasks = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(tasks::addAll);
+        return tasks;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public long getShardSize(int shard) {
+        return shards[shard].tasks.size();
+    }
+
+    @Override
+    public long getShardReads(int shard) {
+        return shards[shard].reads.sum();
+    }
+
+    @Override
+    public long getShardWrites(int shard) {
+        return shards[shard].writes.sum();
+    }
+
+    private Shard shard(String id) {
+        // Fibonacci hashing: the multiply mixes all bits of the hash into the top ones
+        return shift == 32 ? shards[0] : shards[(id.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    private static final class Shard {
+
+        private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+
+        private final LongAdder reads = new LongAdder();
+
+        private final LongAdder writes = new LongAdder();
+
+        /**
+         * Adds the tasks passing the filter, or every task for a null filter.
+         */
+        private List<Task> collect(Predicate<Task> filter, List<Task> into) {
+            if (filter == null) {
+                into.addAll(tasks.values());
+                return into;
+            }
+            for (Task task : tasks.values()) {
+                if (filter.test(task)) {
+                    into.add(task);
+                }
+            }
+            return into;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.devops.taskmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Periodically moves tasks that were completed or cancelled long enough ago
+ * to the archive, so memory holds only the tasks still in play.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.archive.enabled", havingValue = "true")
+public class TaskArchiver implements SmartInitializingSingleton {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final Supplier<TaskService> taskService;
+
+    private final Clock clock;
+
+    private final Duration age;
+
+    private final Duration interval;
+
+    private volatile ScheduledExecutorService runner;
+
+    /**
+     * Creates the archiver.
+     * @param taskService the task service, looked up once the context is ready
+     * @param age how long a task must have been finished before it is archived
+     * @param interval time between archiving passes
+     */
+    @Autowired
+    public TaskArchiver(ObjectProvider<TaskService> taskService,
+                        @Value("${taskmanager.archive.age:7d}") Duration age,
+                        @Value("${taskmanager.archive.interval:1h}") Duration interval) {
+        this(taskService::getObject, age, interval, Clock.systemDefaultZone());
+    }
+
+    TaskArchiver(Supplier<TaskService> taskService, Duration age, Duration interval, Clock clock) {
+        if (age.isNegative() || interval.toMillis() < 1) {
+            throw new IllegalArgumentException("Archive age must not be negative and interval must be at least 1ms");
+        }
+        this.taskService = taskService;
+        this.clock = clock;
+        this.age = age;
+        this.interval = interval;
+    }
+
+    /**
+     * Starts the archiving thread; the first pass runs after one interval.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                archive();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to archive finished tasks", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        runner = executor;
+    }
+
+    /**
+     * Stops the archiving thread.
+     */
+    @PreDestroy
+    public void close() {
+        ScheduledExecutorService executor = runner;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Archives the tasks finished before the cutoff.
+     * @return the number of tasks moved out of memory
+     */
+    int archive() {
+        int archived = taskService.get().archiveTasks(LocalDateTime.now(clock).minus(age));
+        if (archived > 0) {
+            LOG.info("Archived {} finished tasks", archived);
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,65 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Pending tasks waiting to be claimed, one queue per priority.
+ *
+ * <p>Each queue is a lock-free skip list of task keys in creation order, so
+ * taking the next task is a {@code pollFirst} on the highest non-empty
+ * priority and hands every key to exactly one caller, however many workers
+ * claim at once. The key is only a hint: the claimer still checks, under the
+ * store entry, that the task is pending. Like {@link TaskIndex}, the queues
+ * are updated while the store entry for the task is held, and only when a
+ * task starts or stops being pending or changes priority.</p>
+ */
+class TaskClaimQueue implements TaskMutationListener {
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final NavigableSet<TaskKey>[] queues;
+
+    @SuppressWarnings("unchecked")
+    TaskClaimQueue() {
+        queues = new NavigableSet[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ConcurrentSkipListSet<>();
+        }
+    }
+
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        boolean wasQueued = queued(previous);
+        boolean isQueued = queued(current);
+        boolean moved = wasQueued && isQueued && previous.getPriority() != current.getPriority();
+        if (isQueued && (!wasQueued || moved)) {
+            queues[current.getPriority().ordinal()].add(TaskKey.of(current));
+        }
+        if (wasQueued && (!isQueued || moved)) {
+            queues[previous.getPriority().ordinal()].remove(TaskKey.of(previous));
+        }
+    }
+
+    /**
+     * Takes the oldest queued task of the highest priority off its queue.
+     * @return the task's key, or null if nothing is queued
+     */
+    TaskKey poll() {
+        for (int i = queues.length - 1; i >= 0; i--) {
+            TaskKey key = queues[i].pollFirst();
+            if (key != null) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static boolean queued(Task task) {
+        return task != null && task.getStatus() == TaskStatus.PENDING && task.getPriority() != null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-status and per-priority task counters.
+ * Backed by striped {@link LongAdder}s so concurrent writers do not contend
+ * on a single cell. Like {@link TaskIndex}, the counters are adjusted while
+ * the store entry for the task is held, so every transition is counted once.
+ */
+class TaskCounters implements TaskMutationListener {
+
+    private final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+
+    private final Map<TaskPriority, LongAdder> byPriority = new EnumMap<>(TaskPriority.class);
+
+    TaskCounters() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        if (previous == null) {
+            increment(current.getStatus(), current.getPriority());
+        } else if (current == null) {
+            decrement(previous.getStatus(), previous.getPriority());
+        } else {
+            transition(previous.getStatus(), previous.getPriority(), current.getStatus(), current.getPriority());
+        }
+    }
+
+    void increment(TaskStatus status, TaskPriority priority) {
+        if (status != null) {
+            byStatus.get(status).increment();
+        }
+        if (priority != null) {
+            byPriority.get(priority).increment();
+        }
+    }
+
+    void decrement(TaskStatus status, TaskPriority priority) {
+        if (status != null) {
+            byStatus.get(status).decrement();
+        }
+        if (priority != null) {
+            byPriority.get(priority).decrement();
+        }
+    }
+
+    void transition(TaskStatus oldStatus, TaskPriority oldPriority,
+                    TaskStatus newStatus, TaskPriority newPriority) {
+        if (oldStatus != newStatus) {
+            if (oldStatus != null) {
+                byStatus.get(oldStatus).decrement();
+            }
+            if (newStatus != null) {
+                byStatus.get(newStatus).increment();
+            }
+        }
+        if (oldPriority != newPriority) {
+            if (oldPriority != null) {
+                byPriority.get(oldPriority).decrement();
+            }
+            if (newPriority != null) {
+                byPriority.get(newPriority).increment();
+            }
+        }
+    }
+
+    long count(TaskStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    long count(TaskPriority priority) {
+        return byPriority.get(priority).sum();
+    }
+
+    Map<TaskStatus, Long> statusCounts() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        byStatus.forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+
+    Map<TaskPriority, Long> priorityCounts() {
+        Map<TaskPriority, Long> counts = new EnumMap<>(TaskPriority.class);
+        byPriority.forEach((priority, adder) -> counts.put(priority, adder.sum()));
+        return counts;
+    }
+}
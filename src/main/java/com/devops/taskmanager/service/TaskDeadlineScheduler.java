@@ -0,0 +1,248 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.TaskDeadlineWheel.Type;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Marks tasks overdue, sends reminders and ends expired claims when their times pass.
+ *
+ * <p>Every write that gives an open task a new due or reminder time, or
+ * reopens one, adds a timer to a {@link TaskDeadlineWheel}; a single thread
+ * advances the wheel once per tick and raises the task's {@code overdue} or
+ * {@code reminded} flag with a versioned update, which the change feed
+ * publishes as an {@code OVERDUE} or {@code REMINDER} event. A claim lease
+ * is timed the same way, and a task still in progress when its lease runs
+ * out goes back to {@code PENDING}, where it can be claimed again. Timers are
+ * not removed when a task changes: a fired timer re-reads the task and does
+ * nothing unless the deadline it stands for has still passed, so a
+ * rescheduled, completed or deleted task costs one stale timer until its old
+ * deadline. Tasks are only scanned once, at startup, to arm the deadlines of
+ * recovered tasks.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.deadlines.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskDeadlineScheduler implements TaskMutationListener, SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / 2_000;
+
+    private final Supplier<TaskService> taskService;
+
+    private final Clock clock;
+
+    private final long tickMillis;
+
+    private final TaskDeadlineWheel wheel;
+
+    private final LongAdder overdue = new LongAdder();
+
+    private final LongAdder reminders = new LongAdder();
+
+    private final LongAdder expiredLeases = new LongAdder();
+
+    private volatile ScheduledExecutorService ticker;
+
+    /**
+     * Creates the scheduler.
+     * @param taskService the task service, looked up once the context is ready
+     * @param tick how often the wheel advances, and so how late a deadline may fire
+     */
+    @Autowired
+    public TaskDeadlineScheduler(ObjectProvider<TaskService> taskService,
+                                 @Value("${taskmanager.deadlines.tick:1s}") Duration tick) {
+        this(taskService::getObject, tick, Clock.systemDefaultZone());
+    }
+
+    TaskDeadlineScheduler(Supplier<TaskService> taskService, Duration tick, Clock clock) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Deadline tick must be at least 1ms");
+        }
+        this.taskService = taskService;
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new TaskDeadlineWheel(Math.floorDiv(clock.millis(), tickMillis), 1024);
+    }
+
+    /**
+     * Arms a timer for each deadline or lease a write set or brought back into play.
+     * Called inside the write, so it only takes the wheel's lock for one insert.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        for (Type type : Type.values()) {
+            LocalDateTime deadline = deadline(current, type);
+            if (deadline != null && !deadline.equals(deadline(previous, type))) {
+                long tick = tickOf(deadline);
+                synchronized (wheel) {
+                    wheel.schedule(tick, current.getId(), type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Arms the deadlines of the tasks recovered at startup, which are not
+     * announced to listeners, and starts the ticker thread.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        taskService.get().streamTasks(null, null).forEach(task -> onTaskChanged(null, task));
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to apply task deadlines", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    /**
+     * Stops the ticker thread.
+     */
+    @PreDestroy
+    public void close() {
+        ScheduledExecutorService executor = ticker;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the number of armed timers, including stale ones that have not fired yet.
+     * @return the timer count
+     */
+    public int getPendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskmanager.deadlines.pending", this, TaskDeadlineScheduler::getPendingCount)
+                .description("Armed due, reminder and lease timers")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.deadlines.transitions", overdue, LongAdder::sum)
+                .tag("type", "overdue")
+                .description("Tasks changed because a due, reminder or lease time passed")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.deadlines.transitions", reminders, LongAdder::sum)
+                .tag("type", "reminder")
+                .description("Tasks changed because a due, reminder or lease time passed")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.deadlines.transitions", expiredLeases, LongAdder::sum)
+                .tag("type", "lease")
+                .description("Tasks changed because a due, reminder or lease time passed")
+                .register(registry);
+    }
+
+    /**
+     * Advances the wheel to the current time and applies the deadlines that passed.
+     * The wheel's lock is released before any task is written.
+     * @return the number of tasks changed
+     */
+    int tick() {
+        List<String> taskIds = new ArrayList<>();
+        List<Type> types = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(Math.floorDiv(clock.millis(), tickMillis), (taskId, type) -> {
+                taskIds.add(taskId);
+                types.add(type);
+            });
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        int changed = 0;
+        for (int i = 0; i < taskIds.size(); i++) {
+            if (apply(taskIds.get(i), types.get(i), now)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Applies a fired timer if its deadline still stands, retrying on the
+     * newer version when a concurrent write gets in between.
+     */
+    private boolean apply(String taskId, Type type, LocalDateTime now) {
+        TaskService service = taskService.get();
+        while (true) {
+            Task task = service.getTaskById(taskId).orElse(null);
+            LocalDateTime deadline = deadline(task, type);
+            if (deadline == null || deadline.isAfter(now)) {
+                return false;
+            }
+            TaskStatus status = type == Type.LEASE ? TaskStatus.PENDING : null;
+            Task update = new Task(taskId, null, null, status, null, null, null);
+            update.setOverdue(type == Type.DUE);
+            update.setReminded(type == Type.REMINDER);
+            try {
+                service.updateTask(taskId, update, Set.of(task.getVersion()));
+                (type == Type.DUE ? overdue : type == Type.REMINDER ? reminders : expiredLeases).increment();
+                return true;
+            } catch (TaskVersionConflictException e) {
+                LOG.debug("Task {} changed before its {} deadline was applied", taskId, type);
+            }
+        }
+    }
+
+    /**
+     * Gets the deadline of a task that is still waiting to pass.
+     * @return the due, reminder or lease expiry time, or null if there is none or it was already applied
+     */
+    private static LocalDateTime deadline(Task task, Type type) {
+        if (task == null || task.getStatus() == TaskStatus.COMPLETED || task.getStatus() == TaskStatus.CANCELLED) {
+            return null;
+        }
+        return switch (type) {
+            case DUE -> task.isOverdue() ? null : task.getDueAt();
+            case REMINDER -> task.isReminded() ? null : task.getRemindAt();
+            case LEASE -> task.getStatus() == TaskStatus.IN_PROGRESS ? task.getLeaseExpiresAt() : null;
+        };
+    }
+
+    /**
+     * Converts a time to the first tick that starts at or after it, so that a
+     * timer never fires before its deadline.
+     */
+    private long tickOf(LocalDateTime time) {
+        Instant instant = time.atZone(clock.getZone()).toInstant();
+        long seconds = Math.max(0, Math.min(instant.getEpochSecond(), MAX_EPOCH_SECOND));
+        long millis = seconds * 1_000 + (instant.getNano() + 999_999) / 1_000_000;
+        return Math.ceilDiv(millis, tickMillis);
+    }
+}
@@ -0,0 +1,215 @@
+package com.devops.taskmanager.service;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel holding task deadlines as whole ticks.
+ *
+ * <p>Six levels of 64 slots each; a slot on level {@code n} spans
+ * {@code 64^n} ticks, so with one-second ticks the wheel reaches about 2000
+ * years ahead, and anything further is parked in the last level until it
+ * comes into range. Scheduling puts a timer into the slot for its deadline
+ * in constant time. Advancing visits one level-0 slot per tick and, when a
+ * slot on a higher level comes due, moves its timers one or more levels
+ * down, so every timer is touched at most once per level no matter how many
+ * others are pending.</p>
+ *
+ * <p>Timers are never cancelled: callers check whether a fired deadline still
+ * applies. They live in parallel primitive arrays with the slot lists linked
+ * through them, so a pending timer costs 17 bytes of array space and no
+ * object of its own, and freed entries are reused. Not thread-safe, and the
+ * expiry callback must not schedule timers.</p>
+ */
+final class TaskDeadlineWheel {
+
+    /**
+     * What a timer is for.
+     */
+    enum Type {
+        DUE,
+        REMINDER,
+        LEASE
+    }
+
+    /**
+     * Receiver of fired timers.
+     */
+    @FunctionalInterface
+    interface Expiry {
+        void expired(String taskId, Type type);
+    }
+
+    private static final int LEVELS = 6;
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int NONE = -1;
+
+    private static final Type[] TYPES = Type.values();
+
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    private long[] deadlines;
+
+    private String[] taskIds;
+
+    private byte[] types;
+
+    private int[] next;
+
+    private int free = NONE;
+
+    private int used;
+
+    private int size;
+
+    private long now;
+
+    /**
+     * Creates an empty wheel.
+     * @param startTick the first tick {@link #advance} will process
+     * @param initialCapacity number of timers to make room for up front
+     */
+    TaskDeadlineWheel(long startTick, int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.deadlines = new long[capacity];
+        this.taskIds = new String[capacity];
+        this.types = new byte[capacity];
+        this.next = new int[capacity];
+        this.now = startTick;
+        Arrays.fill(heads, NONE);
+    }
+
+    /**
+     * Adds a timer. A deadline that has already passed fires on the next advance.
+     * @param deadline the tick at which the timer fires
+     * @param taskId the task the timer belongs to
+     * @param type what the timer is for
+     */
+    void schedule(long deadline, String taskId, Type type) {
+        int node = allocate();
+        deadlines[node] = deadline;
+        taskIds[node] = taskId;
+        types[node] = (byte) type.ordinal();
+        insert(node);
+        size++;
+    }
+
+    /**
+     * Fires every timer due up to and including the given tick.
+     * An empty wheel skips straight to the tick.
+     * @param tick the current tick; earlier ticks than already processed are ignored
+     * @param expiry receiver of the fired timers
+     * @return the number of timers fired
+     */
+    int advance(long tick, Expiry expiry) {
+        int fired = 0;
+        while (now <= tick) {
+            if (size == 0) {
+                now = tick + 1;
+                break;
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((now & ((1L << level * SLOT_BITS) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            int node = detach(0, (int) (now & SLOT_MASK));
+            while (node != NONE) {
+                int following = next[node];
+                if (deadlines[node] <= now) {
+                    String taskId = taskIds[node];
+                    Type type = TYPES[types[node]];
+                    release(node);
+                    expiry.expired(taskId, type);
+                    fired++;
+                } else {
+                    insert(node);
+                }
+                node = following;
+            }
+            now++;
+        }
+        return fired;
+    }
+
+    /**
+     * Gets the number of pending timers.
+     * @return the timer count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the next tick {@link #advance} will process.
+     * @return the tick
+     */
+    long currentTick() {
+        return now;
+    }
+
+    /**
+     * Links a node into the slot for its deadline: the lowest level whose
+     * 64 slots, counted from the current tick, still reach the deadline.
+     */
+    private void insert(int node) {
+        long deadline = Math.max(deadlines[node], now);
+        long delta = deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (level + 1) * SLOT_BITS) {
+            level++;
+        }
+        if (level == LEVELS - 1 && delta >= 1L << LEVELS * SLOT_BITS) {
+            deadline = now + (1L << LEVELS * SLOT_BITS) - 1;
+        }
+        int slot = level * SLOTS + (int) ((deadline >>> level * SLOT_BITS) & SLOT_MASK);
+        next[node] = heads[slot];
+        heads[slot] = node;
+    }
+
+    /**
+     * Re-inserts the timers of the higher-level slot that starts at the current tick.
+     */
+    private void cascade(int level) {
+        int node = detach(level, (int) ((now >>> level * SLOT_BITS) & SLOT_MASK));
+        while (node != NONE) {
+            int following = next[node];
+            insert(node);
+            node = following;
+        }
+    }
+
+    private int detach(int level, int slot) {
+        int head = heads[level * SLOTS + slot];
+        heads[level * SLOTS + slot] = NONE;
+        return head;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int node = free;
+            free = next[node];
+            return node;
+        }
+        if (used == deadlines.length) {
+            int capacity = deadlines.length << 1;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int node) {
+        taskIds[node] = null;
+        next[node] = free;
+        free = node;
+        size--;
+    }
+}
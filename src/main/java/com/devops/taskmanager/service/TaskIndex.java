@@ -0,0 +1,169 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over the task store.
+ * Keeps the IDs of tasks grouped by status, by priority and by the
+ * status/priority pair, so filtered reads only touch matching tasks, plus a
+ * creation-ordered key set used for stable cursor pagination and an
+ * update-ordered one for queries sorted or filtered by update time.
+ * Callers are expected to mutate the index while holding the store entry
+ * for the task (see {@link TaskService}), which keeps it consistent per task.
+ */
+class TaskIndex implements TaskMutationListener {
+
+    private final Map<TaskStatus, Set<String>> byStatus = new EnumMap<>(TaskStatus.class);
+
+    private final Map<TaskPriority, Set<String>> byPriority = new EnumMap<>(TaskPriority.class);
+
+    private final Map<TaskStatus, Map<TaskPriority, Set<String>>> byStatusAndPriority =
+            new EnumMap<>(TaskStatus.class);
+
+    private final NavigableSet<TaskKey> creationOrder = new ConcurrentSkipListSet<>();
+
+    private final NavigableSet<TaskKey> updateOrder = new ConcurrentSkipListSet<>();
+
+    TaskIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+            Map<TaskPriority, Set<String>> combined = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : TaskPriority.values()) {
+                combined.put(priority, ConcurrentHashMap.newKeySet());
+            }
+            byStatusAndPriority.put(status, combined);
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        if (previous == null) {
+            add(current.getId(), current.getStatus(), current.getPriority());
+            track(TaskKey.of(current));
+            updateOrder.add(TaskKey.updated(current));
+        } else if (current == null) {
+            remove(previous.getId(), previous.getStatus(), previous.getPriority());
+            untrack(TaskKey.of(previous));
+            updateOrder.remove(TaskKey.updated(previous));
+        } else {
+            move(current.getId(), previous.getStatus(), previous.getPriority(),
+                    current.getStatus(), current.getPriority());
+            TaskKey before = TaskKey.of(previous);
+            TaskKey after = TaskKey.of(current);
+            if (!before.equals(after)) {
+                track(after);
+                untrack(before);
+            }
+            TaskKey updatedBefore = TaskKey.updated(previous);
+            TaskKey updatedAfter = TaskKey.updated(current);
+            if (!updatedBefore.equals(updatedAfter)) {
+                updateOrder.add(updatedAfter);
+                updateOrder.remove(updatedBefore);
+            }
+        }
+    }
+
+    /**
+     * Adds a task ID under the given status and priority.
+     * Null values are not indexed.
+     */
+    void add(String id, TaskStatus status, TaskPriority priority) {
+        if (status != null) {
+            byStatus.get(status).add(id);
+        }
+        if (priority != null) {
+            byPriority.get(priority).add(id);
+        }
+        if (status != null && priority != null) {
+            byStatusAndPriority.get(status).get(priority).add(id);
+        }
+    }
+
+    /**
+     * Removes a task ID from the given status and priority.
+     */
+    void remove(String id, TaskStatus status, TaskPriority priority) {
+        if (status != null) {
+            byStatus.get(status).remove(id);
+        }
+        if (priority != null) {
+            byPriority.get(priority).remove(id);
+        }
+        if (status != null && priority != null) {
+            byStatusAndPriority.get(status).get(priority).remove(id);
+        }
+    }
+
+    /**
+     * Moves a task ID between index entries after a status or priority change.
+     * The new entries are added before the old ones are dropped so concurrent
+     * readers never miss the task; they filter on the live status instead.
+     */
+    void move(String id, TaskStatus oldStatus, TaskPriority oldPriority,
+              TaskStatus newStatus, TaskPriority newPriority) {
+        if (oldStatus == newStatus && oldPriority == newPriority) {
+            return;
+        }
+        add(id, newStatus, newPriority);
+        if (oldStatus != newStatus && oldStatus != null) {
+            byStatus.get(oldStatus).remove(id);
+        }
+        if (oldPriority != newPriority && oldPriority != null) {
+            byPriority.get(oldPriority).remove(id);
+        }
+        if (oldStatus != null && oldPriority != null) {
+            byStatusAndPriority.get(oldStatus).get(oldPriority).remove(id);
+        }
+    }
+
+    Set<String> idsByStatus(TaskStatus status) {
+        return Collections.unmodifiableSet(byStatus.get(status));
+    }
+
+    Set<String> idsByPriority(TaskPriority priority) {
+        return Collections.unmodifiableSet(byPriority.get(priority));
+    }
+
+    Set<String> ids(TaskStatus status, TaskPriority priority) {
+        return Collections.unmodifiableSet(byStatusAndPriority.get(status).get(priority));
+    }
+
+    /**
+     * Records a task's position in creation order.
+     */
+    void track(TaskKey key) {
+        creationOrder.add(key);
+    }
+
+    /**
+     * Drops a task from creation order.
+     */
+    void untrack(TaskKey key) {
+        creationOrder.remove(key);
+    }
+
+    NavigableSet<TaskKey> creationOrder() {
+        return Collections.unmodifiableNavigableSet(creationOrder);
+    }
+
+    /**
+     * Gets the keys of all tasks ordered by update time, then ID.
+     * While an update is in flight a task may briefly have both its old and new key.
+     */
+    NavigableSet<TaskKey> updateOrder() {
+        return Collections.unmodifiableNavigableSet(updateOrder);
+    }
+}
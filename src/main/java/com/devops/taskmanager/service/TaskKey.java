@@ -0,0 +1,105 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Stable ordering key for tasks: a timestamp, then ID.
+ * Keyed on creation time it also doubles as the opaque pagination cursor
+ * handed out to clients; keyed on update time it orders recent changes.
+ */
+final class TaskKey implements Comparable<TaskKey> {
+
+    private static final Comparator<TaskKey> ORDER = Comparator
+            .comparing((TaskKey key) -> key.time)
+            .thenComparing(key -> key.id);
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime time;
+
+    private final String id;
+
+    TaskKey(LocalDateTime time, String id) {
+        this.time = time == null ? LocalDateTime.MIN : time;
+        this.id = id;
+    }
+
+    static TaskKey of(Task task) {
+        return new TaskKey(task.getCreatedAt(), task.getId());
+    }
+
+    static TaskKey updated(Task task) {
+        return new TaskKey(task.getUpdatedAt(), task.getId());
+    }
+
+    /**
+     * Gets the key that sorts before every task with the given time or later.
+     * @param time the time, or null for the start of time
+     */
+    static TaskKey first(LocalDateTime time) {
+        return new TaskKey(time, "");
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this key as an opaque, URL-safe cursor.
+     */
+    String toCursor() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #toCursor()}.
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    static TaskKey fromCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        try {
+            return new TaskKey(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    @Override
+    public int compareTo(TaskKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaskKey)) {
+            return false;
+        }
+        TaskKey that = (TaskKey) other;
+        return time.equals(that.time) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(time, id);
+    }
+}
@@ -0,0 +1,70 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.TaskArchive;
+import com.devops.taskmanager.persistence.TaskPersistence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Creates the task service, timed unless {@code taskmanager.metrics.sample-rate}
+ * is 0, and publishes the task counts it keeps.
+ */
+@Configuration
+public class TaskMetricsConfig {
+
+    /**
+     * The task service, with operation timers.
+     * @param persistence the durability layer for task writes
+     * @param taskStore the primary task storage
+     * @param listeners callbacks told about every change to the store
+     * @param archive cold storage for finished tasks
+     * @param registry the registry the timers are published to
+     * @param sampleRate time one in this many single-task calls, pages and searches; 0 turns the timers off
+     * @return the service
+     */
+    @Bean
+    public TaskService taskService(TaskPersistence persistence, TaskRepository taskStore,
+                                   List<TaskMutationListener> listeners, TaskArchive archive,
+                                   MeterRegistry registry,
+                                   @Value("${taskmanager.metrics.sample-rate:64}") int sampleRate) {
+        if (sampleRate == 0) {
+            return new TaskService(persistence, taskStore, listeners, archive);
+        }
+        return new InstrumentedTaskService(persistence, taskStore, listeners, archive, registry, sampleRate);
+    }
+
+    /**
+     * Publishes the store size and the task counts by status and priority.
+     * All of them read live counters, so scraping them is constant time.
+     * @param taskService the task service
+     * @return the binder
+     */
+    @Bean
+    public MeterBinder taskCountMetrics(TaskService taskService) {
+        return registry -> {
+            Gauge.builder("taskmanager.store.size", taskService, TaskService::getTaskCount)
+                    .description("Number of stored tasks")
+                    .register(registry);
+            for (TaskStatus status : TaskStatus.values()) {
+                Gauge.builder("taskmanager.tasks.status", taskService, s -> s.getTaskCount(status))
+                        .tag("status", status.name())
+                        .description("Number of stored tasks by status")
+                        .register(registry);
+            }
+            for (TaskPriority priority : TaskPriority.values()) {
+                Gauge.builder("taskmanager.tasks.priority", taskService, s -> s.getTaskCount(priority))
+                        .tag("priority", priority.name())
+                        .description("Number of stored tasks by priority")
+                        .register(registry);
+            }
+        };
+    }
+}
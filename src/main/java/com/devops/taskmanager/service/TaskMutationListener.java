@@ -0,0 +1,32 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+/**
+ * Callback for every change to the task store.
+ *
+ * <p>{@link TaskService} calls listeners while it still holds the store
+ * entry for the task, so per task they see changes in the order they were
+ * applied. Implementations must therefore be fast and must never block.
+ * Once the entry is released and the change can be read back, the same
+ * change is passed to {@link #afterTaskChanged(Task, Task)}.</p>
+ */
+public interface TaskMutationListener {
+
+    /**
+     * Called after a task was created, replaced, updated or deleted.
+     * Both tasks are immutable snapshots.
+     * @param previous the task before the change, or null if it was created
+     * @param current the task after the change, or null if it was deleted
+     */
+    void onTaskChanged(Task previous, Task current);
+
+    /**
+     * Called once a change passed to {@link #onTaskChanged(Task, Task)} is
+     * visible to readers of the store, on the thread that made it.
+     * @param previous the task before the change, or null if it was created
+     * @param current the task after the change, or null if it was deleted
+     */
+    default void afterTaskChanged(Task previous, Task current) {
+    }
+}
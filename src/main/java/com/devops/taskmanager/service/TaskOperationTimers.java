@@ -0,0 +1,116 @@
+package com.devops.taskmanager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the task service operations.
+ *
+ * <p>Single-task operations, pages, searches and queries take from tens of
+ * nanoseconds to a few microseconds, while recording a timer reads the clock
+ * twice and updates a histogram for a few hundred. Those calls are therefore
+ * timed on a random sample: one call in {@code sampleRate} reads the clock,
+ * the rest pay for one random number. Their timer counts are sampled too;
+ * multiply them by the sample rate for call rates. Listings and batches cost
+ * far more than the timer and are timed on every call.</p>
+ */
+final class TaskOperationTimers {
+
+    /**
+     * Returned by {@link #start(Operation)} for calls that are not sampled.
+     */
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    /**
+     * Operations with their own timer, tagged by {@link #tag()}.
+     */
+    enum Operation {
+        CREATE(true), GET(true), UPDATE(true), DELETE(true), PAGE(true), SEARCH(true), QUERY(true), CLAIM(true),
+        LIST(false), FILTER(false), CREATE_BATCH(false), UPDATE_BATCH(false), DELETE_BATCH(false),
+        ARCHIVE(false);
+
+        private final boolean sampled;
+
+        Operation(boolean sampled) {
+            this.sampled = sampled;
+        }
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    /**
+     * Histogram bucket bounds, 1, 2.5 and 5 per decade from 100 nanoseconds to 10 seconds.
+     */
+    private static final Duration[] BUCKETS = buckets();
+
+    private final Timer[] timers = new Timer[Operation.values().length];
+
+    private final int sampleMask;
+
+    /**
+     * Registers one timer per operation.
+     * @param registry the registry to publish to
+     * @param sampleRate time one sampled call in this many, rounded up to a power of two
+     */
+    TaskOperationTimers(MeterRegistry registry, int sampleRate) {
+        if (sampleRate < 1 || sampleRate > 1 << 20) {
+            throw new IllegalArgumentException("Sample rate must be between 1 and 2^20");
+        }
+        int rate = Integer.highestOneBit(sampleRate);
+        this.sampleMask = (rate == sampleRate ? rate : rate << 1) - 1;
+        for (Operation operation : Operation.values()) {
+            timers[operation.ordinal()] = Timer.builder("taskmanager.service.operation")
+                    .tag("operation", operation.tag())
+                    .description("Latency of task service operations")
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(registry);
+        }
+    }
+
+    private static Duration[] buckets() {
+        Duration[] buckets = new Duration[25];
+        long decade = 100;
+        for (int i = 0; i < buckets.length; i++) {
+            long nanos = switch (i % 3) {
+                case 0 -> decade;
+                case 1 -> decade * 5 / 2;
+                default -> decade * 5;
+            };
+            buckets[i] = Duration.ofNanos(nanos);
+            if (i % 3 == 2) {
+                decade *= 10;
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Starts timing a call if it is sampled.
+     * @param operation the operation being called
+     * @return the start time, or {@link #NOT_SAMPLED}
+     */
+    long start(Operation operation) {
+        if (operation.sampled && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a call started with {@link #start(Operation)}; does nothing if it was not sampled.
+     * @param operation the operation that was called
+     * @param start the value returned by {@link #start(Operation)}
+     */
+    void stop(Operation operation, long start) {
+        if (start != NOT_SAMPLED) {
+            timers[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
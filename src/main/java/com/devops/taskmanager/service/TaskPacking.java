@@ -0,0 +1,142 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Encodings shared by the stores that keep tasks as primitives rather than objects.
+ *
+ * <p>A task ID in the canonical UUID form becomes two longs, a timestamp
+ * becomes nanoseconds since the epoch in UTC (so it reads back exactly),
+ * and the version, status and priority share one long: the version in the
+ * upper 56 bits, the status ordinal in bits 0-2 and the priority ordinal in
+ * bits 3-5. Bit 7 is left to the stores to mark live slots.</p>
+ */
+final class TaskPacking {
+
+    private static final int MAX_ORDINAL = 7;
+
+    private static final long MAX_VERSION = (1L << 55) - 1;
+
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / 1_000_000_000L - 1;
+
+    private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / 1_000_000_000L + 1;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private static final byte[] HEX = new byte[128];
+
+    static {
+        Arrays.fill(HEX, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX["0123456789abcdef".charAt(i)] = (byte) i;
+        }
+    }
+
+    private TaskPacking() {
+    }
+
+    /**
+     * Parses an ID in the form {@link java.util.UUID#toString()} produces.
+     * Anything else, including upper-case hex, returns null, so that an ID
+     * rebuilt from the two longs is always equal to the one stored.
+     * @return the most and least significant bits, or null
+     */
+    static long[] parseUuid(String id) {
+        if (id == null || id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-'
+                || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        long hi1 = parseHex4(id, 0);
+        long hi2 = parseHex4(id, 4);
+        long hi3 = parseHex4(id, 9);
+        long hi4 = parseHex4(id, 14);
+        long lo1 = parseHex4(id, 19);
+        long lo2 = parseHex4(id, 24);
+        long lo3 = parseHex4(id, 28);
+        long lo4 = parseHex4(id, 32);
+        if ((hi1 | hi2 | hi3 | hi4 | lo1 | lo2 | lo3 | lo4) < 0) {
+            return null;
+        }
+        return new long[] {hi1 << 48 | hi2 << 32 | hi3 << 16 | hi4, lo1 << 48 | lo2 << 32 | lo3 << 16 | lo4};
+    }
+
+    /**
+     * Checks that a task has every field the packed form needs, with values it can hold.
+     * Tasks with a due or reminder time or a claim lease are left unpacked; the packed form has no room for them.
+     */
+    static boolean packable(Task task) {
+        return task.getStatus() != null && task.getStatus().ordinal() <= MAX_ORDINAL
+                && task.getPriority() != null && task.getPriority().ordinal() <= MAX_ORDINAL
+                && task.getVersion() >= 0 && task.getVersion() <= MAX_VERSION
+                && fits(task.getCreatedAt()) && fits(task.getUpdatedAt())
+                && task.getDueAt() == null && task.getRemindAt() == null && !task.isOverdue() && !task.isReminded()
+                && task.getLeaseExpiresAt() == null;
+    }
+
+    static long toNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    static LocalDateTime fromNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /**
+     * Packs the version, status and priority of a task, with the given flags in bits 6 and 7.
+     */
+    static long meta(Task task, int flags) {
+        return task.getVersion() << 8 | flags | task.getPriority().ordinal() << 3 | task.getStatus().ordinal();
+    }
+
+    static TaskStatus status(long meta) {
+        return STATUSES[(int) meta & 0x07];
+    }
+
+    static TaskPriority priority(long meta) {
+        return PRIORITIES[(int) (meta >> 3) & 0x07];
+    }
+
+    static long version(long meta) {
+        return meta >>> 8;
+    }
+
+    /**
+     * Mixes both halves of a UUID into a well-spread table hash.
+     */
+    static int hash(long hi, long lo) {
+        long h = (hi ^ lo) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean fits(LocalDateTime time) {
+        if (time == null) {
+            return false;
+        }
+        long second = time.toEpochSecond(ZoneOffset.UTC);
+        return second >= MIN_EPOCH_SECOND && second <= MAX_EPOCH_SECOND;
+    }
+
+    /**
+     * Parses four lowercase hex digits, four at a time like {@link java.util.UUID#fromString}.
+     * @return the value, or a negative number if any character is not a digit
+     */
+    private static long parseHex4(String id, int from) {
+        char c1 = id.charAt(from);
+        char c2 = id.charAt(from + 1);
+        char c3 = id.charAt(from + 2);
+        char c4 = id.charAt(from + 3);
+        if ((c1 | c2 | c3 | c4) >= HEX.length) {
+            return -1;
+        }
+        return HEX[c1] << 12 | HEX[c2] << 8 | HEX[c3] << 4 | HEX[c4];
+    }
+}
@@ -0,0 +1,363 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
+import com.devops.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Plans and runs reads over the secondary indexes.
+ *
+ * <p>A query filters on sets of statuses and priorities and on creation and
+ * update time ranges, and returns the first {@code limit} matches in the
+ * requested order. It is answered from one of three access paths: walking
+ * the sorted index of the sort field until the limit is reached, reading the
+ * status/priority buckets, or reading a time range of the other timestamp
+ * index. The last two keep the best matches in a heap bounded by the limit,
+ * so no plan sorts more than {@code limit} tasks. The planner picks the path
+ * that reads the fewest tasks: a bucket costs its size, a range costs its
+ * size counted up to the cheapest cost found so far, and a walk costs the
+ * limit divided by the share of tasks the status and priority filters keep.
+ * Priority order is served as one creation-time query per priority.</p>
+ */
+final class TaskQueryPlanner {
+
+    /**
+     * Where a query reads its candidate tasks from.
+     */
+    enum Access {
+        SORTED_INDEX, BUCKETS, CREATED_RANGE, UPDATED_RANGE
+    }
+
+    /**
+     * The chosen access path and the estimated number of tasks it reads.
+     */
+    record Plan(Access access, long cost) {
+    }
+
+    private final TaskIndex taskIndex;
+
+    private final TaskRepository taskStore;
+
+    TaskQueryPlanner(TaskIndex taskIndex, TaskRepository taskStore) {
+        this.taskIndex = taskIndex;
+        this.taskStore = taskStore;
+    }
+
+    /**
+     * Retrieves one page of tasks in stable creation order (createdAt, then ID).
+     * @see TaskService#getTaskPage(String, int, TaskStatus, TaskPriority)
+     */
+    TaskPage page(String cursor, int limit, TaskStatus status, TaskPriority priority) {
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be positive");
+        }
+        Collection<TaskKey> keys = cursor == null || cursor.isBlank()
+                ? taskIndex.creationOrder()
+                : taskIndex.creationOrder().tailSet(TaskKey.fromCursor(cursor), false);
+        List<Task> items = new ArrayList<>(Math.min(limit, 1024));
+        TaskKey last = null;
+        for (TaskKey key : keys) {
+            Task task = taskStore.get(key.getId());
+            if (task == null || !matches(task, status, priority)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new TaskPage(items, last.toCursor());
+            }
+            items.add(task);
+            last = key;
+        }
+        return new TaskPage(items, null);
+    }
+
+    /**
+     * Runs a multi-field query.
+     * @see TaskService#queryTasks(TaskQuery)
+     */
+    List<Task> query(TaskQuery query) {
+        Filter filter = Filter.of(query);
+        boolean descending = descending(query.getOrder());
+        int limit = query.getLimit();
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be positive");
+        }
+        String sort = query.getSort() == null ? "createdAt" : query.getSort();
+        return switch (sort) {
+            case "createdAt" -> run(filter, Field.CREATED_AT, descending, limit);
+            case "updatedAt" -> run(filter, Field.UPDATED_AT, descending, limit);
+            case "priority" -> byPriority(filter, descending, limit);
+            default -> throw new InvalidRequestException("Unknown sort field: " + sort);
+        };
+    }
+
+    /**
+     * Picks the access path for a query sorted by creation or update time.
+     */
+    Plan plan(Filter filter, Field sort, int limit) {
+        List<Bucket> buckets = buckets(filter);
+        long total = Math.max(1, taskStore.size());
+        long matching = filter.statuses == null && filter.priorities == null ? total : size(buckets);
+        if (matching == 0) {
+            return new Plan(Access.BUCKETS, 0);
+        }
+        long walk = (long) Math.min(Long.MAX_VALUE, Math.ceil((double) limit * total / matching));
+        if (filter.bounded(sort)) {
+            walk = Math.min(walk, countUpTo(range(filter, sort), walk));
+        }
+        Plan best = new Plan(Access.SORTED_INDEX, walk);
+        if (matching < total && matching < best.cost()) {
+            best = new Plan(Access.BUCKETS, matching);
+        }
+        for (Field field : Field.values()) {
+            if (field != sort && filter.bounded(field)) {
+                long size = countUpTo(range(filter, field), best.cost());
+                if (size < best.cost()) {
+                    best = new Plan(field.range, size);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Shared filter test for listings: a null status or priority matches anything.
+     */
+    static boolean matches(Task task, TaskStatus status, TaskPriority priority) {
+        return (status == null || task.getStatus() == status)
+                && (priority == null || task.getPriority() == priority);
+    }
+
+    /**
+     * Serves priority order as one creation-time query per priority, highest
+     * first when descending, until the limit is filled.
+     */
+    private List<Task> byPriority(Filter filter, boolean descending, int limit) {
+        List<TaskPriority> levels = List.of(TaskPriority.values());
+        if (descending) {
+            levels = levels.reversed();
+        }
+        List<Task> results = new ArrayList<>(Math.min(limit, 1024));
+        for (TaskPriority level : levels) {
+            if (results.size() == limit) {
+                break;
+            }
+            if (filter.priorities == null || filter.priorities.contains(level)) {
+                int remaining = limit - results.size();
+                results.addAll(run(filter.withPriority(level), Field.CREATED_AT, descending, remaining));
+            }
+        }
+        return results;
+    }
+
+    private List<Task> run(Filter filter, Field sort, boolean descending, int limit) {
+        Plan plan = plan(filter, sort, limit);
+        if (plan.cost() == 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Task> order = Comparator.comparing(sort.key);
+        if (descending) {
+            order = order.reversed();
+        }
+        return switch (plan.access()) {
+            case SORTED_INDEX -> walk(filter, sort, descending, limit);
+            case BUCKETS -> readBuckets(filter, order, limit);
+            case CREATED_RANGE -> readRange(filter, Field.CREATED_AT, order, limit);
+            case UPDATED_RANGE -> readRange(filter, Field.UPDATED_AT, order, limit);
+        };
+    }
+
+    /**
+     * Walks the sort index in order and stops at the limit. A task whose key
+     * no longer matches is mid-update and is served under its new key.
+     */
+    private List<Task> walk(Filter filter, Field sort, boolean descending, int limit) {
+        NavigableSet<TaskKey> keys = range(filter, sort);
+        List<Task> results = new ArrayList<>(Math.min(limit, 1024));
+        for (TaskKey key : descending ? keys.descendingSet() : keys) {
+            Task task = taskStore.get(key.getId());
+            if (task != null && key.equals(sort.key.apply(task)) && filter.matches(task)) {
+                results.add(task);
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads every task in the matching buckets. A task being moved between
+     * buckets is only taken from the bucket of its current status and priority.
+     */
+    private List<Task> readBuckets(Filter filter, Comparator<Task> order, int limit) {
+        PriorityQueue<Task> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        for (Bucket bucket : buckets(filter)) {
+            for (String id : bucket.ids()) {
+                Task task = taskStore.get(id);
+                if (task != null && matches(task, bucket.status(), bucket.priority()) && filter.matches(task)) {
+                    offer(best, task, limit);
+                }
+            }
+        }
+        return sorted(best, order);
+    }
+
+    private List<Task> readRange(Filter filter, Field field, Comparator<Task> order, int limit) {
+        PriorityQueue<Task> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        for (TaskKey key : range(filter, field)) {
+            Task task = taskStore.get(key.getId());
+            if (task != null && key.equals(field.key.apply(task)) && filter.matches(task)) {
+                offer(best, task, limit);
+            }
+        }
+        return sorted(best, order);
+    }
+
+    private static void offer(PriorityQueue<Task> best, Task task, int limit) {
+        best.add(task);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static List<Task> sorted(PriorityQueue<Task> best, Comparator<Task> order) {
+        List<Task> results = new ArrayList<>(best);
+        results.sort(order);
+        return results;
+    }
+
+    /**
+     * Gets the status/priority buckets covering the filter, or none if it does not filter on either.
+     */
+    private List<Bucket> buckets(Filter filter) {
+        List<Bucket> buckets = new ArrayList<>();
+        if (filter.statuses == null && filter.priorities != null) {
+            filter.priorities.forEach(p -> buckets.add(new Bucket(taskIndex.idsByPriority(p), null, p)));
+        } else if (filter.statuses != null && filter.priorities == null) {
+            filter.statuses.forEach(s -> buckets.add(new Bucket(taskIndex.idsByStatus(s), s, null)));
+        } else if (filter.statuses != null) {
+            for (TaskStatus status : filter.statuses) {
+                filter.priorities.forEach(p -> buckets.add(new Bucket(taskIndex.ids(status, p), status, p)));
+            }
+        }
+        return buckets;
+    }
+
+    private static long size(List<Bucket> buckets) {
+        long size = 0;
+        for (Bucket bucket : buckets) {
+            size += bucket.ids().size();
+        }
+        return size;
+    }
+
+    private NavigableSet<TaskKey> range(Filter filter, Field field) {
+        NavigableSet<TaskKey> keys = field == Field.CREATED_AT ? taskIndex.creationOrder() : taskIndex.updateOrder();
+        LocalDateTime from = field == Field.CREATED_AT ? filter.createdFrom : filter.updatedFrom;
+        LocalDateTime to = field == Field.CREATED_AT ? filter.createdTo : filter.updatedTo;
+        if (from != null) {
+            keys = keys.tailSet(TaskKey.first(from), true);
+        }
+        if (to != null) {
+            keys = keys.headSet(TaskKey.first(to), false);
+        }
+        return keys;
+    }
+
+    /**
+     * Counts keys, giving up once the count reaches the cap: skip-list sizes take a full scan.
+     */
+    private static long countUpTo(NavigableSet<TaskKey> keys, long cap) {
+        long count = 0;
+        for (TaskKey ignored : keys) {
+            if (++count >= cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static boolean descending(String order) {
+        if (order == null || order.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (order.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new InvalidRequestException("Order must be asc or desc");
+    }
+
+    /**
+     * Timestamps a query can be sorted and ranged on, each with its own sorted index.
+     */
+    enum Field {
+        CREATED_AT(TaskKey::of, Access.CREATED_RANGE),
+        UPDATED_AT(TaskKey::updated, Access.UPDATED_RANGE);
+
+        private final Function<Task, TaskKey> key;
+
+        private final Access range;
+
+        Field(Function<Task, TaskKey> key, Access range) {
+            this.key = key;
+            this.range = range;
+        }
+    }
+
+    private record Bucket(Set<String> ids, TaskStatus status, TaskPriority priority) {
+    }
+
+    /**
+     * A query's filters, with status and priority sets left null when they match anything.
+     */
+    record Filter(Set<TaskStatus> statuses, Set<TaskPriority> priorities,
+                  LocalDateTime createdFrom, LocalDateTime createdTo,
+                  LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+
+        static Filter of(TaskQuery query) {
+            return new Filter(
+                    query.getStatus() == null || query.getStatus().isEmpty()
+                            || query.getStatus().size() == TaskStatus.values().length
+                            ? null : EnumSet.copyOf(query.getStatus()),
+                    query.getPriority() == null || query.getPriority().isEmpty()
+                            || query.getPriority().size() == TaskPriority.values().length
+                            ? null : EnumSet.copyOf(query.getPriority()),
+                    query.getCreatedFrom(), query.getCreatedTo(), query.getUpdatedFrom(), query.getUpdatedTo());
+        }
+
+        Filter withPriority(TaskPriority priority) {
+            return new Filter(statuses, EnumSet.of(priority), createdFrom, createdTo, updatedFrom, updatedTo);
+        }
+
+        boolean bounded(Field field) {
+            return field == Field.CREATED_AT
+                    ? createdFrom != null || createdTo != null
+                    : updatedFrom != null || updatedTo != null;
+        }
+
+        boolean matches(Task task) {
+            return (statuses == null || statuses.contains(task.getStatus()))
+                    && (priorities == null || priorities.contains(task.getPriority()))
+                    && within(task.getCreatedAt(), createdFrom, createdTo)
+                    && within(task.getUpdatedAt(), updatedFrom, updatedTo);
+        }
+
+        private static boolean within(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+            LocalDateTime at = time == null ? LocalDateTime.MIN : time;
+            return (from == null || !at.isBefore(from)) && (to == null || at.isBefore(to));
+        }
+    }
+}
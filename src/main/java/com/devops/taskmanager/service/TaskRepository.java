@@ -0,0 +1,77 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Primary storage for tasks, keyed by ID.
+ *
+ * <p>Writes for one ID are atomic and applied one after another, which is
+ * what {@link TaskService} relies on to keep its indexes in step with the
+ * store. Reads never block. Iteration is weakly consistent with concurrent
+ * writes.</p>
+ */
+public interface TaskRepository {
+
+    /**
+     * Looks up a task.
+     * @param id the task ID
+     * @return the task, or null if there is none
+     */
+    Task get(String id);
+
+    /**
+     * Atomically replaces, creates or removes the task with the given ID.
+     * @param id the task ID
+     * @param remapping receives the ID and the current task (or null); returns the new task, or null to remove it
+     * @return the new task, or null if there is none
+     */
+    Task compute(String id, BiFunction<String, Task, Task> remapping);
+
+    /**
+     * Atomically replaces or removes the task with the given ID, if there is one.
+     * @param id the task ID
+     * @param remapping receives the ID and the current task; returns the new task, or null to remove it
+     * @return the new task, or null if there is none
+     */
+    Task computeIfPresent(String id, BiFunction<String, Task, Task> remapping);
+
+    /**
+     * Gets the number of stored tasks.
+     * @return the task count
+     */
+    long size();
+
+    /**
+     * Streams the IDs of all stored tasks.
+     * @return the task IDs
+     */
+    Stream<String> ids();
+
+    /**
+     * Looks up the tasks with the given IDs that pass a filter, in no particular order.
+     * IDs without a task are skipped.
+     * @param ids the task IDs
+     * @param filter the filter
+     * @return the matching tasks
+     */
+    List<Task> getAll(Collection<String> ids, Predicate<Task> filter);
+
+    /**
+     * Collects every stored task, in no particular order.
+     * @return all tasks
+     */
+    List<Task> findAll();
+
+    /**
+     * Collects every task that passes a filter, in no particular order.
+     * @param filter the filter
+     * @return the matching tasks
+     */
+    List<Task> findAll(Predicate<Task> filter);
+}
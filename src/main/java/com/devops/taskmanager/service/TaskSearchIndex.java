@@ -0,0 +1,321 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * In-process inverted index over task titles and descriptions.
+ *
+ * <p>Text is split on anything that is not a letter or digit and lowercased.
+ * Each term maps to the tasks containing it with a weight (title hits count
+ * more than description hits). Terms are also kept in a sorted set so query
+ * tokens of at least {@value #MIN_PREFIX_LENGTH} characters can match by
+ * prefix; shorter ones only match whole words. A token that is the start of
+ * more than {@value #MAX_PREFIX_EXPANSION} terms is refused rather than cut
+ * short, since which matches were dropped would depend on the alphabet. Like {@link TaskIndex}, updates are made while
+ * the store entry for the task is held.</p>
+ */
+class TaskSearchIndex implements TaskMutationListener {
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int EXACT_MATCH_BONUS = 2;
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final int MAX_PREFIX_EXPANSION = 256;
+
+    private static final int MAX_OFFSET = 100_000;
+
+    private static final Comparator<Map.Entry<String, Integer>> RANKING =
+            Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final Map<String, Map<String, Integer>> postings = new ConcurrentHashMap<>();
+
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        if (previous == null) {
+            add(current.getId(), current.getTitle(), current.getDescription());
+        } else if (current == null) {
+            remove(previous.getId(), previous.getTitle(), previous.getDescription());
+        } else {
+            update(current.getId(), previous.getTitle(), previous.getDescription(),
+                    current.getTitle(), current.getDescription());
+        }
+    }
+
+    /**
+     * Indexes a newly stored task.
+     */
+    void add(String id, String title, String description) {
+        weights(title, description).forEach((term, weight) -> put(term, id, weight));
+    }
+
+    /**
+     * Removes a task from the index.
+     */
+    void remove(String id, String title, String description) {
+        weights(title, description).keySet().forEach(term -> drop(term, id));
+    }
+
+    /**
+     * Re-indexes a task whose text may have changed. Only changed terms are touched.
+     */
+    void update(String id, String oldTitle, String oldDescription, String newTitle, String newDescription) {
+        if (Objects.equals(oldTitle, newTitle) && Objects.equals(oldDescription, newDescription)) {
+            return;
+        }
+        Map<String, Integer> oldWeights = weights(oldTitle, oldDescription);
+        Map<String, Integer> newWeights = weights(newTitle, newDescription);
+        oldWeights.keySet().stream()
+                .filter(term -> !newWeights.containsKey(term))
+                .forEach(term -> drop(term, id));
+        newWeights.forEach((term, weight) -> {
+            if (!weight.equals(oldWeights.get(term))) {
+                put(term, id, weight);
+            }
+        });
+    }
+
+    /**
+     * Finds tasks matching every token of the query, each token matching
+     * a term exactly or as a prefix. Candidates come from the most selective
+     * token and are probed against the others, and only the best
+     * {@code maxResults} are ranked, so common words stay cheap.
+     * @return up to {@code maxResults} matching task IDs, best score first
+     * @throws InvalidRequestException if a token is the start of too many terms
+     */
+    List<String> search(String query, int maxResults) {
+        List<List<Match>> tokens = new ArrayList<>();
+        for (String token : weights(query, null).keySet()) {
+            List<Match> matches = expand(token);
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            tokens.add(matches);
+        }
+        if (tokens.isEmpty() || maxResults < 1) {
+            return new ArrayList<>();
+        }
+        tokens.sort(Comparator.comparingLong(TaskSearchIndex::postingCount));
+        List<Match> first = tokens.get(0);
+        List<List<Match>> rest = tokens.subList(1, tokens.size());
+        Map<String, Integer> candidates = first.get(0).docs;
+        int bonus = first.get(0).bonus;
+        if (first.size() > 1) {
+            candidates = new HashMap<>();
+            for (Match match : first) {
+                Map<String, Integer> merged = candidates;
+                match.docs.forEach((id, weight) -> merged.merge(id, weight * match.bonus, Math::max));
+            }
+            bonus = 1;
+        }
+        PriorityQueue<Map.Entry<String, Integer>> best =
+                new PriorityQueue<>(Math.min(maxResults, 1024), RANKING.reversed());
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            int score = candidate.getValue() * bonus;
+            for (List<Match> matches : rest) {
+                int tokenScore = score(matches, candidate.getKey());
+                if (tokenScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += tokenScore;
+            }
+            if (score > 0) {
+                offer(best, candidate.getKey(), score, maxResults);
+            }
+        }
+        String[] ids = new String[best.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = best.poll().getKey();
+        }
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * Runs a search and resolves one page of results.
+     * @param lookup resolves task IDs against the store; IDs it cannot resolve are skipped
+     * @throws InvalidRequestException if the cursor is malformed, the limit is not
+     *         positive or a token is the start of too many terms
+     */
+    TaskPage page(String query, String cursor, int limit, Function<String, Task> lookup) {
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be positive");
+        }
+        int offset = offset(cursor);
+        List<String> ids = search(query, (int) Math.min(Integer.MAX_VALUE, (long) offset + limit + 1));
+        List<Task> items = new ArrayList<>(Math.min(limit, 1024));
+        int next = offset;
+        while (next < ids.size() && items.size() < limit) {
+            Task task = lookup.apply(ids.get(next++));
+            if (task != null) {
+                items.add(task);
+            }
+        }
+        return new TaskPage(items, next < ids.size() ? Integer.toString(next) : null);
+    }
+
+    /**
+     * Parses a search cursor, which is the offset of the next result.
+     * @throws InvalidRequestException if the cursor is malformed or too deep
+     */
+    private static int offset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset >= 0 && offset <= MAX_OFFSET) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * Looks up the posting lists of every term the token matches.
+     * @throws InvalidRequestException if the token is the start of too many terms
+     */
+    private List<Match> expand(String token) {
+        List<Match> matches = new ArrayList<>();
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            Map<String, Integer> docs = postings.get(token);
+            if (docs != null) {
+                matches.add(new Match(docs, EXACT_MATCH_BONUS));
+            }
+            return matches;
+        }
+        for (String term : terms.subSet(token, true, token + Character.MAX_VALUE, true)) {
+            Map<String, Integer> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            if (matches.size() == MAX_PREFIX_EXPANSION) {
+                throw new InvalidRequestException("Search word '" + token + "' starts more than "
+                        + MAX_PREFIX_EXPANSION + " indexed words; use a longer one");
+            }
+            matches.add(new Match(docs, term.equals(token) ? EXACT_MATCH_BONUS : 1));
+        }
+        return matches;
+    }
+
+    private static long postingCount(List<Match> matches) {
+        long count = 0;
+        for (Match match : matches) {
+            count += match.docs.size();
+        }
+        return count;
+    }
+
+    private static int score(List<Match> matches, String id) {
+        int best = 0;
+        for (Match match : matches) {
+            Integer weight = match.docs.get(id);
+            if (weight != null) {
+                best = Math.max(best, weight * match.bonus);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the best {@code maxResults} entries, allocating only for entries that make the cut.
+     */
+    private static void offer(PriorityQueue<Map.Entry<String, Integer>> best, String id, int score,
+                              int maxResults) {
+        if (best.size() < maxResults) {
+            best.add(Map.entry(id, score));
+            return;
+        }
+        Map.Entry<String, Integer> worst = best.peek();
+        if (score > worst.getValue() || score == worst.getValue() && id.compareTo(worst.getKey()) < 0) {
+            best.poll();
+            best.add(Map.entry(id, score));
+        }
+    }
+
+    private void put(String term, String id, int weight) {
+        postings.compute(term, (key, docs) -> {
+            if (docs == null) {
+                docs = new ConcurrentHashMap<>();
+                terms.add(key);
+            }
+            docs.put(id, weight);
+            return docs;
+        });
+    }
+
+    private void drop(String term, String id) {
+        postings.computeIfPresent(term, (key, docs) -> {
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                terms.remove(key);
+                return null;
+            }
+            return docs;
+        });
+    }
+
+    /**
+     * Tokenizes title and description into term weights.
+     */
+    static Map<String, Integer> weights(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title, TITLE_WEIGHT, weights);
+        tokenize(description, DESCRIPTION_WEIGHT, weights);
+        return weights;
+    }
+
+    private static void tokenize(String text, int weight, Map<String, Integer> weights) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                weights.merge(text.substring(start, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * A term's postings together with the score multiplier for how it matched.
+     */
+    private static final class Match {
+
+        private final Map<String, Integer> docs;
+
+        private final int bonus;
+
+        Match(Map<String, Integer> docs, int bonus) {
+            this.docs = docs;
+            this.bonus = bonus;
+        }
+    }
+}
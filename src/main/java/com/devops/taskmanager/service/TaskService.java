@@ -1,24 +1,134 @@
 package com.devops.taskmanager.service;
 
 import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
 import com.devops.taskmanager.model.TaskStatus;
-import org.springframework.stereotype.Service;
+import com.devops.taskmanager.persistence.NoOpTaskArchive;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.persistence.TaskArchive;
+import com.devops.taskmanager.persistence.TaskPersistence;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing tasks.
- * Uses in-memory storage for demonstration purposes.
+ * Tasks live in an in-memory {@link TaskRepository}, with secondary indexes
+ * and live counters by status and priority kept in step with every write.
+ * Writes are also handed to a {@link TaskPersistence} and only return once
+ * they are durable.
+ * Stored tasks are treated as immutable: creates store a copy and updates
+ * swap in a new copy, so readers never see a half-applied update.
+ * Finished tasks may be moved out to a {@link TaskArchive}, where they can
+ * still be read and deleted by ID.
  */
-@Service
 public class TaskService {
 
-    private final Map<String, Task> taskStore = new ConcurrentHashMap<>();
+    private final TaskRepository taskStore;
+
+    private final TaskIndex taskIndex = new TaskIndex();
+
+    private final TaskCounters taskCounters = new TaskCounters();
+
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    private final TaskClaimQueue claimQueue = new TaskClaimQueue();
+
+    private final TaskQueryPlanner queryPlanner;
+
+    private final TaskPersistence persistence;
+
+    private final TaskArchive archive;
+
+    private final List<TaskMutationListener> listeners;
+
+    /**
+     * The change announced by the store write running on this thread, until
+     * the write has returned and its change is visible.
+     */
+    private final ThreadLocal<Announced> announced = ThreadLocal.withInitial(Announced::new);
+
+    /**
+     * Creates a purely in-memory service.
+     */
+    public TaskService() {
+        this(new NoOpTaskPersistence());
+    }
+
+    /**
+     * Creates a service without mutation listeners.
+     * @param persistence the durability layer for task writes
+     */
+    public TaskService(TaskPersistence persistence) {
+        this(persistence, List.of());
+    }
+
+    /**
+     * Creates a service on the default sharded in-memory store.
+     * @param persistence the durability layer for task writes
+     * @param listeners callbacks told about every change to the store
+     */
+    public TaskService(TaskPersistence persistence, List<TaskMutationListener> listeners) {
+        this(persistence, new ShardedTaskRepository(0), listeners);
+    }
+
+    /**
+     * Creates a service on the given store.
+     * @param persistence the durability layer for task writes
+     * @param taskStore the primary task storage
+     * @param listeners callbacks told about every change to the store
+     */
+    public TaskService(TaskPersistence persistence, TaskRepository taskStore, List<TaskMutationListener> listeners) {
+        this(persistence, taskStore, listeners, new NoOpTaskArchive());
+    }
+
+    /**
+     * Creates a service on the given store with an archive for finished tasks.
+     * @param persistence the durability layer for task writes
+     * @param taskStore the primary task storage
+     * @param listeners callbacks told about every change to the store
+     * @param archive cold storage for finished tasks
+     */
+    public TaskService(TaskPersistence persistence, TaskRepository taskStore, List<TaskMutationListener> listeners,
+                       TaskArchive archive) {
+        this.persistence = persistence;
+        this.taskStore = taskStore;
+        this.archive = archive;
+        this.queryPlanner = new TaskQueryPlanner(taskIndex, taskStore);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Restores the last durable state and starts background persistence work.
+     */
+    @PostConstruct
+    public void start() {
+        archive.open();
+        persistence.recover().values().forEach(task -> store(task, false));
+        persistence.start(this::snapshotView);
+    }
+
+    /**
+     * Flushes outstanding writes on shutdown.
+     */
+    @PreDestroy
+    public void stop() {
+        persistence.close();
+        archive.close();
+    }
 
     /**
      * Creates a new task.
@@ -29,20 +139,80 @@ public class TaskService {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null");
         }
-        taskStore.put(task.getId(), task);
-        return task;
+        Task stored = new Task(task);
+        store(stored, true).join();
+        return stored;
     }
 
     /**
      * Retrieves all tasks.
+     * Large stores are copied out shard by shard in parallel.
      * @return list of all tasks
      */
     public List<Task> getAllTasks() {
-        return new ArrayList<>(taskStore.values());
+        return taskStore.findAll();
+    }
+
+    /**
+     * Retrieves one page of tasks in stable creation order (createdAt, then ID).
+     * Cost is proportional to the page size plus any tasks skipped by the filters.
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit maximum number of tasks to return
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return the page of tasks with the cursor for the next page
+     * @throws InvalidRequestException if the cursor is malformed or the limit is not positive
+     */
+    public TaskPage getTaskPage(String cursor, int limit, TaskStatus status, TaskPriority priority) {
+        return queryPlanner.page(cursor, limit, status, priority);
+    }
+
+    /**
+     * Retrieves the first tasks matching a multi-field query in the requested order.
+     * The query is planned against the status/priority buckets and the sorted
+     * creation and update time indexes, and never sorts more than the limit.
+     * Priority order breaks ties by creation time; tasks without a priority
+     * are left out of it.
+     * @param query the status and priority sets, time ranges, sort and limit
+     * @return up to the limit of matching tasks, in order
+     * @throws InvalidRequestException if the sort field, order or limit is invalid
+     */
+    public List<Task> queryTasks(TaskQuery query) {
+        return queryPlanner.query(query);
+    }
+
+    /**
+     * Streams tasks lazily in creation order without copying the store.
+     * The stream is weakly consistent with concurrent writes.
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @return stream of matching tasks
+     */
+    public Stream<Task> streamTasks(TaskStatus status, TaskPriority priority) {
+        return taskIndex.creationOrder().stream()
+                .map(key -> taskStore.get(key.getId()))
+                .filter(Objects::nonNull)
+                .filter(task -> TaskQueryPlanner.matches(task, status, priority));
     }
 
     /**
-     * Retrieves a task by its ID.
+     * Searches task titles and descriptions.
+     * Every query word must match a word of the task, exactly or, from three
+     * characters on, as a prefix; results are ranked with title matches and
+     * exact matches first.
+     * @param query the search text
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit maximum number of tasks to return
+     * @return the page of matching tasks with the cursor for the next page
+     * @throws InvalidRequestException if the cursor is malformed, the limit is not positive
+     *         or a query word is the start of too many indexed words
+     */
+    public TaskPage searchTasks(String query, String cursor, int limit) {
+        return searchIndex.page(query, cursor, limit, taskStore::get);
+    }
+
+    /**
+     * Retrieves a task by its ID, from the archive if it is no longer in memory.
      * @param id the task ID
      * @return optional containing the task if found
      */
@@ -50,58 +220,224 @@ public class TaskService {
         if (id == null || id.isBlank()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(taskStore.get(id));
+        Task task = taskStore.get(id);
+        return Optional.ofNullable(task != null ? task : archive.get(id));
     }
 
     /**
      * Updates an existing task.
+     * The update and the matching index changes happen atomically for the task,
+     * and concurrent updates to the same task are applied one after another.
      * @param id the task ID
      * @param updatedTask the updated task data
      * @return optional containing the updated task if found
      */
     public Optional<Task> updateTask(String id, Task updatedTask) {
-        if (id == null || !taskStore.containsKey(id)) {
-            return Optional.empty();
-        }
+        return updateTask(id, updatedTask, null);
+    }
 
-        Task existingTask = taskStore.get(id);
-        if (updatedTask.getTitle() != null) {
-            existingTask.setTitle(updatedTask.getTitle());
+    /**
+     * Updates an existing task only if it is still at one of the expected versions.
+     * @param id the task ID
+     * @param updatedTask the updated task data
+     * @param expectedVersions the versions the caller accepts, or null to update unconditionally
+     * @return optional containing the updated task if found
+     * @throws TaskVersionConflictException if the task is at none of the expected versions
+     */
+    public Optional<Task> updateTask(String id, Task updatedTask, Set<Long> expectedVersions) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        Optional<Task> result = update(id, updatedTask, expectedVersions, durable);
+        durable.forEach(CompletableFuture::join);
+        return result;
+    }
+
+    /**
+     * Deletes a task by its ID.
+     * @param id the task ID
+     * @return true if the task was deleted, false otherwise
+     */
+    public boolean deleteTask(String id) {
+        return deleteTask(id, null);
+    }
+
+    /**
+     * Deletes a task only if it is still at one of the expected versions.
+     * @param id the task ID
+     * @param expectedVersions the versions the caller accepts, or null to delete unconditionally
+     * @return true if the task was deleted, false if it was not found
+     * @throws TaskVersionConflictException if the task is at none of the expected versions
+     */
+    public boolean deleteTask(String id, Set<Long> expectedVersions) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        boolean deleted = delete(id, expectedVersions, durable);
+        durable.forEach(CompletableFuture::join);
+        return deleted;
+    }
+
+    /**
+     * Claims the oldest pending task of the highest priority for a worker.
+     * The task moves to IN_PROGRESS with a lease; if it is still in progress
+     * when the lease runs out, {@link TaskDeadlineScheduler} puts it back to
+     * PENDING. Concurrent callers never receive the same task.
+     * @param lease how long the claim holds
+     * @return the claimed task, or empty if no task is pending
+     */
+    public Optional<Task> claimTask(Duration lease) {
+        for (TaskKey key = claimQueue.poll(); key != null; key = claimQueue.poll()) {
+            List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+            Task claimed = computeIfPresent(key.getId(), (id, existing) -> {
+                if (existing.getStatus() != TaskStatus.PENDING) {
+                    return existing;
+                }
+                Task next = TaskUpdates.claim(existing, lease);
+                changed(existing, next, true);
+                durable.add(persistence.logUpsert(next));
+                return next;
+            });
+            if (!durable.isEmpty()) {
+                durable.get(0).join();
+                return Optional.of(claimed);
+            }
         }
-        if (updatedTask.getDescription() != null) {
-            existingTask.setDescription(updatedTask.getDescription());
+        return Optional.empty();
+    }
+
+    /**
+     * Creates many tasks at once.
+     * All writes are handed to persistence before waiting, so they share group commits.
+     * @param tasks the tasks to create
+     * @return the created tasks, in request order
+     */
+    public List<Task> createTasks(List<Task> tasks) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(tasks.size());
+        List<Task> created = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
+            Task stored = new Task(task);
+            durable.add(store(stored, true));
+            created.add(stored);
         }
-        if (updatedTask.getStatus() != null) {
-            existingTask.setStatus(updatedTask.getStatus());
+        durable.forEach(CompletableFuture::join);
+        return created;
+    }
+
+    /**
+     * Applies many partial updates at once. Each update is matched by its task ID.
+     * @param updates the updated task data, each carrying the ID of the task to update
+     * @return the outcome of each update, in request order
+     */
+    public List<Optional<Task>> updateTasks(List<Task> updates) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(updates.size());
+        List<Optional<Task>> results = new ArrayList<>(updates.size());
+        for (Task update : updates) {
+            results.add(update == null ? Optional.empty() : update(update.getId(), update, null, durable));
         }
-        if (updatedTask.getPriority() != null) {
-            existingTask.setPriority(updatedTask.getPriority());
+        durable.forEach(CompletableFuture::join);
+        return results;
+    }
+
+    /**
+     * Deletes many tasks at once.
+     * @param ids the task IDs
+     * @return whether each task was deleted, in request order
+     */
+    public List<Boolean> deleteTasks(List<String> ids) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(ids.size());
+        List<Boolean> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            results.add(delete(id, null, durable));
         }
+        durable.forEach(CompletableFuture::join);
+        return results;
+    }
 
-        return Optional.of(existingTask);
+    /**
+     * Stores a task as it was written on another replica, keeping its version.
+     * The write is skipped if the local copy is newer, so applying it twice, or
+     * after a later write to the same task, is harmless. Listeners are told
+     * about it like any other write.
+     * @param task the replicated task
+     * @return future completed once the write is durable
+     */
+    public CompletableFuture<Void> applyReplicatedUpsert(Task task) {
+        Task stored = new Task(task);
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        compute(stored.getId(), (id, existing) -> {
+            if (existing != null && !TaskUpdates.supersedes(stored, existing)) {
+                return existing;
+            }
+            changed(existing, stored, true);
+            durable.add(persistence.logUpsert(stored));
+            return stored;
+        });
+        return durable.isEmpty() ? CompletableFuture.completedFuture(null) : durable.get(0);
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a task as it was deleted on another replica, archived or not.
+     * The delete is skipped if the local copy has moved past the deleted version.
      * @param id the task ID
-     * @return true if the task was deleted, false otherwise
+     * @param version the version the other replica deleted
+     * @return future completed once the delete is durable
      */
-    public boolean deleteTask(String id) {
-        if (id == null) {
-            return false;
+    public CompletableFuture<Void> applyReplicatedDelete(String id, long version) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        computeIfPresent(id, (key, existing) -> {
+            if (existing.getVersion() > version) {
+                return existing;
+            }
+            changed(existing, null, true);
+            durable.add(persistence.logDelete(key));
+            return null;
+        });
+        Task archived = archive.get(id);
+        if (archived != null && archived.getVersion() <= version && taskStore.get(id) == null) {
+            archive.delete(id);
         }
-        return taskStore.remove(id) != null;
+        return durable.isEmpty() ? CompletableFuture.completedFuture(null) : durable.get(0);
     }
 
     /**
      * Retrieves tasks by status.
+     * Served from the status index, so the cost is proportional to the result size.
+     * Each task is re-checked, since an ID may briefly sit in two index
+     * entries while a concurrent update moves it.
      * @param status the task status to filter by
      * @return list of tasks with the specified status
      */
     public List<Task> getTasksByStatus(TaskStatus status) {
-        return taskStore.values().stream()
-                .filter(task -> task.getStatus() == status)
-                .collect(Collectors.toList());
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return taskStore.getAll(taskIndex.idsByStatus(status), task -> task.getStatus() == status);
+    }
+
+    /**
+     * Retrieves tasks by priority.
+     * @param priority the task priority to filter by
+     * @return list of tasks with the specified priority
+     */
+    public List<Task> getTasksByPriority(TaskPriority priority) {
+        if (priority == null) {
+            return new ArrayList<>();
+        }
+        return taskStore.getAll(taskIndex.idsByPriority(priority), task -> task.getPriority() == priority);
+    }
+
+    /**
+     * Retrieves tasks matching both a status and a priority.
+     * @param status the task status to filter by
+     * @param priority the task priority to filter by
+     * @return list of tasks with the specified status and priority
+     */
+    public List<Task> getTasksByStatusAndPriority(TaskStatus status, TaskPriority priority) {
+        if (status == null || priority == null) {
+            return new ArrayList<>();
+        }
+        return taskStore.getAll(taskIndex.ids(status, priority),
+                task -> task.getStatus() == status && task.getPriority() == priority);
     }
 
     /**
@@ -112,11 +448,252 @@ public class TaskService {
         return taskStore.size();
     }
 
+    /**
+     * Gets the number of tasks with the given status in constant time.
+     * @param status the task status
+     * @return the number of tasks with that status
+     */
+    public long getTaskCount(TaskStatus status) {
+        return status == null ? 0 : taskCounters.count(status);
+    }
+
+    /**
+     * Gets the number of tasks with the given priority in constant time.
+     * @param priority the task priority
+     * @return the number of tasks with that priority
+     */
+    public long getTaskCount(TaskPriority priority) {
+        return priority == null ? 0 : taskCounters.count(priority);
+    }
+
+    /**
+     * Gets task counts for every status.
+     * @return map of status to task count
+     */
+    public Map<TaskStatus, Long> getStatusCounts() {
+        return taskCounters.statusCounts();
+    }
+
+    /**
+     * Gets task counts for every priority.
+     * @return map of priority to task count
+     */
+    public Map<TaskPriority, Long> getPriorityCounts() {
+        return taskCounters.priorityCounts();
+    }
+
     /**
      * Clears all tasks (useful for testing).
+     * Tasks are removed one by one through the delete path so that indexes
+     * and counters stay exact even with concurrent writers.
      */
     public void clearAllTasks() {
-        taskStore.clear();
+        taskStore.ids().forEach(this::deleteTask);
+    }
+
+    /**
+     * Moves finished tasks last updated before the cutoff to the archive.
+     * A task is only dropped from memory, and the live indexes and counts,
+     * once its archived copy is durable and if it has not changed since it
+     * was copied. Listeners are not told, since the task still exists.
+     * @param cutoff tasks completed or cancelled before this time are archived
+     * @return the number of tasks moved out of memory
+     */
+    public int archiveTasks(LocalDateTime cutoff) {
+        List<Task> finished = new ArrayList<>();
+        for (TaskStatus status : List.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED)) {
+            for (String id : taskIndex.idsByStatus(status)) {
+                Task task = taskStore.get(id);
+                if (task != null && task.getStatus() == status
+                        && task.getUpdatedAt() != null && task.getUpdatedAt().isBefore(cutoff)) {
+                    finished.add(task);
+                }
+            }
+        }
+        if (finished.isEmpty()) {
+            return 0;
+        }
+        archive.append(finished);
+        List<CompletableFuture<Void>> durable = new ArrayList<>(finished.size());
+        for (Task task : finished) {
+            taskStore.computeIfPresent(task.getId(), (id, existing) -> {
+                if (existing.getVersion() != task.getVersion()) {
+                    return existing;
+                }
+                changed(existing, null, false);
+                durable.add(persistence.logDelete(id));
+                return null;
+            });
+        }
+        durable.forEach(CompletableFuture::join);
+        return durable.size();
+    }
+
+    private Optional<Task> update(String id, Task updatedTask, Set<Long> expectedVersions,
+                                  List<CompletableFuture<Void>> durable) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(computeIfPresent(id, (key, existingTask) -> {
+            checkVersion(existingTask, expectedVersions);
+            Task merged = TaskUpdates.merge(existingTask, updatedTask);
+            changed(existingTask, merged, true);
+            durable.add(persistence.logUpsert(merged));
+            return merged;
+        }));
     }
-}
 
+    private static void checkVersion(Task existing, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(existing.getVersion())) {
+            throw new TaskVersionConflictException(existing.getId(), expectedVersions, existing.getVersion());
+        }
+    }
+
+    private boolean delete(String id, Set<Long> expectedVersions, List<CompletableFuture<Void>> durable) {
+        if (id == null) {
+            return false;
+        }
+        int before = durable.size();
+        computeIfPresent(id, (key, existingTask) -> {
+            checkVersion(existingTask, expectedVersions);
+            changed(existingTask, null, true);
+            durable.add(persistence.logDelete(key));
+            return null;
+        });
+        if (durable.size() == before) {
+            return deleteArchived(id, expectedVersions);
+        }
+        if (archive.get(id) != null) {
+            // Updated while it was being archived, so an older copy was left behind
+            archive.delete(id);
+        }
+        return true;
+    }
+
+    /**
+     * Deletes a task that only lives in the archive. Listeners are told
+     * while the store entry for the ID is held, as for any other delete.
+     */
+    private boolean deleteArchived(String id, Set<Long> expectedVersions) {
+        Task archived = archive.get(id);
+        if (archived == null) {
+            return false;
+        }
+        checkVersion(archived, expectedVersions);
+        archive.delete(id);
+        compute(id, (key, existing) -> {
+            if (existing == null) {
+                announce(archived, null);
+            }
+            return existing;
+        });
+        return true;
+    }
+
+    /**
+     * Puts a task into the store and indexes, optionally logging it.
+     * @return future completed once the write is durable
+     */
+    private CompletableFuture<Void> store(Task task, boolean log) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        compute(task.getId(), (id, existing) -> {
+            if (log) {
+                task.setVersion(existing == null ? 1 : existing.getVersion() + 1);
+                durable.add(persistence.logUpsert(task));
+            }
+            changed(existing, task, log);
+            return task;
+        });
+        return durable.isEmpty() ? CompletableFuture.completedFuture(null) : durable.get(0);
+    }
+
+    /**
+     * Brings the indexes, counters and search index in line with a change,
+     * then tells the registered listeners. Replayed writes are not announced.
+     */
+    private void changed(Task previous, Task current, boolean announce) {
+        taskIndex.onTaskChanged(previous, current);
+        taskCounters.onTaskChanged(previous, current);
+        searchIndex.onTaskChanged(previous, current);
+        claimQueue.onTaskChanged(previous, current);
+        if (announce) {
+            announce(previous, current);
+        }
+    }
+
+    /**
+     * Tells the listeners about a change while its store entry is held, and
+     * keeps it for {@link #published()} once the entry is released.
+     */
+    private void announce(Task previous, Task current) {
+        if (!listeners.isEmpty()) {
+            Announced change = announced.get();
+            change.previous = previous;
+            change.current = current;
+            change.pending = true;
+        }
+        for (TaskMutationListener listener : listeners) {
+            listener.onTaskChanged(previous, current);
+        }
+    }
+
+    /**
+     * Runs a write through the store, then tells the listeners that its
+     * change, if any, is visible to readers.
+     */
+    private Task compute(String id, BiFunction<String, Task, Task> remapping) {
+        try {
+            return taskStore.compute(id, remapping);
+        } finally {
+            published();
+        }
+    }
+
+    private Task computeIfPresent(String id, BiFunction<String, Task, Task> remapping) {
+        try {
+            return taskStore.computeIfPresent(id, remapping);
+        } finally {
+            published();
+        }
+    }
+
+    private void published() {
+        Announced change = announced.get();
+        if (!change.pending) {
+            return;
+        }
+        Task previous = change.previous;
+        Task current = change.current;
+        change.pending = false;
+        change.previous = null;
+        change.current = null;
+        for (TaskMutationListener listener : listeners) {
+            listener.afterTaskChanged(previous, current);
+        }
+    }
+
+    /**
+     * Streams the live store for snapshots and for full copies sent to replicas.
+     * Each task is read through computeIfPresent, which waits for any write
+     * in flight on that task, so a snapshot taken after a log roll never
+     * misses a write that was logged before the roll.
+     * @return stream of the stored tasks
+     */
+    public Stream<Task> snapshotView() {
+        return taskStore.ids()
+                .map(id -> taskStore.computeIfPresent(id, (key, task) -> task))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * A change held between announcing it and publishing it.
+     */
+    private static final class Announced {
+
+        private Task previous;
+
+        private Task current;
+
+        private boolean pending;
+    }
+}
@@ -0,0 +1,110 @@
+package com.devops.taskmanager.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Selects the task store backend and publishes per-shard metrics.
+ * Tasks are kept as objects unless {@code taskmanager.store.backend} asks
+ * for the packed representation ({@code compact}) or for direct memory
+ * ({@code offheap}).
+ */
+@Configuration
+public class TaskStoreConfig {
+
+    private static final String BACKEND = "taskmanager.store.backend";
+
+    /**
+     * Hash-partitioned in-memory task store.
+     * @param shards number of shards; 0 picks twice the processor count
+     * @return the repository
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "sharded", matchIfMissing = true)
+    public ShardedTaskRepository taskRepository(@Value("${taskmanager.store.shards:0}") int shards) {
+        return new ShardedTaskRepository(shards);
+    }
+
+    /**
+     * Hash-partitioned store that packs tasks into primitive arrays.
+     * @param shards number of shards; 0 picks twice the processor count
+     * @return the repository
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "compact")
+    public CompactTaskRepository compactTaskRepository(@Value("${taskmanager.store.shards:0}") int shards) {
+        return new CompactTaskRepository(shards);
+    }
+
+    /**
+     * Hash-partitioned store that keeps serialized tasks in direct buffers.
+     * @param shards number of shards; 0 picks twice the processor count
+     * @param slabSize size of each direct buffer
+     * @return the repository
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "offheap")
+    public OffHeapTaskRepository offHeapTaskRepository(
+            @Value("${taskmanager.store.shards:0}") int shards,
+            @Value("${taskmanager.store.offheap.slab-size:1MB}") DataSize slabSize) {
+        return new OffHeapTaskRepository(shards, (int) Math.min(slabSize.toBytes(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Publishes the direct memory held by the off-heap store, the part of it
+     * holding live tasks, and how often it was compacted.
+     * @param repository the off-heap task store
+     * @return meter binder for the off-heap metrics
+     */
+    @Bean
+    @ConditionalOnProperty(name = BACKEND, havingValue = "offheap")
+    public MeterBinder offHeapStoreMetrics(OffHeapTaskRepository repository) {
+        return registry -> {
+            Gauge.builder("taskmanager.store.offheap.capacity", repository, OffHeapTaskRepository::getCapacityBytes)
+                    .description("Direct memory held by the store slabs")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("taskmanager.store.offheap.live", repository, OffHeapTaskRepository::getLiveBytes)
+                    .description("Slab bytes holding live tasks")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("taskmanager.store.offheap.compactions", repository,
+                            OffHeapTaskRepository::getCompactions)
+                    .description("Times a shard copied its live tasks into fresh slabs")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes size, reads and writes for every shard, tagged with the shard number.
+     * @param repository the task store
+     * @return meter binder for the shard metrics
+     */
+    @Bean
+    public MeterBinder taskStoreMetrics(ShardedStore repository) {
+        return registry -> {
+            for (int i = 0; i < repository.getShardCount(); i++) {
+                int shard = i;
+                String tag = Integer.toString(shard);
+                Gauge.builder("taskmanager.store.shard.size", repository, r -> r.getShardSize(shard))
+                        .description("Tasks held by the shard")
+                        .tag("shard", tag)
+                        .register(registry);
+                FunctionCounter.builder("taskmanager.store.shard.reads", repository, r -> r.getShardReads(shard))
+                        .description("Lookups served by the shard")
+                        .tag("shard", tag)
+                        .register(registry);
+                FunctionCounter.builder("taskmanager.store.shard.writes", repository, r -> r.getShardWrites(shard))
+                        .description("Writes applied to the shard")
+                        .tag("shard", tag)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * One shard of a {@link PackedTaskRepository}, which parses each ID once
+ * and hands both the string and its packed form to the shard.
+ */
+interface TaskTable {
+
+    /**
+     * Looks up a task.
+     * @param id the task ID
+     * @param key the packed ID, or null if the ID is not a UUID
+     * @return a new task view, or null if there is none
+     */
+    Task get(String id, long[] key);
+
+    /**
+     * Atomically replaces, creates or removes a task, like {@link java.util.Map#compute}.
+     * @param id the task ID
+     * @param key the packed ID, or null if the ID is not a UUID
+     * @param remapping receives the ID and the current task; returns the new task, or null to remove it
+     * @param onlyIfPresent whether to skip the remapping when there is no task
+     * @return the new task, or null if there is none
+     */
+    Task compute(String id, long[] key, BiFunction<String, Task, Task> remapping, boolean onlyIfPresent);
+
+    /**
+     * Adds the tasks passing the filter, or every task for a null filter.
+     * @param filter the filter, or null
+     * @param into the list to add to
+     */
+    void collect(Predicate<Task> filter, List<Task> into);
+
+    /**
+     * Lists the IDs of all tasks.
+     * @return the task IDs
+     */
+    List<String> ids();
+
+    /**
+     * Gets the number of tasks.
+     * @return the task count
+     */
+    int size();
+
+    /**
+     * Gets the number of lookups served.
+     * @return the read count since startup
+     */
+    long reads();
+
+    /**
+     * Gets the number of writes applied.
+     * @return the write count since startup
+     */
+    long writes();
+}
@@ -0,0 +1,91 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.TaskRecordCodec;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Rules for building the next version of a stored task from a partial update.
+ */
+final class TaskUpdates {
+
+    private static final Comparator<LocalDateTime> TIME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private TaskUpdates() {
+    }
+
+    /**
+     * Builds the next version of a task from the fields an update sets.
+     * The stored task is never modified, so readers always see either the
+     * old or the new version, and all changed fields share one timestamp.
+     * A different due or reminder time clears its flag; otherwise a flag can
+     * only be raised. The claim lease is server-managed: it is kept while the
+     * task stays in progress and dropped when the task moves on.
+     * @param existing the stored task
+     * @param update the fields to change; null fields are left as they are
+     * @return the new task, one version on
+     */
+    static Task merge(Task existing, Task update) {
+        Task merged = new Task(existing.getId(),
+                update.getTitle() != null ? update.getTitle() : existing.getTitle(),
+                update.getDescription() != null ? update.getDescription() : existing.getDescription(),
+                update.getStatus() != null ? update.getStatus() : existing.getStatus(),
+                update.getPriority() != null ? update.getPriority() : existing.getPriority(),
+                existing.getCreatedAt(),
+                LocalDateTime.now());
+        merged.setVersion(existing.getVersion() + 1);
+        merged.setDueAt(update.getDueAt() != null ? update.getDueAt() : existing.getDueAt());
+        merged.setRemindAt(update.getRemindAt() != null ? update.getRemindAt() : existing.getRemindAt());
+        merged.setOverdue(update.isOverdue()
+                || existing.isOverdue() && Objects.equals(merged.getDueAt(), existing.getDueAt()));
+        merged.setReminded(update.isReminded()
+                || existing.isReminded() && Objects.equals(merged.getRemindAt(), existing.getRemindAt()));
+        merged.setLeaseExpiresAt(merged.getStatus() == TaskStatus.IN_PROGRESS ? existing.getLeaseExpiresAt() : null);
+        return merged;
+    }
+
+    /**
+     * Builds the next version of a pending task once it has been claimed.
+     * @param existing the stored task, which must be pending
+     * @param lease how long the claim holds from now
+     * @return the task in progress, one version on
+     */
+    static Task claim(Task existing, Duration lease) {
+        Task inProgress = new Task(existing.getId(), null, null, TaskStatus.IN_PROGRESS, null, null, null);
+        Task claimed = merge(existing, inProgress);
+        claimed.setLeaseExpiresAt(claimed.getUpdatedAt().plus(lease));
+        return claimed;
+    }
+
+    /**
+     * Decides whether a copy of a task written on another replica replaces the local one.
+     * The higher version wins; two replicas that wrote the same version
+     * concurrently are settled by the later update time and then by the
+     * encoded bytes, so every replica picks the same winner. Times are
+     * compared in milliseconds, the precision they are replicated with.
+     * @param incoming the replicated task
+     * @param local the stored task
+     * @return true if the replicated task should be stored
+     */
+    static boolean supersedes(Task incoming, Task local) {
+        if (incoming.getVersion() != local.getVersion()) {
+            return incoming.getVersion() > local.getVersion();
+        }
+        int byTime = TIME_ORDER.compare(millis(incoming.getUpdatedAt()), millis(local.getUpdatedAt()));
+        if (byTime != 0) {
+            return byTime > 0;
+        }
+        return Arrays.compare(TaskRecordCodec.encode(incoming), TaskRecordCodec.encode(local)) > 0;
+    }
+
+    private static LocalDateTime millis(LocalDateTime time) {
+        return time == null ? null : time.truncatedTo(ChronoUnit.MILLIS);
+    }
+}
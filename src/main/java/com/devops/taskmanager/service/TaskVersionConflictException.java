@@ -0,0 +1,27 @@
+package com.devops.taskmanager.service;
+
+import java.util.Set;
+
+/**
+ * Thrown when a conditional write expects task versions none of which is still current.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    /**
+     * Creates the exception.
+     * @param id the task ID
+     * @param expectedVersions the versions the caller accepts
+     * @param currentVersion the version actually stored
+     */
+    public TaskVersionConflictException(String id, Set<Long> expectedVersions, long currentVersion) {
+        super("Task " + id + " is at version " + currentVersion + ", not "
+                + (expectedVersions.size() == 1 ? expectedVersions.iterator().next() : "any of " + expectedVersions));
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
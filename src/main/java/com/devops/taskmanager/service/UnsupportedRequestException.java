@@ -0,0 +1,18 @@
+package com.devops.taskmanager.service;
+
+/**
+ * Thrown for a well-formed request this replica cannot serve correctly as
+ * configured, such as a claim or an If-Match write while replication is on:
+ * each replica decides those against its own copy, so two replicas could
+ * both accept them. The API answers it with 501 Not Implemented.
+ */
+public class UnsupportedRequestException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     * @param message why the request cannot be served
+     */
+    public UnsupportedRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.devops.taskmanager;
+
+import com.devops.taskmanager.controller.ReactiveTaskController;
+import com.devops.taskmanager.controller.TaskController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for TaskManager Application on the reactive stack.
+ */
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+class ReactiveTaskManagerApplicationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoadsWithReactiveControllersOnly() {
+        assertEquals(1, context.getBeanNamesForType(ReactiveTaskController.class).length);
+        assertEquals(0, context.getBeanNamesForType(TaskController.class).length);
+    }
+}
@@ -0,0 +1,85 @@
+package com.devops.taskmanager.cache;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for TaskResponseCache.
+ * Validates version matching, invalidation and both eviction policies.
+ */
+class TaskResponseCacheTest {
+
+    private static final byte[] BODY = {'{', '}'};
+
+    @Test
+    @DisplayName("Should only serve a cached response for the version it was stored with")
+    void shouldMatchVersion() {
+        TaskResponseCache cache = new TaskResponseCache(100, Duration.ofMinutes(1));
+        cache.put("a", 2, BODY);
+        cache.put("a", 1, new byte[0]);
+
+        assertArrayEquals(BODY, cache.get("a", 2));
+        assertNull(cache.get("a", 3));
+        assertNull(cache.get("b", 2));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertThrows(IllegalArgumentException.class, () -> new TaskResponseCache(-1, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new TaskResponseCache(1, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should drop a cached response when the task service changes the task")
+    void shouldInvalidateOnTaskChange() {
+        TaskResponseCache cache = new TaskResponseCache(100, Duration.ofMinutes(1));
+        TaskService service = new TaskService(new NoOpTaskPersistence(), List.of(cache));
+        Task created = service.createTask(new Task("Title", "Description"));
+        cache.put(created.getId(), created.getVersion(), BODY);
+
+        service.updateTask(created.getId(), new Task("Renamed", "Description"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidations());
+
+        cache.put(created.getId(), 2, BODY);
+        service.deleteTask(created.getId());
+        assertNull(cache.get(created.getId(), 2));
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used responses once full")
+    void shouldEvictWhenFull() {
+        TaskResponseCache cache = new TaskResponseCache(16, Duration.ofMinutes(1));
+        for (int i = 0; i < 1000; i++) {
+            cache.put("task-" + i, 1, BODY);
+        }
+
+        assertEquals(16, cache.size());
+        assertEquals(1000 - cache.size(), cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Should stop serving responses whose time to live ran out")
+    void shouldExpireEntries() {
+        TaskResponseCache expiring = new TaskResponseCache(100, Duration.ofNanos(1));
+        expiring.put("a", 1, BODY);
+        assertNull(expiring.get("a", 1));
+        assertEquals(1, expiring.getEvictions());
+        assertEquals(0, expiring.size());
+
+        TaskResponseCache disabled = new TaskResponseCache(0, Duration.ofMinutes(1));
+        disabled.put("a", 1, BODY);
+        assertNull(disabled.get("a", 1));
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,171 @@
+package com.devops.taskmanager.cache;
+
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Endpoint;
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Key;
+import com.devops.taskmanager.cache.TaskResponseCoalescer.Response;
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskMutationListener;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TaskResponseCoalescer.
+ * Validates that identical requests share one computation and that writes
+ * stop responses from being shared.
+ */
+class TaskResponseCoalescerTest {
+
+    private static final Key PENDING = new Key(Endpoint.LIST, TaskStatus.PENDING, null);
+
+    private static final Key COMPLETED = new Key(Endpoint.LIST, TaskStatus.COMPLETED, null);
+
+    private static final Key STATS = new Key(Endpoint.STATS, null, null);
+
+    @Test
+    @DisplayName("Should compute once for identical requests that arrive while it runs")
+    void shouldShareRunningComputation() throws Exception {
+        TaskResponseCoalescer coalescer = new TaskResponseCoalescer(true, Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Response> first = executor.submit(() -> coalescer.get(PENDING, () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return new Response(new byte[] {'[', ']'}, 0);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<Future<Response>> joined = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                joined.add(executor.submit(() -> coalescer.get(PENDING, () -> {
+                    computations.incrementAndGet();
+                    return new Response(new byte[0], 0);
+                })));
+            }
+            while (coalescer.getShared(Endpoint.LIST) < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Response response = first.get(5, TimeUnit.SECONDS);
+            for (Future<Response> future : joined) {
+                assertSame(response, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, coalescer.getComputed(Endpoint.LIST));
+        assertEquals(7, coalescer.getShared(Endpoint.LIST));
+    }
+
+    @Test
+    @DisplayName("Should reuse a finished response until a write it depends on is published")
+    void shouldStopSharingAfterWrites() {
+        TaskResponseCoalescer coalescer = new TaskResponseCoalescer(true, Duration.ofMinutes(1));
+        TaskService service = new TaskService(new NoOpTaskPersistence(), List.of(coalescer));
+        Response pending = coalescer.get(PENDING, () -> response());
+        Response completed = coalescer.get(COMPLETED, () -> response());
+        Response stats = coalescer.get(STATS, () -> response());
+        assertSame(pending, coalescer.get(PENDING, () -> response()));
+        assertSame(stats, coalescer.get(STATS, () -> response()));
+
+        service.createTask(new Task("New Task", null));
+
+        assertNotSame(pending, coalescer.get(PENDING, () -> response()));
+        assertSame(completed, coalescer.get(COMPLETED, () -> response()));
+        assertNotSame(stats, coalescer.get(STATS, () -> response()));
+        assertEquals(3, coalescer.getComputed(Endpoint.LIST));
+        assertEquals(2, coalescer.getShared(Endpoint.LIST));
+    }
+
+    @Test
+    @DisplayName("Should not share a computation that overlapped a write with requests after the write")
+    void shouldStopSharingComputationThatMissedWrite() throws Exception {
+        TaskResponseCoalescer coalescer = new TaskResponseCoalescer(true, Duration.ofMinutes(1));
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskMutationListener writeInFlight = (previous, current) -> {
+            applying.countDown();
+            await(release);
+        };
+        TaskService service = new TaskService(new NoOpTaskPersistence(), List.of(coalescer, writeInFlight));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Task> write = executor.submit(() -> service.createTask(new Task("New Task", null)));
+            assertTrue(applying.await(5, TimeUnit.SECONDS));
+            Response overlapping = coalescer.get(PENDING, () -> pending(service));
+            assertEquals(0, overlapping.size());
+            release.countDown();
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Response after = coalescer.get(PENDING, () -> pending(service));
+
+        assertEquals(1, after.size());
+        assertEquals(2, coalescer.getComputed(Endpoint.LIST));
+    }
+
+    @Test
+    @DisplayName("Should not share a failed computation with later requests")
+    void shouldRecomputeAfterFailure() {
+        TaskResponseCoalescer coalescer = new TaskResponseCoalescer(true, Duration.ofMinutes(1));
+        assertThrows(IllegalStateException.class, () -> coalescer.get(STATS, () -> {
+            throw new IllegalStateException("Store unavailable");
+        }));
+
+        Response response = coalescer.get(STATS, () -> response());
+
+        assertSame(response, coalescer.get(STATS, () -> response()));
+        assertEquals(2, coalescer.getComputed(Endpoint.STATS));
+    }
+
+    @Test
+    @DisplayName("Should compute every response when coalescing is off")
+    void shouldComputeEveryResponseWhenDisabled() {
+        TaskResponseCoalescer coalescer = new TaskResponseCoalescer(false, Duration.ofMinutes(1));
+
+        assertNotSame(coalescer.get(STATS, () -> response()), coalescer.get(STATS, () -> response()));
+        assertEquals(2, coalescer.getComputed(Endpoint.STATS));
+        assertThrows(IllegalArgumentException.class, () -> new TaskResponseCoalescer(true, Duration.ofMillis(-1)));
+    }
+
+    private static Response pending(TaskService service) {
+        return new Response(new byte[] {'[', ']'}, service.getTasksByStatus(TaskStatus.PENDING).size());
+    }
+
+    private static Response response() {
+        return new Response(new byte[] {'{', '}'}, 0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -30,6 +30,14 @@ class HealthControllerTest {
                 .andExpect(jsonPath("$.version").value("1.0.0"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/health should report the time from JVM launch to ready")
+    void shouldReportReadyTime() throws Exception {
+        mockMvc.perform(get("/api/v1/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.readyAfterMillis").isNumber());
+    }
+
     @Test
     @DisplayName("GET /api/v1/ready should return readiness status")
     void shouldReturnReadinessStatus() throws Exception {
@@ -0,0 +1,189 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.InvalidRequestException;
+import com.devops.taskmanager.service.ReactiveTaskService;
+import com.devops.taskmanager.service.TaskService;
+import com.devops.taskmanager.service.TaskVersionConflictException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * Controller tests for ReactiveTaskController.
+ * Validates that the reactive API matches the servlet one.
+ */
+@WebFluxTest(ReactiveTaskController.class)
+@Import(ReactiveTaskService.class)
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("POST /api/v1/tasks should create a new task")
+    void shouldCreateTask() {
+        Task task = new Task("New Task", "Task Description");
+        task.setVersion(1);
+        when(taskService.createTask(any(Task.class))).thenReturn(task);
+
+        webTestClient.post().uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(task)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody().jsonPath("$.title").isEqualTo("New Task");
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/tasks should reject an invalid task")
+    void shouldRejectInvalidTask() {
+        webTestClient.post().uri("/api/v1/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Task())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks should stream matching tasks as a JSON array")
+    void shouldStreamTasksAsJsonArray() {
+        when(taskService.streamTasks(TaskStatus.PENDING, null))
+                .thenReturn(Stream.of(new Task("Task 1", "Description 1"), new Task("Task 2", "Description 2")));
+
+        webTestClient.get().uri("/api/v1/tasks?status=PENDING")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("Task 2");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks should stream newline-delimited JSON")
+    void shouldStreamNdjson() {
+        when(taskService.streamTasks(null, null))
+                .thenReturn(Stream.of(new Task("Task 1", "Description 1"), new Task("Task 2", "Description 2")));
+
+        List<Task> tasks = webTestClient.get().uri("/api/v1/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, tasks.size());
+        assertEquals("Task 1", tasks.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/{id} should return 304 when If-None-Match matches")
+    void shouldReturnNotModified() {
+        Task task = new Task("Task", "Description");
+        task.setVersion(3);
+        when(taskService.getTaskById("id-1")).thenReturn(Optional.of(task));
+
+        webTestClient.get().uri("/api/v1/tasks/id-1")
+                .ifNoneMatch("\"3\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/v1/tasks/missing")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/tasks/{id} should return 412 for a stale If-Match")
+    void shouldRejectStaleUpdate() {
+        when(taskService.updateTask(eq("id-1"), any(Task.class), eq(Set.of(1L))))
+                .thenThrow(new TaskVersionConflictException("id-1", Set.of(1L), 2));
+
+        webTestClient.put().uri("/api/v1/tasks/id-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .bodyValue(new Task("Updated", "Description"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals("ETag", "\"2\"");
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/tasks/{id} should return 204 or 404")
+    void shouldDeleteTask() {
+        when(taskService.deleteTask("id-1", null)).thenReturn(true);
+        when(taskService.deleteTask(eq("missing"), isNull())).thenReturn(false);
+
+        webTestClient.delete().uri("/api/v1/tasks/id-1").exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/v1/tasks/missing").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/query should bind multi-valued filters, ranges and a capped limit")
+    void shouldQueryTasks() {
+        when(taskService.queryTasks(argThat(query -> query != null
+                && query.getStatus().equals(Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS))
+                && query.getPriority().equals(Set.of(TaskPriority.HIGH))
+                && query.getUpdatedFrom().equals(LocalDateTime.of(2026, 1, 1, 0, 0))
+                && "updatedAt".equals(query.getSort())
+                && "desc".equals(query.getOrder())
+                && query.getLimit() == 1000)))
+                .thenReturn(List.of(new Task("Recent Task", "Description")));
+
+        webTestClient.get().uri("/api/v1/tasks/query?status=PENDING,IN_PROGRESS&priority=HIGH"
+                        + "&updatedFrom=2026-01-01T00:00:00&sort=updatedAt&order=desc&limit=5000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].title").isEqualTo("Recent Task");
+        when(taskService.queryTasks(argThat(query -> query != null && "title".equals(query.getSort()))))
+                .thenThrow(new InvalidRequestException("Unknown sort field: title"));
+        webTestClient.get().uri("/api/v1/tasks/query?sort=title")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown sort field: title");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks?limit should return 400 for a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        when(taskService.getTaskPage("bad", 10, null, null)).thenThrow(new InvalidRequestException("Invalid cursor"));
+        when(taskService.getTaskPage(null, 10, null, null)).thenReturn(new TaskPage(List.of(), null));
+
+        webTestClient.get().uri("/api/v1/tasks?limit=10&cursor=bad")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid cursor");
+        webTestClient.get().uri("/api/v1/tasks?limit=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items.length()").isEqualTo(0);
+    }
+}
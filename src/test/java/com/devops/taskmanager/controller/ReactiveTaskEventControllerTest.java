@@ -0,0 +1,58 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.events.TaskEventBus;
+import com.devops.taskmanager.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for ReactiveTaskEventController.
+ * Validates the reactive server-sent event stream of task changes.
+ */
+@WebFluxTest(ReactiveTaskEventController.class)
+@Import(TaskEventBus.class)
+class ReactiveTaskEventControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskEventBus eventBus;
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/events should stream events after the Last-Event-ID")
+    void shouldStreamEventsAfterLastEventId() {
+        long start = eventBus.getLatestSequence();
+        eventBus.onTaskChanged(null, new Task("First Task", "Description"));
+        eventBus.onTaskChanged(null, new Task("Second Task", "Description"));
+
+        List<ServerSentEvent<Map<String, Object>>> events = webTestClient.get().uri("/api/v1/tasks/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", Long.toString(start + 1))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>>() { })
+                .getResponseBody()
+                .take(1)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, events.size());
+        assertEquals(Long.toString(start + 2), events.get(0).id());
+        assertEquals("created", events.get(0).event());
+        assertEquals("Second Task", ((Map<?, ?>) events.get(0).data().get("task")).get("title"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Controller tests for TaskBatchController.
+ * Validates bulk endpoints and per-item results.
+ */
+@WebMvcTest(TaskBatchController.class)
+class TaskBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("POST /api/v1/tasks/batch should create valid items and report invalid ones")
+    void shouldCreateTasksInBatch() throws Exception {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(post("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\": \"First Task\"}, {\"title\": \"\"}, {\"title\": \"Third Task\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].errors.length()").value(2))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].task.title").value("Third Task"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/tasks/batch should report updated and missing tasks")
+    void shouldUpdateTasksInBatch() throws Exception {
+        Task updated = new Task("Updated Task", "Description");
+        when(taskService.updateTasks(anyList())).thenReturn(List.of(Optional.of(updated), Optional.empty()));
+
+        mockMvc.perform(put("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": \"a\", \"title\": \"Updated Task\"}, {\"id\": \"b\", \"status\": \"COMPLETED\"},"
+                                + " {\"id\": \"c\", \"title\": \"No\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].id").value("b"))
+                .andExpect(jsonPath("$.results[2].status").value("INVALID"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/tasks/batch should report deleted and missing tasks")
+    void shouldDeleteTasksInBatch() throws Exception {
+        when(taskService.deleteTasks(List.of("a", "b"))).thenReturn(List.of(true, false));
+
+        mockMvc.perform(delete("/api/v1/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"a\", \"b\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("DELETED"))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+}
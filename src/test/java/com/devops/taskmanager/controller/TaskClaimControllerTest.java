@@ -0,0 +1,83 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.TaskService;
+import com.devops.taskmanager.service.UnsupportedRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Controller tests for TaskClaimController.
+ * Validates claiming, empty queues and lease bounds.
+ */
+@WebMvcTest(TaskClaimController.class)
+class TaskClaimControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("POST /api/v1/tasks/claim should return the claimed task with its version as ETag")
+    void shouldClaimTask() throws Exception {
+        Task claimed = new Task("Claimed Task", null);
+        claimed.setStatus(TaskStatus.IN_PROGRESS);
+        claimed.setVersion(2);
+        when(taskService.claimTask(Duration.ofSeconds(30))).thenReturn(Optional.of(claimed));
+
+        mockMvc.perform(post("/api/v1/tasks/claim").param("leaseSeconds", "30"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/tasks/claim should return 204 with the default lease when nothing is pending")
+    void shouldReturnNoContentWhenQueueIsEmpty() throws Exception {
+        when(taskService.claimTask(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/v1/tasks/claim"))
+                .andExpect(status().isNoContent());
+        verify(taskService).claimTask(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/tasks/claim should reject leases outside the allowed range")
+    void shouldRejectInvalidLease() throws Exception {
+        mockMvc.perform(post("/api/v1/tasks/claim").param("leaseSeconds", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/tasks/claim").param("leaseSeconds", "86401"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/tasks/claim should be refused while replication is enabled")
+    void shouldRefuseClaimsWhenReplicated() {
+        TaskClaimController replicated =
+                new TaskClaimController(taskService, Duration.ofMinutes(5), Duration.ofHours(24), true);
+
+        assertThrows(UnsupportedRequestException.class, () -> replicated.claimTask(null));
+        verifyNoInteractions(taskService);
+    }
+}
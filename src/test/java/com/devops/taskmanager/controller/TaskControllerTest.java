@@ -1,28 +1,56 @@
 package com.devops.taskmanager.controller;
 
+import com.devops.taskmanager.cache.TaskResponseCache;
+import com.devops.taskmanager.cache.TaskResponseCoalescer;
 import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
 import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.InvalidRequestException;
 import com.devops.taskmanager.service.TaskService;
+import com.devops.taskmanager.service.TaskVersionConflictException;
+import com.devops.taskmanager.service.UnsupportedRequestException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -30,6 +58,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Validates REST API endpoints.
  */
 @WebMvcTest(TaskController.class)
+@Import({TaskResponseCache.class, TaskResponseCoalescer.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "taskmanager.coalescing.window=0")
 class TaskControllerTest {
 
     @Autowired
@@ -41,6 +71,12 @@ class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskResponseCache responseCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("POST /api/v1/tasks should create a new task")
     void shouldCreateTask() throws Exception {
@@ -62,11 +98,130 @@ class TaskControllerTest {
         Task task2 = new Task("Task 2", "Description 2");
         when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
 
-        mockMvc.perform(get("/api/v1/tasks"))
+        mockMvc.perform(get("/api/v1/tasks").accept(MediaType.ALL))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/tasks should record the number of tasks in the response")
+    void shouldRecordListResponseSize() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(Arrays.asList(new Task("Task 1", null), new Task("Task 2", null)));
+        DistributionSummary sizes = meterRegistry.get("taskmanager.api.response.tasks")
+                .tag("endpoint", "list").summary();
+        long count = sizes.count();
+        double total = sizes.totalAmount();
+
+        mockMvc.perform(get("/api/v1/tasks").accept(MediaType.ALL))
+                .andExpect(status().isOk());
+
+        assertEquals(count + 1, sizes.count());
+        assertEquals(total + 2, sizes.totalAmount());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks with status and priority should use the combined index")
+    void shouldFilterByStatusAndPriority() throws Exception {
+        Task task = new Task("Urgent Task", "Description");
+        task.setPriority(TaskPriority.CRITICAL);
+        when(taskService.getTasksByStatusAndPriority(TaskStatus.PENDING, TaskPriority.CRITICAL))
+                .thenReturn(Arrays.asList(task));
+
+        mockMvc.perform(get("/api/v1/tasks").param("status", "PENDING").param("priority", "CRITICAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].priority").value("CRITICAL"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks with limit should return a cursor page")
+    void shouldGetTaskPage() throws Exception {
+        TaskPage page = new TaskPage(Arrays.asList(new Task("Task 1", "Description 1")), "next-cursor");
+        when(taskService.getTaskPage(isNull(), eq(1), isNull(), isNull())).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks with a malformed cursor should return 400")
+    void shouldRejectMalformedCursor() throws Exception {
+        when(taskService.getTaskPage(eq("bad"), eq(10), isNull(), isNull()))
+                .thenThrow(new InvalidRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/tasks").param("limit", "10").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/search should return ranked matches")
+    void shouldSearchTasks() throws Exception {
+        TaskPage page = new TaskPage(Arrays.asList(new Task("Deploy pipeline", "Description")), null);
+        when(taskService.searchTasks(eq("deploy"), isNull(), eq(20))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tasks/search").param("q", "deploy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Deploy pipeline"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/query should bind multi-valued filters, ranges and a capped limit")
+    void shouldQueryTasks() throws Exception {
+        when(taskService.queryTasks(argThat(query -> query != null
+                && query.getStatus().equals(Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS))
+                && query.getPriority().equals(Set.of(TaskPriority.HIGH))
+                && query.getUpdatedFrom().equals(LocalDateTime.of(2026, 1, 1, 0, 0))
+                && "updatedAt".equals(query.getSort())
+                && "desc".equals(query.getOrder())
+                && query.getLimit() == 1000)))
+                .thenReturn(Arrays.asList(new Task("Recent Task", "Description")));
+
+        mockMvc.perform(get("/api/v1/tasks/query")
+                        .param("status", "PENDING,IN_PROGRESS")
+                        .param("priority", "HIGH")
+                        .param("updatedFrom", "2026-01-01T00:00:00")
+                        .param("sort", "updatedAt")
+                        .param("order", "desc")
+                        .param("limit", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Recent Task"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/query should return 400 for an unknown sort field")
+    void shouldRejectInvalidQuery() throws Exception {
+        when(taskService.queryTasks(any())).thenThrow(new InvalidRequestException("Unknown sort field: title"));
+
+        mockMvc.perform(get("/api/v1/tasks/query").param("sort", "title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown sort field: title"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks accepting NDJSON should stream one task per line")
+    void shouldStreamTasksAsNdjson() throws Exception {
+        when(taskService.streamTasks(null, null))
+                .thenReturn(Stream.of(new Task("Task 1", "Description 1"), new Task("Task 2", "Description 2")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks").accept(TaskController.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaskController.APPLICATION_NDJSON))
+                .andExpect(streamed -> {
+                    String[] lines = streamed.getResponse().getContentAsString().split("\n");
+                    assertEquals(2, lines.length);
+                    for (String line : lines) {
+                        assertTrue(line.startsWith("{\"") && line.endsWith("}"), line);
+                    }
+                });
+    }
+
     @Test
     @DisplayName("GET /api/v1/tasks/{id} should return task by ID")
     void shouldGetTaskById() throws Exception {
@@ -78,6 +233,49 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/tasks/{id} should return the version as ETag and 304 when unchanged")
+    void shouldHonourIfNoneMatch() throws Exception {
+        Task task = new Task("Test Task", "Description");
+        task.setVersion(3);
+        when(taskService.getTaskById("test-id")).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/v1/tasks/test-id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        mockMvc.perform(get("/api/v1/tasks/test-id").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/tasks/test-id").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/{id} should serve repeated reads of a version from the response cache")
+    void shouldServeCachedResponse() throws Exception {
+        Task task = new Task("cached-id", "Cached Task", "Description", TaskStatus.PENDING, TaskPriority.LOW,
+                LocalDateTime.now(), LocalDateTime.now());
+        task.setVersion(1);
+        when(taskService.getTaskById("cached-id")).thenReturn(Optional.of(task));
+        long hits = responseCache.getHits();
+
+        String first = mockMvc.perform(get("/api/v1/tasks/cached-id"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/v1/tasks/cached-id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first, true));
+        assertEquals(hits + 1, responseCache.getHits());
+
+        Task updated = new Task(task);
+        updated.setTitle("Renamed Task");
+        updated.setVersion(2);
+        when(taskService.getTaskById("cached-id")).thenReturn(Optional.of(updated));
+        mockMvc.perform(get("/api/v1/tasks/cached-id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.title").value("Renamed Task"));
+    }
+
     @Test
     @DisplayName("GET /api/v1/tasks/{id} should return 404 for non-existent task")
     void shouldReturn404ForNonExistentTask() throws Exception {
@@ -92,7 +290,7 @@ class TaskControllerTest {
     void shouldUpdateTask() throws Exception {
         Task task = new Task("Updated Task", "Updated Description");
         task.setStatus(TaskStatus.IN_PROGRESS);
-        when(taskService.updateTask(eq("test-id"), any(Task.class))).thenReturn(Optional.of(task));
+        when(taskService.updateTask(eq("test-id"), any(Task.class), isNull())).thenReturn(Optional.of(task));
 
         mockMvc.perform(put("/api/v1/tasks/test-id")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -101,10 +299,70 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Updated Task"));
     }
 
+    @Test
+    @DisplayName("PUT /api/v1/tasks/{id} with If-Match should update only the expected version")
+    void shouldHonourIfMatchOnUpdate() throws Exception {
+        Task task = new Task("Updated Task", "Updated Description");
+        task.setVersion(5);
+        when(taskService.updateTask(eq("test-id"), any(Task.class), eq(Set.of(4L)))).thenReturn(Optional.of(task));
+        when(taskService.updateTask(eq("test-id"), any(Task.class), eq(Set.of(3L))))
+                .thenThrow(new TaskVersionConflictException("test-id", Set.of(3L), 4));
+
+        mockMvc.perform(put("/api/v1/tasks/test-id").header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+        mockMvc.perform(put("/api/v1/tasks/test-id").header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/tasks/{id} should accept an If-Match list and weak tags, and reject malformed ones")
+    void shouldParseIfMatchLists() throws Exception {
+        Task task = new Task("Updated Task", "Updated Description");
+        task.setVersion(5);
+        when(taskService.updateTask(eq("test-id"), any(Task.class), eq(Set.of(3L, 4L)))).thenReturn(Optional.of(task));
+
+        mockMvc.perform(put("/api/v1/tasks/test-id").header("If-Match", "\"3\", W/\"4\", \"other\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/tasks/test-id").header("If-Match", "4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/v1/tasks/test-id").header("If-Match", "\"3\" \"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("If-Match should be refused while replication is enabled")
+    void shouldRefuseIfMatchWhenReplicated() {
+        assertThrows(UnsupportedRequestException.class, () -> TaskController.expectedVersions("\"1\"", true));
+        assertNull(TaskController.expectedVersions(null, true));
+        assertEquals(Set.of(1L), TaskController.expectedVersions("\"1\"", false));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/tasks/{id} with a stale If-Match should return 412")
+    void shouldRejectStaleIfMatchOnDelete() throws Exception {
+        when(taskService.deleteTask(eq("test-id"), eq(Set.of(1L))))
+                .thenThrow(new TaskVersionConflictException("test-id", Set.of(1L), 2));
+
+        mockMvc.perform(delete("/api/v1/tasks/test-id").header("If-Match", "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("DELETE /api/v1/tasks/{id} should delete task")
     void shouldDeleteTask() throws Exception {
-        when(taskService.deleteTask("test-id")).thenReturn(true);
+        when(taskService.deleteTask(eq("test-id"), isNull())).thenReturn(true);
 
         mockMvc.perform(delete("/api/v1/tasks/test-id"))
                 .andExpect(status().isNoContent());
@@ -113,7 +371,7 @@ class TaskControllerTest {
     @Test
     @DisplayName("DELETE /api/v1/tasks/{id} should return 404 for non-existent task")
     void shouldReturn404WhenDeletingNonExistentTask() throws Exception {
-        when(taskService.deleteTask("non-existent")).thenReturn(false);
+        when(taskService.deleteTask(eq("non-existent"), isNull())).thenReturn(false);
 
         mockMvc.perform(delete("/api/v1/tasks/non-existent"))
                 .andExpect(status().isNotFound());
@@ -122,15 +380,28 @@ class TaskControllerTest {
     @Test
     @DisplayName("GET /api/v1/tasks/stats should return statistics")
     void shouldGetStats() throws Exception {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.PENDING, 2L);
+        byStatus.put(TaskStatus.IN_PROGRESS, 7L);
+        byStatus.put(TaskStatus.COMPLETED, 1L);
+        byStatus.put(TaskStatus.CANCELLED, 0L);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        byPriority.put(TaskPriority.LOW, 1L);
+        byPriority.put(TaskPriority.MEDIUM, 6L);
+        byPriority.put(TaskPriority.HIGH, 2L);
+        byPriority.put(TaskPriority.CRITICAL, 1L);
         when(taskService.getTaskCount()).thenReturn(10L);
-        when(taskService.getTasksByStatus(TaskStatus.PENDING)).thenReturn(Arrays.asList(new Task(), new Task()));
-        when(taskService.getTasksByStatus(TaskStatus.COMPLETED)).thenReturn(Arrays.asList(new Task()));
+        when(taskService.getTaskCount(TaskStatus.PENDING)).thenReturn(2L);
+        when(taskService.getTaskCount(TaskStatus.COMPLETED)).thenReturn(1L);
+        when(taskService.getStatusCounts()).thenReturn(byStatus);
+        when(taskService.getPriorityCounts()).thenReturn(byPriority);
 
         mockMvc.perform(get("/api/v1/tasks/stats"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalTasks").value(10))
                 .andExpect(jsonPath("$.pendingTasks").value(2))
-                .andExpect(jsonPath("$.completedTasks").value(1));
+                .andExpect(jsonPath("$.completedTasks").value(1))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(7))
+                .andExpect(jsonPath("$.byPriority.CRITICAL").value(1));
     }
 }
-
@@ -0,0 +1,58 @@
+package com.devops.taskmanager.controller;
+
+import com.devops.taskmanager.events.TaskEventBus;
+import com.devops.taskmanager.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for TaskEventController.
+ * Validates the server-sent event stream of task changes.
+ */
+@WebMvcTest(TaskEventController.class)
+@Import(TaskEventBus.class)
+class TaskEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskEventBus eventBus;
+
+    @Test
+    @DisplayName("GET /api/v1/tasks/events should stream events after the Last-Event-ID")
+    void shouldStreamEventsAfterLastEventId() throws Exception {
+        Task first = new Task("First Task", "Description");
+        Task second = new Task("Second Task", "Description");
+        long start = eventBus.getLatestSequence();
+        eventBus.onTaskChanged(null, first);
+        eventBus.onTaskChanged(null, second);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", Long.toString(start + 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = "";
+        for (int i = 0; i < 100 && !body.contains("Second Task"); i++) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("id:" + (start + 2)));
+        assertTrue(body.contains("event:created"));
+        assertTrue(body.contains("Second Task"));
+        assertFalse(body.contains("First Task"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.devops.taskmanager.events;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskEvent;
+import com.devops.taskmanager.model.TaskEventType;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TaskEventBus.
+ * Validates sequencing, ring overwrite, subscription delivery and lag handling.
+ */
+class TaskEventBusTest {
+
+    private final TaskEventBus eventBus = new TaskEventBus(8, 1);
+
+    @AfterEach
+    void tearDown() {
+        eventBus.close();
+    }
+
+    @Test
+    @DisplayName("Should publish service writes as sequenced create, update and delete events")
+    void shouldPublishServiceWrites() {
+        TaskService taskService = new TaskService(new NoOpTaskPersistence(), List.of(eventBus));
+        Task task = taskService.createTask(new Task("Evented Task", "Description"));
+        Task updatedData = new Task();
+        updatedData.setTitle("Renamed Task");
+        taskService.updateTask(task.getId(), updatedData);
+        taskService.deleteTask(task.getId());
+
+        List<TaskEvent> events = eventBus.read(1, 10);
+
+        assertEquals(3, events.size());
+        assertEquals(List.of(TaskEventType.CREATED, TaskEventType.UPDATED, TaskEventType.DELETED),
+                events.stream().map(TaskEvent::getType).toList());
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(TaskEvent::getSequence).toList());
+        assertEquals("Renamed Task", events.get(1).getTask().getTitle());
+        assertNull(events.get(2).getTask());
+        assertEquals(task.getId(), events.get(2).getTaskId());
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest events once the ring wraps")
+    void shouldOverwriteOldestEvents() {
+        for (int i = 0; i < 20; i++) {
+            eventBus.onTaskChanged(null, new Task("Task " + i, "Description"));
+        }
+
+        assertEquals(20, eventBus.getLatestSequence());
+        assertEquals(13, eventBus.getOldestSequence());
+        assertTrue(eventBus.read(1, 10).isEmpty());
+        assertEquals(8, eventBus.read(13, 10).size());
+    }
+
+    @Test
+    @DisplayName("Should deliver events to subscribers in order from the requested sequence")
+    void shouldDeliverToSubscribers() throws Exception {
+        eventBus.onTaskChanged(null, new Task("Before", "Description"));
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        eventBus.subscribe(2, new TaskEventSubscriber() {
+            @Override
+            public void onEvent(TaskEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            public void onLagged(long latestSequence) {
+            }
+        });
+        eventBus.onTaskChanged(null, new Task("After 1", "Description"));
+        eventBus.onTaskChanged(null, new Task("After 2", "Description"));
+
+        assertEquals(2, received.poll(5, TimeUnit.SECONDS).getSequence());
+        assertEquals(3, received.poll(5, TimeUnit.SECONDS).getSequence());
+    }
+
+    @Test
+    @DisplayName("Should tell a subscriber that fell behind a full ring and drop it")
+    void shouldDropLaggingSubscribers() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            eventBus.onTaskChanged(null, new Task("Task " + i, "Description"));
+        }
+        CountDownLatch lagged = new CountDownLatch(1);
+        AtomicLong latest = new AtomicLong();
+        eventBus.subscribe(1, new TaskEventSubscriber() {
+            @Override
+            public void onEvent(TaskEvent event) {
+            }
+
+            @Override
+            public void onLagged(long latestSequence) {
+                latest.set(latestSequence);
+                lagged.countDown();
+            }
+        });
+
+        assertTrue(lagged.await(5, TimeUnit.SECONDS));
+        assertEquals(20, latest.get());
+        assertEquals(0, eventBus.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose delivery fails without affecting writers")
+    void shouldDropFailingSubscribers() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        eventBus.subscribe(1, new TaskEventSubscriber() {
+            @Override
+            public void onEvent(TaskEvent event) throws IOException {
+                failed.countDown();
+                throw new IOException("Client went away");
+            }
+
+            @Override
+            public void onLagged(long latestSequence) {
+            }
+        });
+        eventBus.onTaskChanged(null, new Task("Task", "Description"));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50 && eventBus.getSubscriberCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, eventBus.getSubscriberCount());
+        eventBus.onTaskChanged(null, new Task("Task", "Description"));
+        assertEquals(2, eventBus.getLatestSequence());
+    }
+}
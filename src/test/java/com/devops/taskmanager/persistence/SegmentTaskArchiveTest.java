@@ -0,0 +1,172 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SegmentTaskArchive.
+ * Validates lookups across blocks and runs, tombstones and reopening.
+ */
+class SegmentTaskArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private SegmentTaskArchive open(long segmentSize) {
+        SegmentTaskArchive archive = new SegmentTaskArchive(directory, 512, segmentSize);
+        archive.open();
+        return archive;
+    }
+
+    private static List<Task> finishedTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Archived Task " + i, "Description " + i);
+            task.setStatus(TaskStatus.COMPLETED);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should find every archived task across blocks and runs")
+    void shouldFindArchivedTasks() {
+        SegmentTaskArchive archive = open(1 << 20);
+        List<Task> first = finishedTasks(200);
+        List<Task> second = finishedTasks(50);
+        archive.append(first);
+        archive.append(second);
+
+        for (Task task : first) {
+            assertEquals(task.getTitle(), archive.get(task.getId()).getTitle());
+        }
+        for (Task task : second) {
+            assertEquals(TaskStatus.COMPLETED, archive.get(task.getId()).getStatus());
+        }
+        assertNull(archive.get(UUID.randomUUID().toString()));
+        assertEquals(250, archive.getArchivedCount());
+        assertEquals(2, archive.getRunCount());
+        archive.close();
+    }
+
+    @Test
+    @DisplayName("Should return the newest copy and hide deleted tasks")
+    void shouldApplyNewerRunsAndTombstones() {
+        SegmentTaskArchive archive = open(1 << 20);
+        Task task = finishedTasks(1).get(0);
+        Task other = finishedTasks(1).get(0);
+        archive.append(List.of(task, other));
+        task.setTitle("Archived Again");
+        task.setVersion(2);
+        archive.append(List.of(task));
+        archive.delete(other.getId());
+
+        assertEquals("Archived Again", archive.get(task.getId()).getTitle());
+        assertEquals(2, archive.get(task.getId()).getVersion());
+        assertNull(archive.get(other.getId()));
+        archive.close();
+    }
+
+    @Test
+    @DisplayName("Should reload runs from every segment after reopening")
+    void shouldReloadAfterReopening() throws IOException {
+        SegmentTaskArchive archive = open(1024);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            List<Task> run = finishedTasks(20);
+            archive.append(run);
+            tasks.addAll(run);
+        }
+        archive.delete(tasks.get(0).getId());
+        archive.close();
+
+        SegmentTaskArchive reopened = open(1024);
+
+        try (var segments = Files.list(directory)) {
+            assertTrue(segments.count() > 1);
+        }
+        assertEquals(5, reopened.getRunCount());
+        assertEquals(100, reopened.getArchivedCount());
+        assertNull(reopened.get(tasks.get(0).getId()));
+        for (Task task : tasks.subList(1, tasks.size())) {
+            assertEquals(task.getTitle(), reopened.get(task.getId()).getTitle());
+        }
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should hold deletes until the next run instead of writing a run for each")
+    void shouldFoldDeletesIntoNextRun() throws IOException {
+        SegmentTaskArchive archive = open(1 << 20);
+        List<Task> tasks = finishedTasks(10);
+        archive.append(tasks);
+        for (Task task : tasks.subList(0, 5)) {
+            archive.delete(task.getId());
+        }
+        assertEquals(1, archive.getRunCount());
+        archive.close();
+
+        SegmentTaskArchive reopened = open(1 << 20);
+        assertNull(reopened.get(tasks.get(0).getId()));
+        Path deletes = directory.resolve("deletes.log");
+        byte[] heldDeletes = Files.readAllBytes(deletes);
+        Task recreated = new Task(tasks.get(0));
+        recreated.setVersion(2);
+        reopened.append(List.of(recreated));
+        reopened.close();
+        Files.write(deletes, heldDeletes);
+
+        SegmentTaskArchive recovered = open(1 << 20);
+        assertEquals(2, recovered.getRunCount());
+        assertEquals(2, recovered.get(recreated.getId()).getVersion());
+        for (Task task : tasks.subList(1, 5)) {
+            assertNull(recovered.get(task.getId()));
+        }
+        for (Task task : tasks.subList(5, 10)) {
+            assertEquals(task.getTitle(), recovered.get(task.getId()).getTitle());
+        }
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("Should cut off a run torn by a crash and keep appending after it")
+    void shouldTruncateTornRun() throws IOException {
+        SegmentTaskArchive archive = open(1 << 20);
+        List<Task> kept = finishedTasks(10);
+        archive.append(kept);
+        archive.close();
+        Path segment;
+        try (var segments = Files.list(directory)) {
+            segment = segments.findFirst().orElseThrow();
+        }
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[] {1, 0, 0, 1, 0, 0, 0, 0, 9}, StandardOpenOption.APPEND);
+
+        SegmentTaskArchive reopened = open(1 << 20);
+        assertEquals(validSize, Files.size(segment));
+        Task later = finishedTasks(1).get(0);
+        reopened.append(List.of(later));
+        reopened.close();
+
+        SegmentTaskArchive recovered = open(1 << 20);
+        assertEquals(2, recovered.getRunCount());
+        assertEquals(later.getTitle(), recovered.get(later.getId()).getTitle());
+        assertEquals(kept.get(9).getTitle(), recovered.get(kept.get(9).getId()).getTitle());
+        recovered.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for SnapshotFile.
+ * Validates the memory-mapped snapshot format, window handling and corruption checks.
+ */
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<Task> sampleTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> {
+            Task task = new Task("Task " + i + " é中", i % 3 == 0 ? null : "Description " + i);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            tasks.add(task);
+        });
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should round-trip tasks across many small mapped windows")
+    void shouldRoundTripAcrossWindows() throws IOException {
+        Path file = directory.resolve("snapshot.snap");
+        List<Task> tasks = sampleTasks(500);
+
+        assertEquals(500, SnapshotFile.write(file, tasks.stream(), 256));
+        List<Task> loaded = new ArrayList<>();
+        assertEquals(500, SnapshotFile.read(file, loaded::add, 300));
+
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task expected = tasks.get(i);
+            Task actual = loaded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getPriority(), actual.getPriority());
+        }
+        assertNull(loaded.get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose payload was corrupted")
+    void shouldDetectCorruption() throws IOException {
+        Path file = directory.resolve("snapshot.snap");
+        SnapshotFile.write(file, sampleTasks(20).stream());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), 100);
+        }
+
+        List<Task> loaded = new ArrayList<>();
+        assertThrows(IOException.class, () -> SnapshotFile.read(file, loaded::add));
+        assertEquals(0, loaded.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated snapshot")
+    void shouldDetectTruncation() throws IOException {
+        Path file = directory.resolve("snapshot.snap");
+        SnapshotFile.write(file, sampleTasks(20).stream());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        assertThrows(IOException.class, () -> SnapshotFile.read(file, task -> { }));
+    }
+}
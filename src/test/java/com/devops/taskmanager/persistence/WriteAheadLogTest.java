@@ -0,0 +1,99 @@
+package com.devops.taskmanager.persistence;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for WriteAheadLog.
+ * Validates group-committed logging, snapshots and crash recovery.
+ */
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadLog open() {
+        return new WriteAheadLog(directory, 64, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should recover upserts and deletes after reopening")
+    void shouldRecoverLoggedWrites() {
+        WriteAheadLog log = open();
+        assertTrue(log.recover().isEmpty());
+        Task kept = new Task("Kept Task", "Description");
+        kept.setStatus(TaskStatus.IN_PROGRESS);
+        kept.setPriority(TaskPriority.HIGH);
+        kept.setDueAt(LocalDateTime.of(2026, 3, 1, 9, 30));
+        kept.setOverdue(true);
+        Task deleted = new Task("Deleted Task", null);
+        log.logUpsert(kept).join();
+        log.logUpsert(deleted).join();
+        log.logDelete(deleted.getId()).join();
+        log.close();
+
+        Map<String, Task> recovered = open().recover();
+
+        assertEquals(1, recovered.size());
+        Task task = recovered.get(kept.getId());
+        assertEquals("Kept Task", task.getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 30), task.getDueAt());
+        assertTrue(task.isOverdue());
+        assertFalse(task.isReminded());
+    }
+
+    @Test
+    @DisplayName("Should replay the log tail on top of a snapshot and drop covered segments")
+    void shouldCombineSnapshotAndLogTail() throws IOException {
+        WriteAheadLog log = open();
+        log.recover();
+        Task first = new Task("First Task", "Description");
+        log.logUpsert(first).join();
+        log.snapshot(() -> Stream.of(first));
+        Task second = new Task("Second Task", "Description");
+        log.logUpsert(second).join();
+        log.close();
+
+        Map<String, Task> recovered = open().recover();
+
+        assertEquals(2, recovered.size());
+        assertFalse(Files.exists(directory.resolve("wal-0000000001.log")));
+        assertTrue(Files.exists(directory.resolve("snapshot-0000000002.snap")));
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the log")
+    void shouldIgnoreTornTail() throws IOException {
+        WriteAheadLog log = open();
+        log.recover();
+        Task task = new Task("Durable Task", "Description");
+        log.logUpsert(task).join();
+        log.close();
+        Files.write(directory.resolve("wal-0000000001.log"), new byte[] {0, 0, 0, 42, 1, 2},
+                StandardOpenOption.APPEND);
+
+        Map<String, Task> recovered = open().recover();
+
+        assertEquals(1, recovered.size());
+        assertTrue(recovered.containsKey(task.getId()));
+    }
+}
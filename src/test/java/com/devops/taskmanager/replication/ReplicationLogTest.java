@@ -0,0 +1,63 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ReplicationLog.
+ * Validates that only the most recent deletes are remembered for copies.
+ */
+class ReplicationLogTest {
+
+    @Test
+    @DisplayName("Should forget the oldest deletes beyond the tombstone limit")
+    void shouldBoundTombstones() {
+        ReplicationLog log = new ReplicationLog(1024, 3);
+        TaskService service = new TaskService(new NoOpTaskPersistence(), List.of(log));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(service.createTask(new Task("Task " + i, null)));
+        }
+
+        tasks.forEach(task -> service.deleteTask(task.getId()));
+
+        assertEquals(3, log.tombstones().size());
+        assertFalse(log.isDeleted(tasks.get(1).getId(), 1));
+        assertTrue(log.isDeleted(tasks.get(2).getId(), 1));
+        assertTrue(log.isDeleted(tasks.get(4).getId(), 1));
+    }
+
+    @Test
+    @DisplayName("Should keep a newer delete of a task when an older one is forgotten")
+    void shouldKeepNewerTombstone() {
+        ReplicationLog log = new ReplicationLog(1024, 2);
+        TaskService service = new TaskService(new NoOpTaskPersistence(), List.of(log));
+        Task task = service.createTask(new Task("Recreated Task", null));
+        service.deleteTask(task.getId());
+        service.applyReplicatedUpsert(copy(task, 2)).join();
+        service.deleteTask(task.getId());
+
+        service.deleteTask(service.createTask(new Task("Other Task", null)).getId());
+
+        assertTrue(log.isDeleted(task.getId(), 2));
+        assertEquals(2, log.tombstones().size());
+        assertThrows(IllegalArgumentException.class, () -> new ReplicationLog(16, -1));
+    }
+
+    private static Task copy(Task task, long version) {
+        Task copy = new Task(task);
+        copy.setVersion(version);
+        return copy;
+    }
+}
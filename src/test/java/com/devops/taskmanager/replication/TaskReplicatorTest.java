@@ -0,0 +1,211 @@
+package com.devops.taskmanager.replication;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import com.devops.taskmanager.service.TaskMutationListener;
+import com.devops.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Unit tests for TaskReplicator.
+ * Runs several replicas on localhost and validates that writes reach every
+ * peer, that late joiners are caught up and that conflicting writes converge.
+ */
+class TaskReplicatorTest {
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        replicas.forEach(replica -> replica.replicator().close());
+    }
+
+    @Test
+    @DisplayName("Should replicate creates, updates and deletes to every peer")
+    void shouldReplicateWrites() {
+        Replica a = replica(1024);
+        Replica b = replica(1024);
+        Replica c = replica(1024);
+        connect(a, b, c);
+
+        Task task = a.service().createTask(new Task("Replicated Task", "Description"));
+        awaitTrue(() -> b.service().getTaskById(task.getId()).isPresent()
+                && c.service().getTaskById(task.getId()).isPresent());
+        Task update = new Task();
+        update.setStatus(TaskStatus.COMPLETED);
+        b.service().updateTask(task.getId(), update);
+        awaitTrue(() -> status(a, task.getId()) == TaskStatus.COMPLETED
+                && status(c, task.getId()) == TaskStatus.COMPLETED);
+        c.service().deleteTask(task.getId());
+        awaitTrue(() -> a.service().getTaskCount() == 0 && b.service().getTaskCount() == 0);
+
+        assertEquals(1, a.log().getLatestSequence());
+        assertEquals(1, b.log().getLatestSequence());
+        assertEquals(1, c.log().getLatestSequence());
+        awaitTrue(() -> replicas.stream().allMatch(replica -> replica.replicator().getLagEntries() == 0));
+        assertEquals(2, a.replicator().getConnectedPeers());
+    }
+
+    @Test
+    @DisplayName("Should send a full copy to a replica that joins after the log has wrapped")
+    void shouldCopyStoreToLateJoiner() {
+        Replica a = replica(4);
+        for (int i = 0; i < 50; i++) {
+            a.service().createTask(new Task("Task " + i, null));
+        }
+        Replica late = replica(4);
+        connect(a, late);
+
+        awaitTrue(() -> late.service().getTaskCount() == 50);
+        a.service().createTask(new Task("After Copy", null));
+        awaitTrue(() -> late.service().getTaskCount() == 51);
+        assertTrue(a.replicator().getResyncs() >= 1);
+        assertEquals(0, late.log().getLatestSequence());
+    }
+
+    @Test
+    @DisplayName("Should include a task whose create was in flight when the copy began")
+    void shouldCopyTasksCreatedDuringCopy() throws Exception {
+        CountDownLatch logged = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean stall = new AtomicBoolean();
+        ReplicationLog log = new ReplicationLog(4);
+        TaskMutationListener inFlight = (previous, current) -> {
+            if (stall.compareAndSet(true, false)) {
+                logged.countDown();
+                await(release);
+            }
+        };
+        Replica a = replica(log, List.of(log, inFlight));
+        Replica late = replica(4);
+        stall.set(true);
+        CompletableFuture<Task> created = CompletableFuture.supplyAsync(
+                () -> a.service().createTask(new Task("Created During Copy", null)));
+        assertTrue(logged.await(5, TimeUnit.SECONDS));
+
+        connect(a, late);
+        awaitTrue(() -> a.replicator().getResyncs() >= 1);
+        Thread.sleep(200);
+        release.countDown();
+
+        Task task = created.get(5, TimeUnit.SECONDS);
+        awaitTrue(() -> late.service().getTaskById(task.getId()).isPresent());
+        assertEquals(1, late.service().getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a task whose delete a replica missed instead of spreading it back")
+    void shouldReplicateDeletesWithCopy() {
+        Replica a = replica(4);
+        Replica stale = replica(4);
+        Task deleted = a.service().createTask(new Task("Deleted Task", null));
+        stale.service().applyReplicatedUpsert(deleted).join();
+        a.service().deleteTask(deleted.getId());
+        Task kept = stale.service().createTask(new Task("Written While Apart", null));
+
+        connect(a, stale);
+
+        awaitTrue(() -> a.service().getTaskById(kept.getId()).isPresent()
+                && stale.service().getTaskById(deleted.getId()).isEmpty()
+                && a.replicator().getLagEntries() == 0 && stale.replicator().getLagEntries() == 0);
+        assertTrue(a.service().getTaskById(deleted.getId()).isEmpty());
+        assertTrue(stale.service().getTaskById(kept.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should settle concurrent updates of one task on the same copy everywhere")
+    void shouldConvergeOnConflictingUpdates() {
+        Replica a = replica(1024);
+        Replica b = replica(1024);
+        Task task = a.service().createTask(new Task("Contended Task", null));
+        b.service().applyReplicatedUpsert(task).join();
+        Task fromA = new Task();
+        fromA.setTitle("Written on A");
+        a.service().updateTask(task.getId(), fromA);
+        Task fromB = new Task();
+        fromB.setTitle("Written on B");
+        b.service().updateTask(task.getId(), fromB);
+
+        connect(a, b);
+
+        awaitTrue(() -> title(a, task.getId()).equals(title(b, task.getId()))
+                && a.replicator().getLagEntries() == 0 && b.replicator().getLagEntries() == 0);
+        assertEquals(2, a.service().getTaskById(task.getId()).orElseThrow().getVersion());
+    }
+
+    private Replica replica(int logCapacity) {
+        ReplicationLog log = new ReplicationLog(logCapacity);
+        return replica(log, List.of(log));
+    }
+
+    private Replica replica(ReplicationLog log, List<TaskMutationListener> listeners) {
+        TaskService service = new TaskService(new NoOpTaskPersistence(), listeners);
+        TaskReplicator replicator = new TaskReplicator(service, log, 0, 16, 4, Duration.ofMillis(50));
+        replicator.start();
+        Replica replica = new Replica(service, log, replicator);
+        replicas.add(replica);
+        return replica;
+    }
+
+    private static void connect(Replica... group) {
+        for (Replica from : group) {
+            for (Replica to : group) {
+                if (from != to) {
+                    from.replicator().addPeer("127.0.0.1:" + to.replicator().getPort());
+                }
+            }
+        }
+    }
+
+    private static TaskStatus status(Replica replica, String id) {
+        Optional<Task> task = replica.service().getTaskById(id);
+        return task.map(Task::getStatus).orElse(null);
+    }
+
+    private static String title(Replica replica, String id) {
+        return replica.service().getTaskById(id).map(Task::getTitle).orElse("");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Replicas did not converge in time");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for replicas");
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Replica(TaskService service, ReplicationLog log, TaskReplicator replicator) {
+    }
+}
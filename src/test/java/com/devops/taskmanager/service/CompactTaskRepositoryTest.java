@@ -0,0 +1,130 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for CompactTaskRepository.
+ * Validates that packed tasks read back unchanged and that the task service runs on it.
+ */
+class CompactTaskRepositoryTest {
+
+    @Test
+    @DisplayName("Should read back every field of a packed task")
+    void shouldRoundTripPackedTask() {
+        CompactTaskRepository repository = new CompactTaskRepository(4);
+        Task task = new Task("Café ✓", null);
+        task.setStatus(TaskStatus.CANCELLED);
+        task.setPriority(TaskPriority.CRITICAL);
+        task.setVersion(42);
+        repository.compute(task.getId(), (id, existing) -> task);
+
+        assertSameTask(task, repository.get(task.getId()));
+        assertSameTask(task, repository.findAll().get(0));
+        assertEquals(List.of(task.getId()), repository.ids().toList());
+    }
+
+    @Test
+    @DisplayName("Should keep tasks that cannot be packed as objects")
+    void shouldKeepUnpackableTasks() {
+        CompactTaskRepository repository = new CompactTaskRepository(2);
+        Task custom = new Task("custom-id", "Custom", null, TaskStatus.PENDING, TaskPriority.LOW,
+                LocalDateTime.now(), LocalDateTime.now());
+        Task upperCase = new Task("Upper", null);
+        upperCase.setId(upperCase.getId().toUpperCase());
+        Task farFuture = new Task("Far future", null);
+        farFuture.setUpdatedAt(LocalDateTime.of(999_999, 1, 1, 0, 0));
+        for (Task task : List.of(custom, upperCase, farFuture)) {
+            repository.compute(task.getId(), (id, existing) -> task);
+        }
+
+        assertSameTask(custom, repository.get("custom-id"));
+        assertSameTask(upperCase, repository.get(upperCase.getId()));
+        assertSameTask(farFuture, repository.get(farFuture.getId()));
+        assertEquals(Set.of(custom.getId(), upperCase.getId(), farFuture.getId()),
+                repository.ids().collect(Collectors.toSet()));
+
+        Task packable = new Task(farFuture);
+        packable.setUpdatedAt(farFuture.getCreatedAt());
+        repository.compute(farFuture.getId(), (id, existing) -> packable);
+        assertSameTask(packable, repository.get(farFuture.getId()));
+        assertEquals(3, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should grow, remove and shrink without losing tasks")
+    void shouldGrowAndShrink() {
+        CompactTaskRepository repository = new CompactTaskRepository(1);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Task task = new Task("Task " + i, "Description " + i);
+            repository.compute(task.getId(), (id, existing) -> task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < 4900; i++) {
+            repository.computeIfPresent(tasks.get(i).getId(), (id, existing) -> null);
+        }
+
+        assertEquals(100, repository.size());
+        assertNull(repository.get(tasks.get(0).getId()));
+        assertNull(repository.computeIfPresent(tasks.get(0).getId(), (id, existing) -> existing));
+        for (Task task : tasks.subList(4900, 5000)) {
+            assertSameTask(task, repository.get(task.getId()));
+        }
+        assertEquals(9901, repository.getShardWrites(0));
+    }
+
+    @Test
+    @DisplayName("Should keep the task service indexes consistent on the compact store")
+    void shouldServeTaskServiceQueries() {
+        TaskService service = new TaskService(new NoOpTaskPersistence(), new CompactTaskRepository(4), List.of());
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(service.createTask(new Task("Task " + i, "Description")));
+        }
+        Task update = new Task();
+        update.setStatus(TaskStatus.COMPLETED);
+        update.setPriority(null);
+        service.updateTask(created.get(3).getId(), update);
+        service.deleteTask(created.get(4).getId());
+
+        assertEquals(29, service.getTaskCount());
+        assertEquals(List.of(created.get(3).getId()),
+                service.getTasksByStatus(TaskStatus.COMPLETED).stream().map(Task::getId).toList());
+        assertEquals(2, service.getTaskById(created.get(3).getId()).orElseThrow().getVersion());
+
+        TaskPage first = service.getTaskPage(null, 10, null, null);
+        TaskPage second = service.getTaskPage(first.getNextCursor(), 100, null, null);
+        assertNotNull(first.getNextCursor());
+        assertEquals(29, first.getItems().size() + second.getItems().size());
+        assertTrue(second.getItems().stream().noneMatch(task -> task.getId().equals(created.get(4).getId())));
+    }
+
+    private static void assertSameTask(Task expected, Task actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
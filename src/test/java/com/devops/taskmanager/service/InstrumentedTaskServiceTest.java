@@ -0,0 +1,67 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for InstrumentedTaskService.
+ * Validates that each entry point is timed once and that sampling thins out the cheap ones.
+ */
+class InstrumentedTaskServiceTest {
+
+    @Test
+    @DisplayName("Should time every entry point once when every call is sampled")
+    void shouldTimeEachOperationOnce() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TaskService service = new InstrumentedTaskService(new NoOpTaskPersistence(), new ShardedTaskRepository(2),
+                List.of(), registry, 1);
+
+        Task created = service.createTask(new Task("Title", "Description"));
+        service.getTaskById(created.getId());
+        service.updateTask(created.getId(), new Task("Renamed", null));
+        service.deleteTasks(List.of(created.getId(), "missing"));
+        service.deleteTask("missing");
+
+        assertEquals(1, count(registry, "create"));
+        assertEquals(1, count(registry, "get"));
+        assertEquals(1, count(registry, "update"));
+        assertEquals(1, count(registry, "delete-batch"));
+        assertEquals(1, count(registry, "delete"));
+        assertEquals(0, count(registry, "list"));
+        assertThrows(IllegalArgumentException.class, () -> new InstrumentedTaskService(new NoOpTaskPersistence(),
+                new ShardedTaskRepository(2), List.of(), registry, 0));
+    }
+
+    @Test
+    @DisplayName("Should time a sample of the single-task calls and every listing")
+    void shouldSampleCalls() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TaskService service = new InstrumentedTaskService(new NoOpTaskPersistence(), new ShardedTaskRepository(2),
+                List.of(), registry, 60);
+
+        for (int i = 0; i < 64_000; i++) {
+            service.getTaskById("missing");
+        }
+        for (int i = 0; i < 10; i++) {
+            service.getAllTasks();
+        }
+
+        long sampled = count(registry, "get");
+        assertTrue(sampled > 700 && sampled < 1300, "sampled " + sampled + " of 64000 calls");
+        assertEquals(10, count(registry, "list"));
+    }
+
+    private static long count(MeterRegistry registry, String operation) {
+        return registry.get("taskmanager.service.operation").tag("operation", operation).timer().count();
+    }
+}
@@ -0,0 +1,139 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for OffHeapTaskRepository.
+ * Validates record round trips, reuse of freed space and slab compaction.
+ */
+class OffHeapTaskRepositoryTest {
+
+    @Test
+    @DisplayName("Should read back every field of a task stored off-heap")
+    void shouldRoundTripTask() {
+        OffHeapTaskRepository repository = new OffHeapTaskRepository(2, 4096);
+        Task task = new Task("Café ✓ 日本", null);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setVersion(7);
+        Task custom = new Task("custom-id", "Custom", "Kept on heap", TaskStatus.PENDING, TaskPriority.LOW,
+                LocalDateTime.now(), LocalDateTime.now());
+        repository.compute(task.getId(), (id, existing) -> task);
+        repository.compute(custom.getId(), (id, existing) -> custom);
+
+        assertSameTask(task, repository.get(task.getId()));
+        assertSameTask(custom, repository.get(custom.getId()));
+        assertEquals(Set.of(task.getId(), custom.getId()), repository.ids().collect(Collectors.toSet()));
+        assertEquals(2, repository.findAll().size());
+        assertEquals(4096, repository.getCapacityBytes());
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapTaskRepository(1, 1 << 25));
+    }
+
+    @Test
+    @DisplayName("Should reuse freed space for updates and new tasks of the same size")
+    void shouldReuseFreedSpace() {
+        OffHeapTaskRepository repository = new OffHeapTaskRepository(1, 64 * 1024);
+        List<Task> tasks = fill(repository, 1000, "Description");
+        long capacity = repository.getCapacityBytes();
+
+        for (int round = 0; round < 5; round++) {
+            for (Task task : tasks) {
+                repository.computeIfPresent(task.getId(), (id, existing) -> null);
+            }
+            tasks = fill(repository, 1000, "Description");
+        }
+
+        assertEquals(capacity, repository.getCapacityBytes());
+        assertEquals(0, repository.getCompactions());
+        assertEquals(1000, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should compact sparse slabs without losing or changing tasks")
+    void shouldCompactSparseSlabs() {
+        OffHeapTaskRepository repository = new OffHeapTaskRepository(1, 16 * 1024);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tasks.addAll(fill(repository, 1, "x".repeat(i % 300)));
+        }
+        long capacity = repository.getCapacityBytes();
+        for (int i = 0; i < 2000; i++) {
+            if (i % 10 != 0) {
+                repository.computeIfPresent(tasks.get(i).getId(), (id, existing) -> null);
+            }
+        }
+
+        assertTrue(repository.getCompactions() > 0);
+        assertTrue(repository.getCapacityBytes() < capacity / 4);
+        assertTrue(repository.getLiveBytes() <= repository.getCapacityBytes());
+        assertEquals(200, repository.size());
+        for (int i = 0; i < 2000; i += 10) {
+            assertSameTask(tasks.get(i), repository.get(tasks.get(i).getId()));
+        }
+        assertNull(repository.get(tasks.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep the task service indexes consistent on the off-heap store")
+    void shouldServeTaskServiceQueries() {
+        TaskService service = new TaskService(new NoOpTaskPersistence(),
+                new OffHeapTaskRepository(4, 8192), List.of());
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(service.createTask(new Task("Task " + i, "Description")));
+        }
+        Task update = new Task();
+        update.setStatus(TaskStatus.COMPLETED);
+        update.setPriority(null);
+        update.setDescription("A longer description that no longer fits the old record");
+        service.updateTask(created.get(3).getId(), update);
+        service.deleteTask(created.get(4).getId());
+
+        assertEquals(29, service.getTaskCount());
+        Task updated = service.getTaskById(created.get(3).getId()).orElseThrow();
+        assertEquals(2, updated.getVersion());
+        assertEquals(update.getDescription(), updated.getDescription());
+        assertEquals(List.of(created.get(3).getId()),
+                service.getTasksByStatus(TaskStatus.COMPLETED).stream().map(Task::getId).toList());
+        assertEquals(29, service.getTaskPage(null, 100, null, null).getItems().size());
+    }
+
+    private static List<Task> fill(OffHeapTaskRepository repository, int count, String description) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, description);
+            repository.compute(task.getId(), (id, existing) -> task);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static void assertSameTask(Task expected, Task actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
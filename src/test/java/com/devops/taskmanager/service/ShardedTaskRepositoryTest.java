@@ -0,0 +1,98 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ShardedTaskRepository.
+ * Validates partitioning, scans and per-shard statistics.
+ */
+class ShardedTaskRepositoryTest {
+
+    @Test
+    @DisplayName("Should round the shard count up to a power of two")
+    void shouldRoundShardCount() {
+        assertEquals(8, new ShardedTaskRepository(5).getShardCount());
+        assertEquals(1, new ShardedTaskRepository(1).getShardCount());
+        assertTrue(new ShardedTaskRepository(0).getShardCount() >= 2);
+        assertThrows(IllegalArgumentException.class, () -> new ShardedTaskRepository(1 << 17));
+    }
+
+    @Test
+    @DisplayName("Should spread tasks over every shard and count reads and writes per shard")
+    void shouldSpreadTasksAndCountOperations() {
+        ShardedTaskRepository repository = new ShardedTaskRepository(8);
+        List<Task> tasks = fill(repository, 4000);
+        tasks.forEach(task -> repository.get(task.getId()));
+
+        long size = 0;
+        long reads = 0;
+        long writes = 0;
+        for (int shard = 0; shard < repository.getShardCount(); shard++) {
+            assertTrue(repository.getShardSize(shard) > 300, "shard " + shard + " is underfilled");
+            size += repository.getShardSize(shard);
+            reads += repository.getShardReads(shard);
+            writes += repository.getShardWrites(shard);
+        }
+        assertEquals(4000, size);
+        assertEquals(4000, repository.size());
+        assertEquals(4000, reads);
+        assertEquals(4000, writes);
+    }
+
+    @Test
+    @DisplayName("Should return the same tasks from parallel and sequential scans")
+    void shouldScanInParallelAcrossShards() {
+        ShardedTaskRepository repository = new ShardedTaskRepository(16);
+        List<Task> tasks = fill(repository, 20_000);
+        Set<String> completed = tasks.stream()
+                .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+
+        List<Task> all = repository.findAll(task -> true);
+        List<Task> byScan = repository.getAll(completed, task -> task.getStatus() == TaskStatus.COMPLETED);
+        List<Task> byLookup = repository.getAll(Set.of(tasks.get(1).getId(), "missing"), task -> true);
+
+        assertEquals(20_000, new HashSet<>(all).size());
+        assertEquals(completed, byScan.stream().map(Task::getId).collect(Collectors.toSet()));
+        assertEquals(List.of(tasks.get(1)), byLookup);
+    }
+
+    @Test
+    @DisplayName("Should remove a task when the remapping returns null")
+    void shouldRemoveOnNull() {
+        ShardedTaskRepository repository = new ShardedTaskRepository(4);
+        Task task = fill(repository, 1).get(0);
+
+        repository.computeIfPresent(task.getId(), (id, existing) -> null);
+
+        assertNull(repository.get(task.getId()));
+        assertEquals(0, repository.ids().count());
+    }
+
+    private static List<Task> fill(ShardedTaskRepository repository, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, "Description");
+            task.setStatus(statuses[i % statuses.length]);
+            repository.compute(task.getId(), (id, existing) -> task);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
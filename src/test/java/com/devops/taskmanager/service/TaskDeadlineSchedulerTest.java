@@ -0,0 +1,198 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.events.TaskEventBus;
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskEvent;
+import com.devops.taskmanager.model.TaskEventType;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.NoOpTaskPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TaskDeadlineScheduler.
+ * Validates overdue, reminder and lease transitions driven by a manual clock.
+ */
+class TaskDeadlineSchedulerTest {
+
+    private static final Instant START = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final ManualClock clock = new ManualClock();
+
+    private TaskEventBus eventBus;
+
+    private TaskDeadlineScheduler scheduler;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new TaskEventBus(64, 1);
+        scheduler = new TaskDeadlineScheduler(() -> taskService, Duration.ofSeconds(1), clock);
+        taskService = new TaskService(new NoOpTaskPersistence(), List.of(scheduler, eventBus));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+        eventBus.close();
+    }
+
+    @Test
+    @DisplayName("Should send the reminder and then flag the task overdue as their times pass")
+    void shouldFireReminderThenOverdue() {
+        Task task = new Task("Deadline Task", null);
+        task.setRemindAt(at(5));
+        task.setDueAt(at(10));
+        String id = taskService.createTask(task).getId();
+        assertEquals(2, scheduler.getPendingCount());
+
+        clock.advance(4_999);
+        assertEquals(0, scheduler.tick());
+        clock.advance(1);
+        assertEquals(1, scheduler.tick());
+        assertTrue(taskService.getTaskById(id).orElseThrow().isReminded());
+        assertFalse(taskService.getTaskById(id).orElseThrow().isOverdue());
+        clock.advance(5_000);
+        assertEquals(1, scheduler.tick());
+
+        Task stored = taskService.getTaskById(id).orElseThrow();
+        assertTrue(stored.isOverdue());
+        assertEquals(3, stored.getVersion());
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(List.of(TaskEventType.CREATED, TaskEventType.REMINDER, TaskEventType.OVERDUE),
+                eventBus.read(1, 10).stream().map(TaskEvent::getType).toList());
+    }
+
+    @Test
+    @DisplayName("Should follow rescheduled, completed and reopened deadlines")
+    void shouldFollowTaskChanges() {
+        String moved = create(at(10));
+        String completed = create(at(10));
+        String renewed = create(at(10));
+        Task later = new Task(null, null);
+        later.setDueAt(at(20));
+        taskService.updateTask(moved, later);
+        Task done = new Task(null, null);
+        done.setStatus(TaskStatus.COMPLETED);
+        taskService.updateTask(completed, done);
+
+        clock.advance(10_000);
+        assertEquals(1, scheduler.tick());
+        assertFalse(taskService.getTaskById(moved).orElseThrow().isOverdue());
+        assertFalse(taskService.getTaskById(completed).orElseThrow().isOverdue());
+        assertTrue(taskService.getTaskById(renewed).orElseThrow().isOverdue());
+
+        Task unchanged = new Task("Renamed Task", null);
+        unchanged.setDueAt(at(10));
+        assertTrue(taskService.updateTask(renewed, unchanged).orElseThrow().isOverdue());
+        Task extended = new Task(null, null);
+        extended.setDueAt(at(30));
+        assertFalse(taskService.updateTask(renewed, extended).orElseThrow().isOverdue());
+        Task reopened = new Task(null, null);
+        reopened.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.updateTask(completed, reopened);
+
+        clock.advance(10_000);
+        assertEquals(2, scheduler.tick());
+        assertTrue(taskService.getTaskById(moved).orElseThrow().isOverdue());
+        assertTrue(taskService.getTaskById(completed).orElseThrow().isOverdue());
+        clock.advance(10_000);
+        assertEquals(1, scheduler.tick());
+        assertTrue(taskService.getTaskById(renewed).orElseThrow().isOverdue());
+    }
+
+    @Test
+    @DisplayName("Should arm the deadlines of tasks that were stored before it was listening")
+    void shouldArmExistingTasks() {
+        TaskService recovered = new TaskService();
+        Task task = new Task("Recovered Task", null);
+        task.setDueAt(at(-7200));
+        String id = recovered.createTask(task).getId();
+        TaskDeadlineScheduler late = new TaskDeadlineScheduler(() -> recovered, Duration.ofHours(1), clock);
+
+        late.afterSingletonsInstantiated();
+        try {
+            assertEquals(1, late.getPendingCount());
+            assertEquals(1, late.tick());
+            assertTrue(recovered.getTaskById(id).orElseThrow().isOverdue());
+        } finally {
+            late.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should put a claimed task back to pending once its lease runs out")
+    void shouldExpireClaimLeases() {
+        String abandoned = taskService.createTask(new Task("Abandoned Task", null)).getId();
+        String finished = taskService.createTask(new Task("Finished Task", null)).getId();
+        taskService.claimTask(Duration.ofSeconds(30));
+        Task claimed = taskService.claimTask(Duration.ofSeconds(30)).orElseThrow();
+        Task done = new Task(null, null);
+        done.setStatus(TaskStatus.COMPLETED);
+        taskService.updateTask(finished, done);
+        assertEquals(2, scheduler.getPendingCount());
+
+        clock.advance(31_000);
+        assertEquals(1, scheduler.tick());
+
+        Task requeued = taskService.getTaskById(abandoned).orElseThrow();
+        assertEquals(TaskStatus.PENDING, requeued.getStatus());
+        assertNull(requeued.getLeaseExpiresAt());
+        assertEquals(TaskStatus.COMPLETED, taskService.getTaskById(finished).orElseThrow().getStatus());
+        assertEquals(abandoned, taskService.claimTask(Duration.ofSeconds(30)).orElseThrow().getId());
+        assertTrue(claimed.getVersion() < requeued.getVersion());
+    }
+
+    private String create(LocalDateTime dueAt) {
+        Task task = new Task("Deadline Task", null);
+        task.setDueAt(dueAt);
+        return taskService.createTask(task).getId();
+    }
+
+    private static LocalDateTime at(int seconds) {
+        return LocalDateTime.ofInstant(START.plusSeconds(seconds), ZoneId.systemDefault());
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+
+        private volatile Instant instant = START;
+
+        void advance(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
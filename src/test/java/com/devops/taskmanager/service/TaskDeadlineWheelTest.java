@@ -0,0 +1,69 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.service.TaskDeadlineWheel.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TaskDeadlineWheel.
+ * Validates that timers on every level fire exactly at their deadline tick.
+ */
+class TaskDeadlineWheelTest {
+
+    @Test
+    @DisplayName("Should fire each timer at its deadline across all levels")
+    void shouldFireAtDeadline() {
+        long start = 1_000_003;
+        TaskDeadlineWheel wheel = new TaskDeadlineWheel(start, 16);
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = start + (long) Math.pow(64, random.nextDouble() * 4);
+            deadlines.put("task-" + i, deadline);
+            wheel.schedule(deadline, "task-" + i, i % 2 == 0 ? Type.DUE : Type.REMINDER);
+        }
+        assertEquals(20_000, wheel.size());
+
+        long end = start + 64L * 64 * 64 * 64;
+        List<String> late = new ArrayList<>();
+        int fired = 0;
+        for (long tick = start; tick <= end; tick += 1 + random.nextInt(3)) {
+            long now = tick;
+            fired += wheel.advance(now, (taskId, type) -> {
+                if (deadlines.get(taskId) > now || deadlines.get(taskId) < now - 3) {
+                    late.add(taskId);
+                }
+            });
+        }
+
+        assertEquals(20_000, fired);
+        assertEquals(0, wheel.size());
+        assertTrue(late.isEmpty(), "fired off time: " + late);
+    }
+
+    @Test
+    @DisplayName("Should fire passed deadlines on the next advance and far ones once in range")
+    void shouldHandlePastAndFarDeadlines() {
+        TaskDeadlineWheel wheel = new TaskDeadlineWheel(100, 16);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(5, "past", Type.DUE);
+        wheel.schedule(100 + (1L << 40), "far", Type.REMINDER);
+
+        wheel.advance(100, (taskId, type) -> fired.add(taskId + ":" + type));
+        assertEquals(List.of("past:DUE"), fired);
+
+        wheel.advance(100 + 64L * 64 * 64 * 2, (taskId, type) -> fired.add(taskId));
+        assertEquals(1, fired.size());
+        assertEquals(1, wheel.size());
+        assertEquals(101 + 64L * 64 * 64 * 2, wheel.currentTick());
+    }
+}
@@ -0,0 +1,80 @@
+package com.devops.taskmanager.service;
+
+import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
+import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.service.TaskQueryPlanner.Access;
+import com.devops.taskmanager.service.TaskQueryPlanner.Field;
+import com.devops.taskmanager.service.TaskQueryPlanner.Filter;
+import com.devops.taskmanager.service.TaskQueryPlanner.Plan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for TaskQueryPlanner.
+ * Validates that each query is read from its most selective index.
+ */
+class TaskQueryPlannerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final TaskIndex taskIndex = new TaskIndex();
+
+    private final TaskRepository taskStore = new ShardedTaskRepository(0);
+
+    private final TaskQueryPlanner planner = new TaskQueryPlanner(taskIndex, taskStore);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task("Task " + i, null);
+            task.setStatus(i < 5 ? TaskStatus.CANCELLED : i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED);
+            task.setCreatedAt(BASE.plusMinutes(i));
+            task.setUpdatedAt(BASE.plusMinutes(i));
+            taskStore.compute(task.getId(), (id, existing) -> task);
+            taskIndex.onTaskChanged(null, task);
+        }
+    }
+
+    @Test
+    @DisplayName("Should walk the sort index when the filters keep most tasks")
+    void shouldWalkSortIndex() {
+        assertEquals(new Plan(Access.SORTED_INDEX, 10), plan(new TaskQuery(), Field.CREATED_AT, 10));
+        TaskQuery pending = new TaskQuery();
+        pending.setStatus(Set.of(TaskStatus.PENDING));
+        assertEquals(Access.SORTED_INDEX, plan(pending, Field.UPDATED_AT, 10).access());
+    }
+
+    @Test
+    @DisplayName("Should read the status buckets when they are smaller than the walk")
+    void shouldReadSmallBuckets() {
+        TaskQuery cancelled = new TaskQuery();
+        cancelled.setStatus(Set.of(TaskStatus.CANCELLED));
+        assertEquals(new Plan(Access.BUCKETS, 5), plan(cancelled, Field.CREATED_AT, 10));
+        cancelled.setPriority(Set.of(TaskPriority.HIGH));
+        assertEquals(new Plan(Access.BUCKETS, 0), plan(cancelled, Field.CREATED_AT, 10));
+    }
+
+    @Test
+    @DisplayName("Should read a narrow range of the other timestamp index")
+    void shouldReadNarrowRange() {
+        TaskQuery recent = new TaskQuery();
+        recent.setStatus(Set.of(TaskStatus.PENDING));
+        recent.setUpdatedFrom(BASE.plusMinutes(990));
+        assertEquals(new Plan(Access.UPDATED_RANGE, 10), plan(recent, Field.CREATED_AT, 20));
+        recent.setUpdatedFrom(BASE);
+        recent.setCreatedFrom(BASE.plusMinutes(995));
+        assertEquals(new Plan(Access.CREATED_RANGE, 5), plan(recent, Field.UPDATED_AT, 20));
+    }
+
+    private Plan plan(TaskQuery query, Field sort, int limit) {
+        return planner.plan(Filter.of(query), sort, limit);
+    }
+}
@@ -1,18 +1,37 @@
 package com.devops.taskmanager.service;
 
 import com.devops.taskmanager.model.Task;
+import com.devops.taskmanager.model.TaskPage;
 import com.devops.taskmanager.model.TaskPriority;
+import com.devops.taskmanager.model.TaskQuery;
 import com.devops.taskmanager.model.TaskStatus;
+import com.devops.taskmanager.persistence.SegmentTaskArchive;
+import com.devops.taskmanager.persistence.WriteAheadLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -158,5 +177,546 @@ class TaskServiceTest {
         assertTrue(foundTask.isPresent());
         assertEquals(TaskPriority.CRITICAL, foundTask.get().getPriority());
     }
-}
 
+    @Test
+    @DisplayName("Should filter tasks by priority and by status and priority")
+    void shouldFilterTasksByPriority() {
+        Task critical = new Task("Critical Task", "Description");
+        critical.setPriority(TaskPriority.CRITICAL);
+        Task criticalDone = new Task("Critical Done", "Description");
+        criticalDone.setPriority(TaskPriority.CRITICAL);
+        criticalDone.setStatus(TaskStatus.COMPLETED);
+        taskService.createTask(critical);
+        taskService.createTask(criticalDone);
+        taskService.createTask(new Task("Medium Task", "Description"));
+
+        assertEquals(2, taskService.getTasksByPriority(TaskPriority.CRITICAL).size());
+        assertEquals(1, taskService.getTasksByPriority(TaskPriority.MEDIUM).size());
+        assertEquals(1, taskService.getTasksByStatusAndPriority(TaskStatus.COMPLETED, TaskPriority.CRITICAL).size());
+        assertEquals(0, taskService.getTasksByStatusAndPriority(TaskStatus.COMPLETED, TaskPriority.LOW).size());
+    }
+
+    @Test
+    @DisplayName("Should keep status and priority indexes in step with updates and deletes")
+    void shouldKeepIndexesInStep() {
+        Task task = new Task("Indexed Task", "Description");
+        taskService.createTask(task);
+
+        Task updatedData = new Task();
+        updatedData.setStatus(TaskStatus.IN_PROGRESS);
+        updatedData.setPriority(TaskPriority.HIGH);
+        taskService.updateTask(task.getId(), updatedData);
+
+        assertTrue(taskService.getTasksByStatus(TaskStatus.PENDING).isEmpty());
+        assertTrue(taskService.getTasksByPriority(TaskPriority.MEDIUM).isEmpty());
+        assertEquals(1, taskService.getTasksByStatusAndPriority(TaskStatus.IN_PROGRESS, TaskPriority.HIGH).size());
+
+        taskService.deleteTask(task.getId());
+
+        assertTrue(taskService.getTasksByStatus(TaskStatus.IN_PROGRESS).isEmpty());
+        assertTrue(taskService.getTasksByPriority(TaskPriority.HIGH).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep live counters exact across create, update, delete and clear")
+    void shouldMaintainLiveCounters() {
+        Task first = new Task("First Task", "Description");
+        Task second = new Task("Second Task", "Description");
+        second.setPriority(TaskPriority.HIGH);
+        taskService.createTask(first);
+        taskService.createTask(second);
+
+        Task updatedData = new Task();
+        updatedData.setStatus(TaskStatus.COMPLETED);
+        updatedData.setPriority(null);
+        taskService.updateTask(first.getId(), updatedData);
+        taskService.deleteTask(second.getId());
+
+        assertEquals(0, taskService.getTaskCount(TaskStatus.PENDING));
+        assertEquals(1, taskService.getTaskCount(TaskStatus.COMPLETED));
+        assertEquals(1, taskService.getTaskCount(TaskPriority.MEDIUM));
+        assertEquals(0, taskService.getTaskCount(TaskPriority.HIGH));
+        assertEquals(4, taskService.getStatusCounts().size());
+
+        taskService.clearAllTasks();
+
+        assertEquals(0, taskService.getTaskCount(TaskStatus.COMPLETED));
+        assertEquals(0, taskService.getPriorityCounts().get(TaskPriority.MEDIUM));
+    }
+
+    @Test
+    @DisplayName("Should keep status counters exact under concurrent transitions")
+    void shouldKeepCountersExactUnderConcurrentTransitions() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(taskService.createTask(new Task("Task " + i, "Description")));
+        }
+        TaskStatus[] statuses = TaskStatus.values();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int worker = 0; worker < 8; worker++) {
+            int seed = worker;
+            executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    Task updatedData = new Task();
+                    updatedData.setStatus(statuses[(i + seed) % statuses.length]);
+                    taskService.updateTask(tasks.get((i * 7 + seed) % tasks.size()).getId(), updatedData);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (TaskStatus status : statuses) {
+            assertEquals(taskService.getTasksByStatus(status).size(), taskService.getTaskCount(status));
+        }
+        assertEquals(200, taskService.getStatusCounts().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    @DisplayName("Should leave previously read tasks untouched by later updates")
+    void shouldNotMutateReadTasksOnUpdate() {
+        Task created = taskService.createTask(new Task("Original Title", "Description"));
+        Task updatedData = new Task();
+        updatedData.setTitle("Changed Title");
+        updatedData.setStatus(TaskStatus.COMPLETED);
+
+        Task updated = taskService.updateTask(created.getId(), updatedData).orElseThrow();
+
+        assertEquals("Original Title", created.getTitle());
+        assertEquals(TaskStatus.PENDING, created.getStatus());
+        assertEquals("Changed Title", updated.getTitle());
+        assertEquals(created.getCreatedAt(), updated.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should never expose a half-applied update to concurrent readers")
+    void shouldNotExposeTornUpdates() throws Exception {
+        Task initial = new Task("High 0", "Description");
+        initial.setPriority(TaskPriority.HIGH);
+        Task task = taskService.createTask(initial);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> readers = new ArrayList<>();
+        for (int writer = 0; writer < 2; writer++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    Task updatedData = new Task();
+                    boolean high = i % 2 == 0;
+                    updatedData.setTitle((high ? "High " : "Low ") + i);
+                    updatedData.setPriority(high ? TaskPriority.HIGH : TaskPriority.LOW);
+                    taskService.updateTask(task.getId(), updatedData);
+                }
+            });
+        }
+        for (int reader = 0; reader < 2; reader++) {
+            readers.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    Task read = taskService.getTaskById(task.getId()).orElseThrow();
+                    TaskPriority expected = read.getTitle().startsWith("High") ? TaskPriority.HIGH : TaskPriority.LOW;
+                    if (read.getPriority() != expected) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (Future<Boolean> reader : readers) {
+            assertTrue(reader.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should bump the version on every write and reject stale expected versions")
+    void shouldVersionTasks() {
+        Task task = taskService.createTask(new Task("Versioned Task", "Description"));
+        assertEquals(1, task.getVersion());
+
+        Task updatedData = new Task();
+        updatedData.setStatus(TaskStatus.IN_PROGRESS);
+        Task updated = taskService.updateTask(task.getId(), updatedData, Set.of(1L)).orElseThrow();
+        assertEquals(2, updated.getVersion());
+
+        TaskVersionConflictException conflict = assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateTask(task.getId(), updatedData, Set.of(1L)));
+        assertEquals(2, conflict.getCurrentVersion());
+        assertThrows(TaskVersionConflictException.class, () -> taskService.deleteTask(task.getId(), Set.of(1L)));
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskById(task.getId()).orElseThrow().getStatus());
+
+        assertEquals(3, taskService.updateTask(task.getId(), updatedData, Set.of(1L, 2L)).orElseThrow().getVersion());
+        assertTrue(taskService.deleteTask(task.getId(), Set.of(3L)));
+    }
+
+    @Test
+    @DisplayName("Should page through tasks in creation order with a cursor")
+    void shouldPageThroughTasksWithCursor() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task("Task " + i, "Description");
+            task.setCreatedAt(base.plusMinutes(i));
+            taskService.createTask(task);
+        }
+
+        TaskPage first = taskService.getTaskPage(null, 2, null, null);
+        TaskPage second = taskService.getTaskPage(first.getNextCursor(), 2, null, null);
+        TaskPage last = taskService.getTaskPage(second.getNextCursor(), 2, null, null);
+
+        assertEquals("Task 0", first.getItems().get(0).getTitle());
+        assertEquals("Task 2", second.getItems().get(0).getTitle());
+        assertEquals(1, last.getItems().size());
+        assertEquals("Task 4", last.getItems().get(0).getTitle());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage("not-a-cursor", 10, null, null));
+    }
+
+    @Test
+    @DisplayName("Should search titles and descriptions by word and prefix, ranking title matches first")
+    void shouldSearchTasks() {
+        Task inTitle = taskService.createTask(new Task("Deploy pipeline", "Run the release"));
+        Task inDescription = taskService.createTask(new Task("Release notes", "Document the deployment"));
+        taskService.createTask(new Task("Unrelated work", "Nothing here"));
+
+        List<Task> results = taskService.searchTasks("deploy", null, 10).getItems();
+
+        assertEquals(2, results.size());
+        assertEquals(inTitle.getId(), results.get(0).getId());
+        assertEquals(inDescription.getId(), results.get(1).getId());
+        assertEquals(1, taskService.searchTasks("DEPLOY release notes", null, 10).getItems().size());
+        assertTrue(taskService.searchTasks("missing", null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match short words whole and refuse prefixes that start too many words")
+    void shouldBoundPrefixSearch() {
+        Task ui = taskService.createTask(new Task("Fix ui glitch", null));
+        taskService.createTask(new Task("Build uint parser", null));
+        for (int i = 0; i < 300; i++) {
+            taskService.createTask(new Task("Release rel" + i, null));
+        }
+
+        List<Task> results = taskService.searchTasks("ui", null, 10).getItems();
+
+        assertEquals(1, results.size());
+        assertEquals(ui.getId(), results.get(0).getId());
+        assertEquals(1, taskService.searchTasks("rel42", null, 10).getItems().size());
+        assertThrows(InvalidRequestException.class, () -> taskService.searchTasks("rel", null, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep the search index in step with updates and deletes")
+    void shouldKeepSearchIndexInStep() {
+        Task task = taskService.createTask(new Task("Fix login bug", "Description"));
+        Task updatedData = new Task();
+        updatedData.setTitle("Fix logout bug");
+        taskService.updateTask(task.getId(), updatedData);
+
+        assertTrue(taskService.searchTasks("login", null, 10).getItems().isEmpty());
+        assertEquals(1, taskService.searchTasks("logout", null, 10).getItems().size());
+
+        taskService.deleteTask(task.getId());
+
+        assertTrue(taskService.searchTasks("logout", null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through search results with a cursor")
+    void shouldPageThroughSearchResults() {
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(new Task("Search task " + i, "Description"));
+        }
+
+        TaskPage first = taskService.searchTasks("search", null, 2);
+        TaskPage second = taskService.searchTasks("search", first.getNextCursor(), 2);
+        TaskPage last = taskService.searchTasks("search", second.getNextCursor(), 2);
+
+        assertEquals(2, first.getItems().size());
+        assertEquals(2, second.getItems().size());
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("search", "bad", 2));
+    }
+
+    @Test
+    @DisplayName("Should stream tasks matching the filters")
+    void shouldStreamTasks() {
+        Task completed = new Task("Completed Task", "Description");
+        completed.setStatus(TaskStatus.COMPLETED);
+        taskService.createTask(completed);
+        taskService.createTask(new Task("Pending Task", "Description"));
+
+        assertEquals(2, taskService.streamTasks(null, null).count());
+        assertEquals(1, taskService.streamTasks(TaskStatus.COMPLETED, null).count());
+    }
+
+    @Test
+    @DisplayName("Should rebuild store, indexes and counters from the write-ahead log")
+    void shouldRecoverFromWriteAheadLog(@TempDir Path directory) {
+        TaskService durable = new TaskService(new WriteAheadLog(directory, 64, Duration.ofHours(1)));
+        durable.start();
+        Task task = durable.createTask(new Task("Durable Task", "Description"));
+        Task updatedData = new Task();
+        updatedData.setStatus(TaskStatus.COMPLETED);
+        durable.updateTask(task.getId(), updatedData);
+        Task deleted = durable.createTask(new Task("Deleted Task", "Description"));
+        durable.deleteTask(deleted.getId());
+        durable.stop();
+
+        TaskService restarted = new TaskService(new WriteAheadLog(directory, 64, Duration.ofHours(1)));
+        restarted.start();
+
+        assertEquals(1, restarted.getTaskCount());
+        assertEquals(1, restarted.getTaskCount(TaskStatus.COMPLETED));
+        assertEquals(task.getId(), restarted.getTasksByStatus(TaskStatus.COMPLETED).get(0).getId());
+        assertEquals(2, restarted.getTaskById(task.getId()).orElseThrow().getVersion());
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("Should create, update and delete tasks in bulk")
+    void shouldApplyBulkOperations() {
+        List<Task> created = taskService.createTasks(List.of(new Task("Bulk One", "Description"),
+                new Task("Bulk Two", "Description")));
+        assertEquals(2, taskService.getTaskCount());
+
+        Task update = new Task();
+        update.setId(created.get(0).getId());
+        update.setStatus(TaskStatus.COMPLETED);
+        Task missing = new Task();
+        List<Optional<Task>> updated = taskService.updateTasks(List.of(update, missing));
+
+        assertEquals(TaskStatus.COMPLETED, updated.get(0).orElseThrow().getStatus());
+        assertFalse(updated.get(1).isPresent());
+
+        List<Boolean> deleted = taskService.deleteTasks(List.of(created.get(1).getId(), "non-existent-id"));
+
+        assertEquals(List.of(true, false), deleted);
+        assertEquals(1, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should claim pending tasks by priority, then creation order")
+    void shouldClaimByPriorityThenAge() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        TaskPriority[] priorities = {TaskPriority.LOW, TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.HIGH};
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < priorities.length; i++) {
+            Task task = new Task("Queued " + i, null);
+            task.setPriority(priorities[i]);
+            task.setCreatedAt(base.plusMinutes(i));
+            ids.add(taskService.createTask(task).getId());
+        }
+        Task done = new Task("Done", null);
+        done.setPriority(TaskPriority.CRITICAL);
+        done.setStatus(TaskStatus.COMPLETED);
+        taskService.createTask(done);
+
+        List<String> claimed = new ArrayList<>();
+        for (Optional<Task> next = taskService.claimTask(Duration.ofMinutes(1)); next.isPresent();
+                next = taskService.claimTask(Duration.ofMinutes(1))) {
+            assertEquals(TaskStatus.IN_PROGRESS, next.get().getStatus());
+            assertNotNull(next.get().getLeaseExpiresAt());
+            claimed.add(next.get().getId());
+        }
+
+        assertEquals(List.of(ids.get(1), ids.get(3), ids.get(2), ids.get(0)), claimed);
+        Task requeued = new Task();
+        requeued.setStatus(TaskStatus.PENDING);
+        assertNull(taskService.updateTask(ids.get(0), requeued).orElseThrow().getLeaseExpiresAt());
+        assertEquals(ids.get(0), taskService.claimTask(Duration.ofMinutes(1)).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should hand each pending task to exactly one of many concurrent workers")
+    void shouldClaimEachTaskOnce() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            Task task = new Task("Task " + i, null);
+            task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            taskService.createTask(task);
+        }
+        Set<String> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger claims = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(200);
+        for (int worker = 0; worker < 200; worker++) {
+            executor.submit(() -> {
+                for (Optional<Task> next = taskService.claimTask(Duration.ofMinutes(1)); next.isPresent();
+                        next = taskService.claimTask(Duration.ofMinutes(1))) {
+                    claimed.add(next.get().getId());
+                    claims.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(2000, claims.get());
+        assertEquals(2000, claimed.size());
+        assertEquals(2000, taskService.getTaskCount(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    @DisplayName("Should answer multi-field queries like a full filter and sort would")
+    void shouldQueryTasks() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Task> all = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Task task = new Task("Task " + i, null);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(TaskPriority.values()[i / 3 % TaskPriority.values().length]);
+            task.setCreatedAt(base.plusMinutes(i));
+            task.setUpdatedAt(base.plusHours(i * 7 % 50));
+            all.add(taskService.createTask(task));
+        }
+        Comparator<Task> byCreated = Comparator.comparing(Task::getCreatedAt).thenComparing(Task::getId);
+        Map<String, Comparator<Task>> orders = Map.of(
+                "createdAt", byCreated,
+                "updatedAt", Comparator.comparing(Task::getUpdatedAt).thenComparing(Task::getId),
+                "priority", Comparator.comparing(Task::getPriority).thenComparing(byCreated));
+        List<TaskQuery> filters = List.of(
+                new TaskQuery(),
+                query(Set.of(TaskStatus.COMPLETED), null),
+                query(Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), Set.of(TaskPriority.HIGH)),
+                query(null, Set.of(TaskPriority.LOW, TaskPriority.CRITICAL)));
+        filters.get(1).setCreatedFrom(base.plusMinutes(10));
+        filters.get(1).setCreatedTo(base.plusMinutes(40));
+        filters.get(3).setUpdatedFrom(base.plusHours(5));
+        filters.get(3).setUpdatedTo(base.plusHours(9));
+
+        for (TaskQuery filter : filters) {
+            for (Map.Entry<String, Comparator<Task>> order : orders.entrySet()) {
+                for (String direction : List.of("asc", "desc")) {
+                    filter.setSort(order.getKey());
+                    filter.setOrder(direction);
+                    filter.setLimit(5);
+                    Comparator<Task> expectedOrder = direction.equals("asc") ? order.getValue()
+                            : order.getValue().reversed();
+                    List<String> expected = all.stream()
+                            .filter(task -> matches(task, filter))
+                            .sorted(expectedOrder)
+                            .limit(5)
+                            .map(Task::getId)
+                            .toList();
+
+                    assertEquals(expected, taskService.queryTasks(filter).stream().map(Task::getId).toList(),
+                            order.getKey() + " " + direction);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should list recently updated tasks once each")
+    void shouldQueryByUpdateTime() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task("Task " + i, null);
+            task.setUpdatedAt(base.plusMinutes(i));
+            ids.add(taskService.createTask(task).getId());
+        }
+        taskService.updateTask(ids.get(0), new Task("Renamed Task", null));
+        TaskQuery recent = new TaskQuery();
+        recent.setSort("updatedAt");
+        recent.setOrder("desc");
+        recent.setLimit(10);
+
+        List<Task> tasks = taskService.queryTasks(recent);
+
+        assertEquals(5, tasks.size());
+        assertEquals("Renamed Task", tasks.get(0).getTitle());
+        assertEquals(ids.get(4), tasks.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort fields, orders and non-positive limits")
+    void shouldRejectInvalidQuery() {
+        TaskQuery sort = new TaskQuery();
+        sort.setSort("title");
+        TaskQuery order = new TaskQuery();
+        order.setOrder("sideways");
+        TaskQuery limit = new TaskQuery();
+        limit.setLimit(0);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(sort));
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(order));
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(limit));
+    }
+
+    @Test
+    @DisplayName("Should apply replicated writes only when they are newer than the local copy")
+    void shouldApplyReplicatedWritesIdempotently() {
+        Task created = taskService.createTask(new Task("Original Task", null));
+        Task newer = new Task(created);
+        newer.setTitle("Replicated Task");
+        newer.setVersion(2);
+
+        taskService.applyReplicatedUpsert(newer).join();
+        taskService.applyReplicatedUpsert(newer).join();
+        taskService.applyReplicatedUpsert(created).join();
+        taskService.applyReplicatedDelete(created.getId(), 1).join();
+
+        Task stored = taskService.getTaskById(created.getId()).orElseThrow();
+        assertEquals("Replicated Task", stored.getTitle());
+        assertEquals(2, stored.getVersion());
+        assertEquals(1, taskService.getTaskCount(TaskStatus.PENDING));
+
+        taskService.applyReplicatedDelete(created.getId(), 2).join();
+
+        assertTrue(taskService.getTaskById(created.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should archive old finished tasks, still find them by ID and delete them")
+    void shouldArchiveFinishedTasks(@TempDir Path directory) {
+        TaskService archiving = new TaskService(new WriteAheadLog(directory.resolve("log"), 64, Duration.ofHours(1)),
+                new ShardedTaskRepository(0), List.of(), new SegmentTaskArchive(directory.resolve("archive"),
+                1024, 1 << 20));
+        archiving.start();
+        Task done = archiving.createTask(new Task("Done Task", null));
+        Task update = new Task();
+        update.setStatus(TaskStatus.COMPLETED);
+        archiving.updateTask(done.getId(), update);
+        Task open = archiving.createTask(new Task("Open Task", null));
+
+        assertEquals(0, archiving.archiveTasks(LocalDateTime.now().minusDays(1)));
+        assertEquals(1, archiving.archiveTasks(LocalDateTime.now().plusSeconds(1)));
+
+        assertEquals(1, archiving.getTaskCount());
+        assertEquals(0, archiving.getTaskCount(TaskStatus.COMPLETED));
+        assertEquals(TaskStatus.COMPLETED, archiving.getTaskById(done.getId()).orElseThrow().getStatus());
+        assertTrue(archiving.updateTask(done.getId(), new Task("Changed", null)).isEmpty());
+        archiving.stop();
+
+        TaskService restarted = new TaskService(new WriteAheadLog(directory.resolve("log"), 64, Duration.ofHours(1)),
+                new ShardedTaskRepository(0), List.of(), new SegmentTaskArchive(directory.resolve("archive"),
+                1024, 1 << 20));
+        restarted.start();
+        assertEquals(1, restarted.getTaskCount());
+        assertTrue(restarted.getTaskById(open.getId()).isPresent());
+        assertEquals("Done Task", restarted.getTaskById(done.getId()).orElseThrow().getTitle());
+        assertTrue(restarted.deleteTask(done.getId()));
+        assertTrue(restarted.getTaskById(done.getId()).isEmpty());
+        assertFalse(restarted.deleteTask(done.getId()));
+        restarted.stop();
+    }
+
+    private static TaskQuery query(Set<TaskStatus> statuses, Set<TaskPriority> priorities) {
+        TaskQuery query = new TaskQuery();
+        query.setStatus(statuses);
+        query.setPriority(priorities);
+        return query;
+    }
+
+    private static boolean matches(Task task, TaskQuery query) {
+        return (query.getStatus() == null || query.getStatus().contains(task.getStatus()))
+                && (query.getPriority() == null || query.getPriority().contains(task.getPriority()))
+                && (query.getCreatedFrom() == null || !task.getCreatedAt().isBefore(query.getCreatedFrom()))
+                && (query.getCreatedTo() == null || task.getCreatedAt().isBefore(query.getCreatedTo()))
+                && (query.getUpdatedFrom() == null || !task.getUpdatedAt().isBefore(query.getUpdatedFrom()))
+                && (query.getUpdatedTo() == null || task.getUpdatedAt().isBefore(query.getUpdatedTo()));
+    }
+}